@@ -0,0 +1,335 @@
+package com.localhelper.analytics;
+
+import com.localhelper.entity.Complaint;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.repository.ComplaintRepository;
+import com.localhelper.repository.DomainEventRepository;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.PaymentRepository;
+import com.localhelper.repository.ReviewRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import com.localhelper.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory counters behind the admin dashboard. Creations, deletions and status transitions
+ * arrive as domain events from the relay, or directly from the user services; each delta is
+ * applied only after its transaction commits. A scheduled
+ * reconcile replaces every counter with freshly aggregated database values, less the changes
+ * whose events the relay has not delivered yet, which bounds any drift (bulk updates, cascades,
+ * races with in-flight commits) to {@code app.dashboard.reconcile-interval-ms}.
+ */
+@Component
+public class DashboardCounters {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+    
+    public enum CountedEntity {
+        USERS, HELPERS, SERVICE_REQUESTS, PAYMENTS, REVIEWS, COMPLAINTS
+    }
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private HelperRepository helperRepository;
+    
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final Map<CountedEntity, LongAdder> totals = new EnumMap<>(CountedEntity.class);
+    private final Map<Enum<?>, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Map<YearMonth, AtomicReference<BigDecimal>> revenueByMonth = new ConcurrentHashMap<>();
+    
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    
+    private TransactionTemplate transactionTemplate;
+    private volatile Instant reconciledAt;
+    
+    public DashboardCounters() {
+        for (CountedEntity entity : CountedEntity.values()) {
+            totals.put(entity, new LongAdder());
+        }
+    }
+    
+    // A template rather than @Transactional, so the first snapshot, which reconciles through a
+    // self-invocation, gets the same repeatable-read snapshot as the scheduled runs
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    public void recordCreated(CountedEntity entity, Enum<?> status) {
+        afterCommit(() -> addCount(entity, status, 1));
+    }
+    
+    public void recordDeleted(CountedEntity entity, Enum<?> status) {
+        afterCommit(() -> addCount(entity, status, -1));
+    }
+    
+    public void recordStatusChange(Enum<?> from, Enum<?> to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> moveStatus(from, to, 1));
+    }
+    
+    // Revenue is attributed to the month the payment was created, matching the dashboard query
+    public void recordRevenue(LocalDateTime paymentCreatedAt, BigDecimal delta) {
+        if (paymentCreatedAt == null || delta == null) {
+            return;
+        }
+        afterCommit(() -> addRevenue(paymentCreatedAt, delta));
+    }
+    
+    @EventListener
+    public void onDomainEvent(DomainEventMessage event) {
+        afterCommit(() -> apply(event, 1));
+    }
+    
+    public Map<String, Object> snapshot() {
+        if (reconciledAt == null) {
+            reconcile();
+        }
+        
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        
+        // User statistics
+        analytics.put("totalUsers", total(CountedEntity.USERS));
+        analytics.put("totalHelpers", total(CountedEntity.HELPERS));
+        analytics.put("pendingHelpers", count(Helper.HelperStatus.PENDING));
+        analytics.put("approvedHelpers", count(Helper.HelperStatus.APPROVED));
+        
+        // Service request statistics
+        analytics.put("totalServiceRequests", total(CountedEntity.SERVICE_REQUESTS));
+        analytics.put("pendingRequests", count(ServiceRequest.RequestStatus.PENDING));
+        analytics.put("completedRequests", count(ServiceRequest.RequestStatus.COMPLETED));
+        
+        // Payment statistics
+        analytics.put("totalPayments", total(CountedEntity.PAYMENTS));
+        analytics.put("completedPayments", count(Payment.PaymentStatus.COMPLETED));
+        analytics.put("failedPayments", count(Payment.PaymentStatus.FAILED));
+        
+        // Review statistics
+        analytics.put("totalReviews", total(CountedEntity.REVIEWS));
+        
+        // Complaint statistics
+        analytics.put("totalComplaints", total(CountedEntity.COMPLAINTS));
+        analytics.put("openComplaints", count(Complaint.ComplaintStatus.OPEN));
+        analytics.put("resolvedComplaints", count(Complaint.ComplaintStatus.RESOLVED));
+        
+        // Revenue statistics
+        AtomicReference<BigDecimal> revenue = revenueByMonth.get(YearMonth.now());
+        analytics.put("monthlyRevenue", revenue != null ? revenue.get() : BigDecimal.ZERO);
+        
+        analytics.put("countersReconciledAt", reconciledAt);
+        return analytics;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.dashboard.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!reconcileLock.tryLock()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> doReconcile());
+        } catch (RuntimeException e) {
+            logger.error("Failed to reconcile dashboard counters", e);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+    
+    private void doReconcile() {
+        long start = System.currentTimeMillis();
+        
+        reset(CountedEntity.USERS, userRepository.count());
+        reset(CountedEntity.HELPERS, resetStatuses(Helper.HelperStatus.values(), helperRepository.countGroupedByStatus()));
+        reset(CountedEntity.SERVICE_REQUESTS, resetStatuses(ServiceRequest.RequestStatus.values(), serviceRequestRepository.countGroupedByStatus()));
+        reset(CountedEntity.PAYMENTS, resetStatuses(Payment.PaymentStatus.values(), paymentRepository.countGroupedByStatus()));
+        reset(CountedEntity.REVIEWS, reviewRepository.count());
+        reset(CountedEntity.COMPLAINTS, resetStatuses(Complaint.ComplaintStatus.values(), complaintRepository.countGroupedByStatus()));
+        
+        YearMonth month = YearMonth.now();
+        BigDecimal revenue = paymentRepository.calculateTotalRevenueBetween(month.atDay(1).atStartOfDay(), LocalDateTime.now());
+        revenueByMonth.keySet().removeIf(m -> !m.equals(month));
+        revenueByMonth.put(month, new AtomicReference<>(revenue != null ? revenue : BigDecimal.ZERO));
+        
+        // Changes whose events are still in the outbox are already in the counts above. Backing
+        // them out lets the relay's delta bring the counters to those counts instead of past them;
+        // the repeatable-read snapshot sees each change and its event together or not at all
+        for (DomainEvent pending : domainEventRepository.findByStatusOrderById(DomainEvent.PublishStatus.PENDING)) {
+            apply(new DomainEventMessage(pending), -1);
+        }
+        
+        reconciledAt = Instant.now();
+        logger.debug("Dashboard counters reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+    
+    public long total(CountedEntity entity) {
+        return totals.get(entity).sum();
+    }
+    
+    public long count(Enum<?> status) {
+        LongAdder adder = statusCounts.get(status);
+        return adder != null ? adder.sum() : 0L;
+    }
+    
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    private long resetStatuses(Enum<?>[] statuses, List<Object[]> grouped) {
+        Map<Enum<?>, Long> counts = new HashMap<>();
+        long total = 0;
+        for (Object[] row : grouped) {
+            counts.put((Enum<?>) row[0], (Long) row[1]);
+            total += (Long) row[1];
+        }
+        for (Enum<?> status : statuses) {
+            LongAdder adder = statusCount(status);
+            adder.reset();
+            adder.add(counts.getOrDefault(status, 0L));
+        }
+        return total;
+    }
+    
+    private void reset(CountedEntity entity, long value) {
+        LongAdder adder = totals.get(entity);
+        adder.reset();
+        adder.add(value);
+    }
+    
+    private void apply(DomainEventMessage event, int sign) {
+        CountedEntity entity = countedEntity(event.getAggregateType());
+        Enum<?> previousStatus = status(event, DomainEventMessage.PREVIOUS_STATUS);
+        Enum<?> status = status(event, DomainEventMessage.STATUS);
+        switch (event.getType().getChange()) {
+            case CREATED -> addCount(entity, status, sign);
+            case DELETED -> addCount(entity, previousStatus, -sign);
+            default -> {
+                if (previousStatus != status) {
+                    moveStatus(previousStatus, status, sign);
+                }
+            }
+        }
+        
+        BigDecimal amount = event.getDecimal(DomainEventMessage.AMOUNT);
+        LocalDateTime paymentCreatedAt = event.getDateTime(DomainEventMessage.PAYMENT_CREATED_AT);
+        if (paymentCreatedAt == null || amount == null) {
+            return;
+        }
+        if (event.getType() == DomainEvent.EventType.PAYMENT_COMPLETED) {
+            addRevenue(paymentCreatedAt, amount.multiply(BigDecimal.valueOf(sign)));
+        } else if (event.getType() == DomainEvent.EventType.PAYMENT_REFUNDED) {
+            addRevenue(paymentCreatedAt, amount.multiply(BigDecimal.valueOf(-sign)));
+        }
+    }
+    
+    private void addCount(CountedEntity entity, Enum<?> status, int delta) {
+        totals.get(entity).add(delta);
+        if (status != null) {
+            statusCount(status).add(delta);
+        }
+    }
+    
+    private void moveStatus(Enum<?> from, Enum<?> to, int delta) {
+        if (from != null) {
+            statusCount(from).add(-delta);
+        }
+        if (to != null) {
+            statusCount(to).add(delta);
+        }
+    }
+    
+    private void addRevenue(LocalDateTime paymentCreatedAt, BigDecimal delta) {
+        revenueByMonth.computeIfAbsent(YearMonth.from(paymentCreatedAt), m -> new AtomicReference<>(BigDecimal.ZERO))
+                .accumulateAndGet(delta, BigDecimal::add);
+    }
+    
+    private static CountedEntity countedEntity(DomainEvent.AggregateType aggregateType) {
+        return switch (aggregateType) {
+            case PAYMENT -> CountedEntity.PAYMENTS;
+            case REVIEW -> CountedEntity.REVIEWS;
+            case HELPER -> CountedEntity.HELPERS;
+            case SERVICE_REQUEST -> CountedEntity.SERVICE_REQUESTS;
+            case COMPLAINT -> CountedEntity.COMPLAINTS;
+        };
+    }
+    
+    private static Enum<?> status(DomainEventMessage event, String key) {
+        return switch (event.getAggregateType()) {
+            case PAYMENT -> event.getEnum(key, Payment.PaymentStatus.class);
+            case HELPER -> event.getEnum(key, Helper.HelperStatus.class);
+            case SERVICE_REQUEST -> event.getEnum(key, ServiceRequest.RequestStatus.class);
+            case COMPLAINT -> event.getEnum(key, Complaint.ComplaintStatus.class);
+            case REVIEW -> null;
+        };
+    }
+    
+    private LongAdder statusCount(Enum<?> status) {
+        return statusCounts.computeIfAbsent(status, s -> new LongAdder());
+    }
+    
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
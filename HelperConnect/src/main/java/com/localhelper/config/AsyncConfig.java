@@ -0,0 +1,47 @@
+package com.localhelper.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+    
+    public static final String PAYMENT_EXECUTOR = "paymentExecutor";
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${app.payment.worker-threads:32}")
+    private int paymentWorkerThreads;
+    
+    @Value("${app.payment.queue-capacity:10000}")
+    private int paymentQueueCapacity;
+    
+    // Gateway calls are I/O bound and hold no database connection, so the pool is sized
+    // for provider concurrency rather than for the connection pool. With
+    // spring.threads.virtual.enabled on Java 21 the workers are virtual threads, so a worker
+    // waiting on the provider no longer holds a platform thread
+    @Bean(name = PAYMENT_EXECUTOR)
+    public ThreadPoolTaskExecutor paymentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(paymentWorkerThreads);
+        executor.setMaxPoolSize(paymentWorkerThreads);
+        executor.setQueueCapacity(paymentQueueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("payment-").getVirtualThreadFactory());
+        }
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
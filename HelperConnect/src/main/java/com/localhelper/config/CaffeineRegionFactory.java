@@ -0,0 +1,63 @@
+package com.localhelper.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import javax.cache.Cache;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions backed by Caffeine through JCache. Each region is bounded
+ * by {@code hibernate.cache.caffeine.<region>.maximum-size} and drops entries
+ * {@code hibernate.cache.caffeine.<region>.ttl} after they were written. Every session factory
+ * gets its own cache manager, so application contexts sharing a JVM never share regions.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+    public static final String SETTINGS_PREFIX = "hibernate.cache.caffeine.";
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10000;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private volatile Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        settings = configValues;
+        super.prepareForUse(options, configValues);
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions options, Map<String, Object> configValues) {
+        return URI.create("caffeine-hibernate-" + UUID.randomUUID());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches disassembled state, so copying entries on every access buys nothing
+        configuration.setStoreByValue(false);
+        // Evicting an update timestamp would let stale cached query results through
+        if (!RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(regionName)) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize(regionName)));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl(regionName).toNanos()));
+        }
+        return getCacheManager().createCache(regionName, configuration);
+    }
+
+    private long maximumSize(String regionName) {
+        Object value = settings.get(SETTINGS_PREFIX + regionName + ".maximum-size");
+        return value != null ? Long.parseLong(value.toString()) : DEFAULT_MAXIMUM_SIZE;
+    }
+
+    private Duration ttl(String regionName) {
+        Object value = settings.get(SETTINGS_PREFIX + regionName + ".ttl");
+        return value != null ? Duration.parse(value.toString()) : DEFAULT_TTL;
+    }
+}
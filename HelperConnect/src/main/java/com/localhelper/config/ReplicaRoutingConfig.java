@@ -0,0 +1,115 @@
+package com.localhelper.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to read replicas when
+ * {@code app.datasource.replicas.urls} lists any. The primary pool is still configured through
+ * {@code spring.datasource}; each replica gets a read-only pool with the primary's credentials
+ * unless replica ones are set. Without replicas none of this is created and Spring Boot's own
+ * datasource is used.
+ *
+ * Only reads on an HTTP request thread are routed; scheduled jobs, the event relay and executor
+ * work read back what was just committed and stay on the primary. Read-only transactions also
+ * stop populating the second-level cache, see {@link ReadOnlyCacheJpaDialect}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replicas.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:10}")
+    private int replicaPoolSize = 10;
+
+    @Value("${app.datasource.replicas.health-check-timeout-seconds:2}")
+    private int healthCheckTimeoutSeconds = 2;
+
+    @Value("${app.datasource.replicas.read-your-writes-window:PT0S}")
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            replicas.add(replicaPool(primaryDataSource, url.trim(), replicas.size()));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                healthCheckTimeoutSeconds, readYourWritesWindow);
+        routing.checkReplicas();
+        meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.replicas.healthy", routing,
+                        ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Read replicas currently in rotation")
+                .register(registry));
+        return routing;
+    }
+
+    // Fetches the connection on the first statement, once the transaction's read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Set before the factory initialises, so the vendor adapter's default dialect is not applied
+    @Bean
+    public static BeanPostProcessor readOnlyCacheJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReadOnlyCacheJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private HikariDataSource replicaPool(HikariDataSource primary, String url, int index) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica-" + index);
+        replica.setJdbcUrl(url);
+        replica.setDriverClassName(primary.getDriverClassName());
+        replica.setUsername(replicaUsername.isEmpty() ? primary.getUsername() : replicaUsername);
+        replica.setPassword(replicaUsername.isEmpty() ? primary.getPassword() : replicaPassword);
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setReadOnly(true);
+        // A replica that is down at startup is left out of rotation instead of failing the boot
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
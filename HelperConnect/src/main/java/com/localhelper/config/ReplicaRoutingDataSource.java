@@ -0,0 +1,172 @@
+package com.localhelper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localhelper.security.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends connections for read-only transactions on an HTTP request thread to a healthy replica,
+ * round robin, and everything else, background work included, to the primary. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy}, since the read-only flag is only known once the
+ * transaction has started.
+ *
+ * A replica that fails its health check or hands out no connection is skipped until it passes a
+ * check again. With a read-your-writes window, a user whose own write transaction committed within
+ * the window reads from the primary, so they never see a replica that has not caught up yet.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int healthCheckTimeoutSeconds;
+    private final Cache<Long, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, int healthCheckTimeoutSeconds,
+                                    Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size()).mapToObj(i -> new Replica(replicas.get(i), i)).toList();
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Checks each replica with a connection validity test, taking failed replicas out of rotation
+     * and returning recovered ones to it.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}",
+            initialDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String error;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                error = connection.isValid(healthCheckTimeoutSeconds) ? null : "connection is not valid";
+            } catch (SQLException e) {
+                error = e.getMessage();
+            }
+            if (error != null) {
+                markDown(replica, error);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                logger.info("Replica {} passed its health check and is back in rotation", replica.index);
+            }
+        }
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (recentWriters != null && userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(userId, Boolean.TRUE);
+                    }
+                });
+            }
+            return null;
+        }
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return null;
+        }
+        if (recentWriters != null && userId != null && recentWriters.getIfPresent(userId) != null) {
+            return null;
+        }
+
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, String error) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Replica {} taken out of rotation, reads go to the other replicas or the primary: {}",
+                    replica.index, error);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final int index;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.localhelper.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled maintenance jobs such as dashboard counter and helper rating reconciliation
+}
@@ -0,0 +1,106 @@
+package com.localhelper.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fails startup when an index declared in an entity's {@code @Table(indexes = ...)} is missing
+ * from the database or covers different columns. With {@code ddl-auto: validate} Hibernate only
+ * checks tables and columns, so a skipped migration would otherwise surface as slow queries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.verify-indexes", havingValue = "true")
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> problems = verify();
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Database schema is missing expected indexes: " + String.join("; ", problems));
+        }
+        logger.info("Verified all entity-declared indexes are present");
+    }
+
+    public List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entity.getJavaType().getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+                Map<String, List<String>> actual = readIndexes(connection, metaData, table.name());
+                for (Index index : table.indexes()) {
+                    List<String> expectedColumns = Arrays.stream(index.columnList().split(","))
+                            .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                            .collect(Collectors.toList());
+                    List<String> actualColumns = actual.get(index.name().toLowerCase(Locale.ROOT));
+                    if (actualColumns == null) {
+                        problems.add(table.name() + "." + index.name() + " is missing");
+                    } else if (!actualColumns.equals(expectedColumns)) {
+                        problems.add(table.name() + "." + index.name() + " covers " + actualColumns
+                                + " instead of " + expectedColumns);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to read index metadata", e);
+        }
+        return problems;
+    }
+
+    private Map<String, List<String>> readIndexes(Connection connection, DatabaseMetaData metaData, String tableName) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new HashMap<>();
+        // Identifier case differs between databases, so try the declared name as stored by each
+        for (String candidate : List.of(tableName, tableName.toLowerCase(Locale.ROOT), tableName.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), candidate, false, true)) {
+                while (rows.next()) {
+                    String indexName = rows.getString("INDEX_NAME");
+                    String columnName = rows.getString("COLUMN_NAME");
+                    if (indexName != null && columnName != null) {
+                        columnsByIndex.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), name -> new TreeMap<>())
+                                .put(rows.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!columnsByIndex.isEmpty()) {
+                break;
+            }
+        }
+
+        Map<String, List<String>> indexes = new HashMap<>();
+        columnsByIndex.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+}
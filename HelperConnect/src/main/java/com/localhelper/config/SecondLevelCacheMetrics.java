@@ -0,0 +1,69 @@
+package com.localhelper.config;
+
+import com.localhelper.repository.HelperRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Publishes the hit ratio of each second-level cache region as
+ * {@code hibernate.cache.region.hit.ratio}, tagged by region. The ratios come from Hibernate
+ * statistics, which are switched on here rather than through {@code generate_statistics} so
+ * sessions do not log their metrics. Query result regions are only built on first use, so the
+ * ones named by repositories are listed here.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    private static final List<String> QUERY_REGIONS = List.of(HelperRepository.HELPER_BY_USER_CACHE_REGION);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void register() {
+        if (meterRegistry == null) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        for (String region : sessionFactory.getCache().getCacheRegionNames()) {
+            if (!RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(region)
+                    && !QUERY_REGIONS.contains(region)) {
+                registerHitRatio(region, statistics, s -> s.getCacheRegionStatistics(region));
+            }
+        }
+        for (String region : QUERY_REGIONS) {
+            registerHitRatio(region, statistics, s -> s.getQueryRegionStatistics(region));
+        }
+    }
+
+    private void registerHitRatio(String region, Statistics statistics, Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        Gauge.builder("hibernate.cache.region.hit.ratio", statistics, s -> hitRatio(regionStatistics.apply(s)))
+                .description("Share of second-level cache lookups in the region that were hits")
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups > 0 ? (double) regionStatistics.getHitCount() / lookups : Double.NaN;
+    }
+}
@@ -1,23 +1,30 @@
 package com.localhelper.controller;
 
+import com.localhelper.analytics.DashboardCounters;
 import com.localhelper.dto.response.*;
 import com.localhelper.entity.*;
+import com.localhelper.export.ExportFormat;
+import com.localhelper.export.FinanceExportService;
+import com.localhelper.ingest.BulkImportService;
 import com.localhelper.security.UserDetailsImpl;
 import com.localhelper.service.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -45,6 +52,15 @@ public class AdminController {
     @Autowired
     private ComplaintService complaintService;
     
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    
+    @Autowired
+    private FinanceExportService financeExportService;
+    
+    @Autowired
+    private BulkImportService bulkImportService;
+    
     // User Management
     @GetMapping("/users")
     @Operation(summary = "Get all users", description = "Get all users with pagination")
@@ -53,6 +69,15 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
     }
     
+    @GetMapping(value = "/users", params = "pagination=keyset")
+    @Operation(summary = "Get all users (keyset)", description = "Get all users newest first using an opaque cursor instead of page numbers")
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserResponse> users = userService.getAllUsers(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
+    }
+    
     @GetMapping("/users/{userId}")
     @Operation(summary = "Get user by ID", description = "Get detailed information about a specific user")
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long userId) {
@@ -156,6 +181,15 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Service requests retrieved successfully", serviceRequests));
     }
     
+    @GetMapping(value = "/service-requests", params = "pagination=keyset")
+    @Operation(summary = "Get all service requests (keyset)", description = "Get all service requests newest first using an opaque cursor instead of page numbers")
+    public ResponseEntity<ApiResponse<CursorPage<ServiceRequestResponse>>> getAllServiceRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ServiceRequestResponse> serviceRequests = serviceRequestService.getServiceRequestsByStatus(null, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Service requests retrieved successfully", serviceRequests));
+    }
+    
     @GetMapping("/service-requests/status/{status}")
     @Operation(summary = "Get service requests by status", description = "Get service requests filtered by status")
     public ResponseEntity<ApiResponse<Page<ServiceRequestResponse>>> getServiceRequestsByStatus(
@@ -165,6 +199,16 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Service requests retrieved successfully", serviceRequests));
     }
     
+    @GetMapping(value = "/service-requests/status/{status}", params = "pagination=keyset")
+    @Operation(summary = "Get service requests by status (keyset)", description = "Get service requests filtered by status using an opaque cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ServiceRequestResponse>>> getServiceRequestsByStatus(
+            @PathVariable ServiceRequest.RequestStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ServiceRequestResponse> serviceRequests = serviceRequestService.getServiceRequestsByStatus(status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Service requests retrieved successfully", serviceRequests));
+    }
+    
     // Payment Management
     @GetMapping("/payments")
     @Operation(summary = "Get all payments", description = "Get all payments with pagination")
@@ -173,6 +217,15 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
     }
     
+    @GetMapping(value = "/payments", params = "pagination=keyset")
+    @Operation(summary = "Get all payments (keyset)", description = "Get all payments newest first using an opaque cursor instead of page numbers")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentResponse>>> getAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PaymentResponse> payments = paymentService.getPaymentsByStatus(null, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
+    }
+    
     @GetMapping("/payments/status/{status}")
     @Operation(summary = "Get payments by status", description = "Get payments filtered by status")
     public ResponseEntity<ApiResponse<Page<PaymentResponse>>> getPaymentsByStatus(
@@ -182,6 +235,16 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
     }
     
+    @GetMapping(value = "/payments/status/{status}", params = "pagination=keyset")
+    @Operation(summary = "Get payments by status (keyset)", description = "Get payments filtered by status using an opaque cursor")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentResponse>>> getPaymentsByStatus(
+            @PathVariable Payment.PaymentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PaymentResponse> payments = paymentService.getPaymentsByStatus(status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
+    }
+    
     @PostMapping("/payments/{paymentId}/refund")
     @Operation(summary = "Refund payment", description = "Process a payment refund")
     public ResponseEntity<ApiResponse<PaymentResponse>> refundPayment(
@@ -272,37 +335,7 @@ public class AdminController {
     @GetMapping("/analytics/dashboard")
     @Operation(summary = "Get admin dashboard analytics", description = "Get comprehensive analytics for admin dashboard")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAdminDashboard() {
-        Map<String, Object> analytics = new HashMap<>();
-        
-        // User statistics
-        analytics.put("totalUsers", userService.getTotalUserCount());
-        analytics.put("totalHelpers", helperService.getTotalHelperCount());
-        analytics.put("pendingHelpers", helperService.getHelperCountByStatus(Helper.HelperStatus.PENDING));
-        analytics.put("approvedHelpers", helperService.getHelperCountByStatus(Helper.HelperStatus.APPROVED));
-        
-        // Service request statistics
-        analytics.put("totalServiceRequests", serviceRequestService.getTotalServiceRequestCount());
-        analytics.put("pendingRequests", serviceRequestService.getServiceRequestCountByStatus(ServiceRequest.RequestStatus.PENDING));
-        analytics.put("completedRequests", serviceRequestService.getServiceRequestCountByStatus(ServiceRequest.RequestStatus.COMPLETED));
-        
-        // Payment statistics
-        analytics.put("totalPayments", paymentService.getTotalPaymentCount());
-        analytics.put("completedPayments", paymentService.getPaymentCountByStatus(Payment.PaymentStatus.COMPLETED));
-        analytics.put("failedPayments", paymentService.getPaymentCountByStatus(Payment.PaymentStatus.FAILED));
-        
-        // Review statistics
-        analytics.put("totalReviews", reviewService.getTotalReviewCount());
-        
-        // Complaint statistics
-        analytics.put("totalComplaints", complaintService.getTotalComplaintCount());
-        analytics.put("openComplaints", complaintService.getComplaintCountByStatus(Complaint.ComplaintStatus.OPEN));
-        analytics.put("resolvedComplaints", complaintService.getComplaintCountByStatus(Complaint.ComplaintStatus.RESOLVED));
-        
-        // Revenue statistics
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = LocalDateTime.now();
-        analytics.put("monthlyRevenue", paymentService.calculateTotalRevenueBetween(startOfMonth, endOfMonth));
-        
+        Map<String, Object> analytics = dashboardCounters.snapshot();
         return ResponseEntity.ok(ApiResponse.success("Admin analytics retrieved successfully", analytics));
     }
     
@@ -314,4 +347,70 @@ public class AdminController {
         BigDecimal revenue = paymentService.calculateTotalRevenueBetween(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success("Revenue analytics retrieved successfully", revenue));
     }
+    
+    // Exports
+    @GetMapping("/exports/payments")
+    @Operation(summary = "Export payments", description = "Stream payments created in a time period as CSV or NDJSON")
+    public void exportPayments(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        financeExportService.validateRange(startDate, endDate);
+        prepareExport(response, exportFormat, "payments");
+        financeExportService.exportPayments(startDate, endDate, exportFormat, response.getOutputStream());
+    }
+    
+    @GetMapping("/exports/service-requests")
+    @Operation(summary = "Export service requests", description = "Stream service requests created in a time period as CSV or NDJSON")
+    public void exportServiceRequests(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        financeExportService.validateRange(startDate, endDate);
+        prepareExport(response, exportFormat, "service-requests");
+        financeExportService.exportServiceRequests(startDate, endDate, exportFormat, response.getOutputStream());
+    }
+    
+    // Imports
+    @PostMapping("/imports/users")
+    @Operation(summary = "Import users", description = "Bulk import user accounts from a CSV or NDJSON request body")
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        BulkImportResponse result = bulkImportService.importUsers(ExportFormat.fromParameter(format), request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(importMessage(result), result));
+    }
+    
+    @PostMapping("/imports/helpers")
+    @Operation(summary = "Import helpers", description = "Bulk import helper accounts and profiles from a CSV or NDJSON request body")
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importHelpers(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        BulkImportResponse result = bulkImportService.importHelpers(ExportFormat.fromParameter(format), request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(importMessage(result), result));
+    }
+    
+    @PostMapping("/imports/service-requests")
+    @Operation(summary = "Import service requests", description = "Bulk import historical service requests from a CSV or NDJSON request body")
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importServiceRequests(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        BulkImportResponse result = bulkImportService.importServiceRequests(ExportFormat.fromParameter(format), request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(importMessage(result), result));
+    }
+    
+    private String importMessage(BulkImportResponse result) {
+        return "Imported " + result.getImported() + " of " + result.getRowsRead() + " rows";
+    }
+    
+    private void prepareExport(HttpServletResponse response, ExportFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+    }
 }
\ No newline at end of file
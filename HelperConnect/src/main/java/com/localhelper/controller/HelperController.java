@@ -1,5 +1,7 @@
 package com.localhelper.controller;
 
+import com.localhelper.dispatch.DispatchEngine;
+import com.localhelper.dispatch.OfferStreamRegistry;
 import com.localhelper.dto.request.HelperRegistrationRequest;
 import com.localhelper.dto.response.*;
 import com.localhelper.security.UserDetailsImpl;
@@ -12,10 +14,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 
@@ -37,9 +41,18 @@ public class HelperController {
     @Autowired
     private ReviewService reviewService;
     
+    @Autowired
+    private HelperRatingService helperRatingService;
+    
     @Autowired
     private ComplaintService complaintService;
     
+    @Autowired
+    private DispatchEngine dispatchEngine;
+    
+    @Autowired
+    private OfferStreamRegistry offerStreams;
+    
     @PostMapping("/register")
     @Operation(summary = "Register as helper", description = "Register current user as a helper with KYC documents")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -144,10 +157,21 @@ public class HelperController {
     @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<BigDecimal>> getHelperEarnings(@AuthenticationPrincipal UserDetailsImpl currentUser) {
         HelperResponse currentHelper = helperService.getHelperByUserId(currentUser.getId());
-        BigDecimal earnings = paymentService.calculateTotalEarningsByHelperId(currentHelper.getId());
+        BigDecimal earnings = currentHelper.getTotalEarnings() != null ? currentHelper.getTotalEarnings() : BigDecimal.ZERO;
         return ResponseEntity.ok(ApiResponse.success("Earnings retrieved successfully", earnings));
     }
     
+    @GetMapping("/earnings/entries")
+    @Operation(summary = "Get helper earnings ledger", description = "Get the credits and refund debits behind current helper's earnings, newest first")
+    @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Page<EarningsEntryResponse>>> getHelperEarningsEntries(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            Pageable pageable) {
+        HelperResponse currentHelper = helperService.getHelperByUserId(currentUser.getId());
+        Page<EarningsEntryResponse> entries = helperService.getEarningsEntries(currentHelper.getId(), pageable);
+        return ResponseEntity.ok(ApiResponse.success("Earnings entries retrieved successfully", entries));
+    }
+    
     @GetMapping("/payments")
     @Operation(summary = "Get helper payments", description = "Get all payments received by current helper")
     @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
@@ -180,6 +204,35 @@ public class HelperController {
         return ResponseEntity.ok(ApiResponse.success("Rating retrieved successfully", rating));
     }
     
+    @GetMapping("/reviews/rating/histogram")
+    @Operation(summary = "Get helper rating histogram", description = "Get current helper's average rating, review count and star histogram")
+    @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getHelperRatingHistogram(@AuthenticationPrincipal UserDetailsImpl currentUser) {
+        HelperResponse currentHelper = helperService.getHelperByUserId(currentUser.getId());
+        RatingSummaryResponse summary = helperRatingService.getRatingSummary(currentHelper.getId());
+        return ResponseEntity.ok(ApiResponse.success("Rating histogram retrieved successfully", summary));
+    }
+    
+    // Dispatch offers
+    @GetMapping(value = "/offers/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream service request offers", description = "Open a server-sent event stream of offers for new matching service requests")
+    @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
+    public SseEmitter streamOffers(@AuthenticationPrincipal UserDetailsImpl currentUser) {
+        HelperResponse currentHelper = helperService.getHelperByUserId(currentUser.getId());
+        return offerStreams.connect(currentHelper.getId());
+    }
+    
+    @PostMapping("/offers/{requestId}/decline")
+    @Operation(summary = "Decline service request offer", description = "Decline an open offer so it moves on to the next candidate")
+    @PreAuthorize("hasRole('HELPER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String>> declineOffer(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @PathVariable Long requestId) {
+        HelperResponse currentHelper = helperService.getHelperByUserId(currentUser.getId());
+        dispatchEngine.decline(requestId, currentHelper.getId());
+        return ResponseEntity.ok(ApiResponse.success("Offer declined successfully"));
+    }
+    
     // Complaints
     @GetMapping("/complaints")
     @Operation(summary = "Get complaints against helper", description = "Get all complaints filed against current helper")
@@ -4,6 +4,7 @@ import com.localhelper.dto.request.*;
 import com.localhelper.dto.response.*;
 import com.localhelper.security.UserDetailsImpl;
 import com.localhelper.service.*;
+import com.localhelper.stream.ServiceRequestStatusStreams;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +13,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -43,6 +46,9 @@ public class UserController {
     @Autowired
     private ComplaintService complaintService;
     
+    @Autowired
+    private ServiceRequestStatusStreams statusStreams;
+    
     @GetMapping("/profile")
     @Operation(summary = "Get user profile", description = "Get current user's profile information")
     @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
@@ -77,6 +83,19 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Helpers retrieved successfully", helpers));
     }
     
+    @GetMapping("/helpers/nearby")
+    @Operation(summary = "Find nearby helpers", description = "Find the nearest available helpers within a radius of a location")
+    @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<NearbyHelperResponse>>> findNearbyHelpers(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String serviceType) {
+        List<NearbyHelperResponse> helpers = helperService.findNearbyHelpers(latitude, longitude, radiusKm, limit, serviceType);
+        return ResponseEntity.ok(ApiResponse.success("Nearby helpers retrieved successfully", helpers));
+    }
+    
     @GetMapping("/helpers/{helperId}")
     @Operation(summary = "Get helper details", description = "Get detailed information about a specific helper")
     @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
@@ -107,6 +126,15 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Service requests retrieved successfully", serviceRequests));
     }
     
+    @GetMapping(value = "/service-requests/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream service request updates", description = "Open a server-sent event stream of status changes to current user's service requests; send Last-Event-ID to resume")
+    @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
+    public SseEmitter streamServiceRequestUpdates(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return statusStreams.subscribe(currentUser.getId(), lastEventId);
+    }
+    
     @GetMapping("/service-requests/{requestId}")
     @Operation(summary = "Get service request details", description = "Get detailed information about a specific service request")
     @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
@@ -147,11 +175,20 @@ public class UserController {
     }
     
     @PostMapping("/payments/{paymentId}/process")
-    @Operation(summary = "Process payment", description = "Process a pending payment")
+    @Operation(summary = "Process payment", description = "Submit a pending payment for asynchronous processing; poll the payment for its outcome")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<PaymentResponse>> processPayment(@PathVariable Long paymentId) {
         PaymentResponse response = paymentService.processPayment(paymentId);
-        return ResponseEntity.ok(ApiResponse.success("Payment processed successfully", response));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Payment accepted for processing", response));
+    }
+    
+    @GetMapping("/payments/{paymentId}")
+    @Operation(summary = "Get payment status", description = "Get the current status of a payment")
+    @PreAuthorize("hasRole('USER') or hasRole('HELPER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PaymentResponse>> getPayment(@PathVariable Long paymentId) {
+        PaymentResponse response = paymentService.getPaymentById(paymentId);
+        return ResponseEntity.ok(ApiResponse.success("Payment retrieved successfully", response));
     }
     
     @GetMapping("/payments")
@@ -0,0 +1,459 @@
+package com.localhelper.dispatch;
+
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.event.ServiceRequestChangedEvent;
+import com.localhelper.exception.ConflictException;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.SnapshotRebuild;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes newly created service requests to the best matching connected helpers.
+ * Approved, available helpers are held in memory by service type together with their rate,
+ * rating and count of active jobs, so ranking a request never touches the database. Offers go
+ * out {@code app.dispatch.fan-out} at a time and each round expires after
+ * {@code app.dispatch.offer-ttl-ms}, or as soon as every recipient declines, moving on to the
+ * next candidates. The first helper to accept wins through the request's compare-and-set.
+ */
+@Component
+public class DispatchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DispatchEngine.class);
+
+    public static final String OFFER_EVENT = "offer";
+    public static final String OFFER_EXPIRED_EVENT = "offer-expired";
+    public static final String OFFER_CLOSED_EVENT = "offer-closed";
+
+    private static final double RATING_WEIGHT = 0.4;
+    private static final double PRICE_WEIGHT = 0.3;
+    private static final double LOAD_WEIGHT = 0.2;
+    private static final double DISTANCE_WEIGHT = 0.1;
+    private static final double UNKNOWN_FIT = 0.5;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private OfferStreamRegistry offerStreams;
+
+    @Value("${app.dispatch.fan-out:3}")
+    private int fanOut = 3;
+
+    @Value("${app.dispatch.max-candidates:20}")
+    private int maxCandidates = 20;
+
+    @Value("${app.dispatch.offer-ttl-ms:30000}")
+    private long offerTtlMs = 30000;
+
+    @Value("${app.dispatch.radius-km:25}")
+    private double radiusKm = 25;
+
+    @Value("${app.dispatch.worker-threads:4}")
+    private int workerThreads = 4;
+
+    @Value("${app.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    private final Map<Long, AtomicInteger> activeJobs = new ConcurrentHashMap<>();
+    private final Map<Long, Dispatch> dispatches = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final SnapshotRebuild<Candidate> snapshotRebuild = new SnapshotRebuild<>(writeLock);
+
+    private volatile CandidateIndex index = new CandidateIndex();
+    private ScheduledThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(workerThreads, task -> {
+            Thread thread = new Thread(task, "dispatch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Loads every dispatchable helper and the active job counts. Runs at startup and again every
+     * {@code app.dispatch.refresh-interval-ms} to pick up rating changes and correct load drift;
+     * the helpers are loaded into a new index that replaces the current one once complete, so
+     * dispatch keeps working from the previous index while a refresh is in progress.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.dispatch.refresh-interval-ms:300000}",
+               fixedDelayString = "${app.dispatch.refresh-interval-ms:300000}")
+    public void rebuild() {
+        try {
+            snapshotRebuild.run(this::loadCandidates, (loaded, changed) -> {
+                changed.forEach((helperId, candidate) -> {
+                    loaded.remove(helperId);
+                    if (candidate != null) {
+                        loaded.put(candidate);
+                    }
+                });
+                index = loaded;
+            });
+
+            Map<Long, Integer> counts = new HashMap<>();
+            for (Object[] row : serviceRequestRepository.countActiveGroupedByHelper()) {
+                counts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            activeJobs.keySet().removeIf(helperId -> !counts.containsKey(helperId));
+            counts.forEach((helperId, count) -> activeJobs.computeIfAbsent(helperId, id -> new AtomicInteger()).set(count));
+
+            logger.info("Dispatch index refreshed with {} helpers and {} helpers on active jobs",
+                    index.candidates.size(), counts.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to refresh dispatch index, keeping previous entries", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHelperChanged(HelperChangedEvent event) {
+        Candidate candidate = event.isSearchable()
+                ? new Candidate(event.getHelperId(), event.getServiceType(), event.getLatitude(),
+                        event.getLongitude(), event.getHourlyRate(), event.getRating())
+                : null;
+        writeLock.lock();
+        try {
+            snapshotRebuild.record(event.getHelperId(), candidate);
+            CandidateIndex current = index;
+            current.remove(event.getHelperId());
+            if (candidate != null) {
+                current.put(candidate);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+        ServiceRequest.RequestStatus previous = event.getPreviousStatus();
+        ServiceRequest.RequestStatus status = event.getStatus();
+
+        if (event.isCreated()) {
+            if (status == ServiceRequest.RequestStatus.PENDING) {
+                submit(() -> startDispatch(event));
+            }
+            return;
+        }
+        if (previous == ServiceRequest.RequestStatus.PENDING && status != ServiceRequest.RequestStatus.PENDING) {
+            close(event.getRequestId(), event.getHelperId());
+        }
+        if (event.getHelperId() == null) {
+            return;
+        }
+        if (status == ServiceRequest.RequestStatus.ACCEPTED) {
+            activeJobs.computeIfAbsent(event.getHelperId(), id -> new AtomicInteger()).incrementAndGet();
+        } else if (isActive(previous) && !isActive(status)) {
+            AtomicInteger jobs = activeJobs.get(event.getHelperId());
+            if (jobs != null) {
+                jobs.updateAndGet(count -> Math.max(0, count - 1));
+            }
+        }
+    }
+
+    /**
+     * Withdraws the helper from the current round of offers for a request. When every recipient
+     * of the round has declined, the next candidates are offered the request straight away.
+     */
+    public void decline(Long requestId, Long helperId) {
+        Dispatch dispatch = dispatches.get(requestId);
+        if (dispatch == null) {
+            throw new ConflictException("OFFER_CLOSED", "No open offer for service request " + requestId);
+        }
+        dispatch.lock.lock();
+        try {
+            if (dispatch.finished || !dispatch.outstanding.remove(helperId)) {
+                throw new ConflictException("OFFER_CLOSED", "No open offer for service request " + requestId);
+            }
+            if (dispatch.outstanding.isEmpty()) {
+                dispatch.expiry.cancel(false);
+                submit(() -> offerNextRound(dispatch));
+            }
+        } finally {
+            dispatch.lock.unlock();
+        }
+    }
+
+    public int candidateCount() {
+        return index.candidates.size();
+    }
+
+    public int openDispatches() {
+        return dispatches.size();
+    }
+
+    private List<RankedCandidate> rank(ServiceRequestChangedEvent request) {
+        Map<Long, Candidate> pool = index.candidatesByServiceType.get(key(request.getServiceType()));
+        if (pool == null) {
+            return List.of();
+        }
+        boolean located = request.getLatitude() != null && request.getLongitude() != null;
+        PriorityQueue<RankedCandidate> best = new PriorityQueue<>(Comparator.comparingDouble(RankedCandidate::getScore));
+
+        for (Candidate candidate : pool.values()) {
+            if (!offerStreams.isConnected(candidate.helperId)) {
+                continue;
+            }
+            Double distance = located && candidate.latitude != null && candidate.longitude != null
+                    ? HelperGeoIndex.distanceKm(request.getLatitude(), request.getLongitude(), candidate.latitude, candidate.longitude)
+                    : null;
+            if (distance != null && distance > radiusKm) {
+                continue;
+            }
+            best.add(new RankedCandidate(candidate.helperId, score(candidate, request, distance), distance));
+            if (best.size() > maxCandidates) {
+                best.poll();
+            }
+        }
+
+        List<RankedCandidate> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(RankedCandidate::getScore).reversed());
+        return ranked;
+    }
+
+    private double score(Candidate candidate, ServiceRequestChangedEvent request, Double distance) {
+        double rating = candidate.rating / 5.0;
+
+        double priceFit = UNKNOWN_FIT;
+        if (request.getBudget() != null && candidate.hourlyRate > 0) {
+            double hours = request.getDurationHours() != null ? request.getDurationHours().doubleValue() : 1.0;
+            double cost = candidate.hourlyRate * hours;
+            priceFit = cost <= request.getBudget().doubleValue() ? 1.0 : request.getBudget().doubleValue() / cost;
+        }
+
+        AtomicInteger jobs = activeJobs.get(candidate.helperId);
+        double load = 1.0 / (1 + (jobs != null ? jobs.get() : 0));
+
+        double proximity = distance != null ? 1.0 - distance / radiusKm : UNKNOWN_FIT;
+
+        return RATING_WEIGHT * rating + PRICE_WEIGHT * priceFit + LOAD_WEIGHT * load + DISTANCE_WEIGHT * proximity;
+    }
+
+    private void startDispatch(ServiceRequestChangedEvent request) {
+        List<RankedCandidate> ranked = rank(request);
+        if (ranked.isEmpty()) {
+            logger.debug("No connected helper matches service request {}", request.getRequestId());
+            return;
+        }
+        Dispatch dispatch = new Dispatch(request, ranked);
+        dispatches.put(request.getRequestId(), dispatch);
+        offerNextRound(dispatch);
+    }
+
+    private void offerNextRound(Dispatch dispatch) {
+        // Offers are written to helper sockets while holding the lock, so it is a ReentrantLock
+        // rather than a monitor to avoid pinning carrier threads when running on virtual threads
+        dispatch.lock.lock();
+        try {
+            if (dispatch.finished) {
+                return;
+            }
+            Map<String, Long> expired = Map.of("requestId", dispatch.request.getRequestId());
+            for (Long helperId : dispatch.outstanding) {
+                offerStreams.send(helperId, OFFER_EXPIRED_EVENT, expired);
+            }
+            dispatch.outstanding.clear();
+
+            LocalDateTime expiresAt = LocalDateTime.now().plus(offerTtlMs, ChronoUnit.MILLIS);
+            while (dispatch.outstanding.size() < fanOut && !dispatch.remaining.isEmpty()) {
+                RankedCandidate next = dispatch.remaining.poll();
+                // Skip helpers that went unavailable since the request was ranked
+                if (index.candidates.containsKey(next.helperId) && offerStreams.send(next.helperId, OFFER_EVENT,
+                        new DispatchOffer(dispatch.request, next.distanceKm, next.score, expiresAt))) {
+                    dispatch.outstanding.add(next.helperId);
+                }
+            }
+
+            if (dispatch.outstanding.isEmpty()) {
+                dispatch.finished = true;
+                dispatches.remove(dispatch.request.getRequestId(), dispatch);
+                logger.info("Ran out of dispatch candidates for service request {}", dispatch.request.getRequestId());
+                return;
+            }
+            dispatch.round++;
+            try {
+                dispatch.expiry = executor.schedule(() -> offerNextRound(dispatch), offerTtlMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                dispatch.finished = true;
+                dispatches.remove(dispatch.request.getRequestId(), dispatch);
+            }
+        } finally {
+            dispatch.lock.unlock();
+        }
+    }
+
+    private void close(Long requestId, Long acceptedBy) {
+        Dispatch dispatch = dispatches.remove(requestId);
+        if (dispatch == null) {
+            return;
+        }
+        dispatch.lock.lock();
+        try {
+            dispatch.finished = true;
+            if (dispatch.expiry != null) {
+                dispatch.expiry.cancel(false);
+            }
+            Map<String, Long> closed = Map.of("requestId", requestId);
+            for (Long helperId : dispatch.outstanding) {
+                if (!helperId.equals(acceptedBy)) {
+                    offerStreams.send(helperId, OFFER_CLOSED_EVENT, closed);
+                }
+            }
+            dispatch.outstanding.clear();
+            logger.debug("Closed dispatch of service request {} after {} rounds", requestId, dispatch.round);
+        } finally {
+            dispatch.lock.unlock();
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Dispatch executor is shut down, dropping task");
+        }
+    }
+
+    private CandidateIndex loadCandidates() {
+        CandidateIndex loaded = new CandidateIndex();
+        long afterId = 0L;
+        List<HelperRepository.DispatchableHelper> batch;
+        do {
+            batch = helperRepository.findDispatchableHelpersAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+            for (HelperRepository.DispatchableHelper helper : batch) {
+                loaded.put(new Candidate(helper.getId(), helper.getServiceType(), helper.getLatitude(),
+                        helper.getLongitude(), helper.getHourlyRate(), helper.getRating()));
+                afterId = helper.getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+        return loaded;
+    }
+
+    private static boolean isActive(ServiceRequest.RequestStatus status) {
+        return status == ServiceRequest.RequestStatus.ACCEPTED || status == ServiceRequest.RequestStatus.IN_PROGRESS;
+    }
+
+    private static String key(String serviceType) {
+        return serviceType != null ? serviceType.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static final class Candidate {
+
+        private final Long helperId;
+        private final String serviceType;
+        private final Double latitude;
+        private final Double longitude;
+        private final double hourlyRate;
+        private final double rating;
+
+        private Candidate(Long helperId, String serviceType, Double latitude, Double longitude,
+                          BigDecimal hourlyRate, BigDecimal rating) {
+            this.helperId = helperId;
+            this.serviceType = key(serviceType);
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.hourlyRate = hourlyRate != null ? hourlyRate.doubleValue() : 0.0;
+            this.rating = rating != null ? rating.doubleValue() : 0.0;
+        }
+    }
+
+    private static final class CandidateIndex {
+
+        private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+        private final Map<String, Map<Long, Candidate>> candidatesByServiceType = new ConcurrentHashMap<>();
+
+        private void put(Candidate candidate) {
+            candidates.put(candidate.helperId, candidate);
+            candidatesByServiceType.computeIfAbsent(candidate.serviceType, type -> new ConcurrentHashMap<>())
+                    .put(candidate.helperId, candidate);
+        }
+
+        private void remove(Long helperId) {
+            Candidate previous = candidates.remove(helperId);
+            if (previous != null) {
+                Map<Long, Candidate> pool = candidatesByServiceType.get(previous.serviceType);
+                if (pool != null) {
+                    pool.remove(helperId);
+                }
+            }
+        }
+    }
+
+    private static final class Dispatch {
+
+        private final ServiceRequestChangedEvent request;
+        private final Deque<RankedCandidate> remaining;
+        private final Set<Long> outstanding = new HashSet<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private ScheduledFuture<?> expiry;
+        private int round;
+        private boolean finished;
+
+        private Dispatch(ServiceRequestChangedEvent request, List<RankedCandidate> ranked) {
+            this.request = request;
+            this.remaining = new ArrayDeque<>(ranked);
+        }
+    }
+
+    private static final class RankedCandidate {
+
+        private final Long helperId;
+        private final double score;
+        private final Double distanceKm;
+
+        private RankedCandidate(Long helperId, double score, Double distanceKm) {
+            this.helperId = helperId;
+            this.score = score;
+            this.distanceKm = distanceKm;
+        }
+
+        private double getScore() { return score; }
+    }
+}
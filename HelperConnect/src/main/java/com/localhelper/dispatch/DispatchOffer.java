@@ -0,0 +1,52 @@
+package com.localhelper.dispatch;
+
+import com.localhelper.event.ServiceRequestChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payload of an {@code offer} event pushed to a helper's stream.
+ */
+public class DispatchOffer {
+
+    private final Long requestId;
+    private final String serviceType;
+    private final String location;
+    private final LocalDateTime scheduledDate;
+    private final BigDecimal durationHours;
+    private final BigDecimal budget;
+    private final Double distanceKm;
+    private final double score;
+    private final LocalDateTime expiresAt;
+
+    public DispatchOffer(ServiceRequestChangedEvent request, Double distanceKm, double score, LocalDateTime expiresAt) {
+        this.requestId = request.getRequestId();
+        this.serviceType = request.getServiceType();
+        this.location = request.getLocation();
+        this.scheduledDate = request.getScheduledDate();
+        this.durationHours = request.getDurationHours();
+        this.budget = request.getBudget();
+        this.distanceKm = distanceKm;
+        this.score = score;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getRequestId() { return requestId; }
+
+    public String getServiceType() { return serviceType; }
+
+    public String getLocation() { return location; }
+
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+
+    public BigDecimal getDurationHours() { return durationHours; }
+
+    public BigDecimal getBudget() { return budget; }
+
+    public Double getDistanceKm() { return distanceKm; }
+
+    public double getScore() { return score; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
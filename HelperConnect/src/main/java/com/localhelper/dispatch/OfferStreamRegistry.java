@@ -0,0 +1,31 @@
+package com.localhelper.dispatch;
+
+import com.localhelper.stream.SseStreamRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Open offer streams per helper. Offers are only pushed to helpers with at least one stream.
+ */
+@Component
+public class OfferStreamRegistry extends SseStreamRegistry {
+
+    @Value("${app.streams.timeout-ms:1800000}")
+    private long streamTimeoutMs = 1800000;
+
+    public SseEmitter connect(Long helperId) {
+        return open(helperId, streamTimeoutMs);
+    }
+
+    public boolean send(Long helperId, String eventName, Object payload) {
+        return send(helperId, () -> SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    @Scheduled(fixedDelayString = "${app.streams.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        heartbeat();
+    }
+}
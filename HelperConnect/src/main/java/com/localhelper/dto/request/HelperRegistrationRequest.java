@@ -1,5 +1,6 @@
 package com.localhelper.dto.request;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -19,6 +20,14 @@ public class HelperRegistrationRequest {
     
     private String experience;
     
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @NotBlank(message = "KYC document type is required")
     private String kycDocumentType;
     
@@ -55,6 +64,12 @@ public class HelperRegistrationRequest {
     public String getExperience() { return experience; }
     public void setExperience(String experience) { this.experience = experience; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public String getKycDocumentType() { return kycDocumentType; }
     public void setKycDocumentType(String kycDocumentType) { this.kycDocumentType = kycDocumentType; }
     
@@ -0,0 +1,48 @@
+package com.localhelper.dto.response;
+
+import com.localhelper.util.PageCursor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPage<T> {
+    
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    private String nextCursor;
+    
+    // Constructors
+    public CursorPage() {}
+    
+    public CursorPage(List<T> content, Integer size, Boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+    
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, PageCursor> cursorOf) {
+        List<E> rows = slice.getContent();
+        String nextCursor = slice.hasNext() && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(rows.stream().map(mapper).collect(Collectors.toList()),
+                slice.getSize(), slice.hasNext(), nextCursor);
+    }
+    
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    
+    public Boolean getHasNext() { return hasNext; }
+    public void setHasNext(Boolean hasNext) { this.hasNext = hasNext; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
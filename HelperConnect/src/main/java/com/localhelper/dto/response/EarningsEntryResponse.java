@@ -0,0 +1,42 @@
+package com.localhelper.dto.response;
+
+import com.localhelper.entity.EarningsEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class EarningsEntryResponse {
+    
+    private Long id;
+    private Long paymentId;
+    private EarningsEntry.EntryType entryType;
+    private BigDecimal amount;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public EarningsEntryResponse() {}
+    
+    public EarningsEntryResponse(EarningsEntry entry) {
+        this.id = entry.getId();
+        this.paymentId = entry.getPayment().getId();
+        this.entryType = entry.getEntryType();
+        this.amount = entry.getAmount();
+        this.createdAt = entry.getCreatedAt();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getPaymentId() { return paymentId; }
+    public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
+    
+    public EarningsEntry.EntryType getEntryType() { return entryType; }
+    public void setEntryType(EarningsEntry.EntryType entryType) { this.entryType = entryType; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -13,6 +13,8 @@ public class HelperResponse {
     private String description;
     private BigDecimal hourlyRate;
     private String experience;
+    private Double latitude;
+    private Double longitude;
     private Helper.KycStatus kycStatus;
     private Helper.HelperStatus status;
     private Boolean isAvailable;
@@ -33,6 +35,8 @@ public class HelperResponse {
         this.description = helper.getDescription();
         this.hourlyRate = helper.getHourlyRate();
         this.experience = helper.getExperience();
+        this.latitude = helper.getLatitude();
+        this.longitude = helper.getLongitude();
         this.kycStatus = helper.getKycStatus();
         this.status = helper.getStatus();
         this.isAvailable = helper.getIsAvailable();
@@ -63,6 +67,12 @@ public class HelperResponse {
     public String getExperience() { return experience; }
     public void setExperience(String experience) { this.experience = experience; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public Helper.KycStatus getKycStatus() { return kycStatus; }
     public void setKycStatus(Helper.KycStatus kycStatus) { this.kycStatus = kycStatus; }
     
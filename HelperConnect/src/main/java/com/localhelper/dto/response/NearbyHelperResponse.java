@@ -0,0 +1,22 @@
+package com.localhelper.dto.response;
+
+public class NearbyHelperResponse {
+    
+    private HelperResponse helper;
+    private Double distanceKm;
+    
+    // Constructors
+    public NearbyHelperResponse() {}
+    
+    public NearbyHelperResponse(HelperResponse helper, Double distanceKm) {
+        this.helper = helper;
+        this.distanceKm = distanceKm;
+    }
+    
+    // Getters and Setters
+    public HelperResponse getHelper() { return helper; }
+    public void setHelper(HelperResponse helper) { this.helper = helper; }
+    
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,43 @@
+package com.localhelper.dto.response;
+
+import com.localhelper.entity.Helper;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RatingSummaryResponse {
+    
+    private Long helperId;
+    private BigDecimal averageRating;
+    private Integer totalReviews;
+    private Map<Integer, Integer> histogram;
+    
+    // Constructors
+    public RatingSummaryResponse() {}
+    
+    public RatingSummaryResponse(Helper helper) {
+        this.helperId = helper.getId();
+        this.averageRating = helper.getRating() != null ? helper.getRating() : BigDecimal.ZERO;
+        this.totalReviews = helper.getTotalReviews();
+        this.histogram = new LinkedHashMap<>();
+        this.histogram.put(5, helper.getFiveStarCount());
+        this.histogram.put(4, helper.getFourStarCount());
+        this.histogram.put(3, helper.getThreeStarCount());
+        this.histogram.put(2, helper.getTwoStarCount());
+        this.histogram.put(1, helper.getOneStarCount());
+    }
+    
+    // Getters and Setters
+    public Long getHelperId() { return helperId; }
+    public void setHelperId(Long helperId) { this.helperId = helperId; }
+    
+    public BigDecimal getAverageRating() { return averageRating; }
+    public void setAverageRating(BigDecimal averageRating) { this.averageRating = averageRating; }
+    
+    public Integer getTotalReviews() { return totalReviews; }
+    public void setTotalReviews(Integer totalReviews) { this.totalReviews = totalReviews; }
+    
+    public Map<Integer, Integer> getHistogram() { return histogram; }
+    public void setHistogram(Map<Integer, Integer> histogram) { this.histogram = histogram; }
+}
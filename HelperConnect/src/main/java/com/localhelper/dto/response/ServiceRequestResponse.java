@@ -13,6 +13,8 @@ public class ServiceRequestResponse {
     private String serviceType;
     private String description;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private LocalDateTime scheduledDate;
     private BigDecimal durationHours;
     private BigDecimal budget;
@@ -34,6 +36,8 @@ public class ServiceRequestResponse {
         this.serviceType = serviceRequest.getServiceType();
         this.description = serviceRequest.getDescription();
         this.location = serviceRequest.getLocation();
+        this.latitude = serviceRequest.getLatitude();
+        this.longitude = serviceRequest.getLongitude();
         this.scheduledDate = serviceRequest.getScheduledDate();
         this.durationHours = serviceRequest.getDurationHours();
         this.budget = serviceRequest.getBudget();
@@ -65,6 +69,12 @@ public class ServiceRequestResponse {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public LocalDateTime getScheduledDate() { return scheduledDate; }
     public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
     
@@ -9,11 +9,18 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_status_priority", columnList = "status, priority"),
+        @Index(name = "idx_complaints_user_id", columnList = "user_id"),
+        @Index(name = "idx_complaints_helper_id", columnList = "helper_id"),
+        @Index(name = "idx_complaints_service_request_id", columnList = "service_request_id"),
+        @Index(name = "idx_complaints_created_at", columnList = "created_at")
+})
 public class Complaint {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "complaints_seq")
+    @SequenceGenerator(name = "complaints_seq", sequenceName = "complaints_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,156 @@
+package com.localhelper.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A state change of a payment, review, helper, service request or complaint, recorded in the
+ * domain event outbox by the transaction that made it. While pending, {@code nextAttemptAt} is
+ * both the retry time and the lease held by a relay publishing it.
+ */
+@Entity
+@Table(name = "domain_event_outbox",
+        indexes = {
+                @Index(name = "idx_domain_event_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_domain_event_outbox_status_published_at", columnList = "status, published_at")
+        })
+public class DomainEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false, length = 100)
+    private EventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, updatable = false)
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private Long aggregateId;
+
+    @Column(columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PublishStatus status = PublishStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Enums
+    public enum AggregateType {
+        PAYMENT, REVIEW, HELPER, SERVICE_REQUEST, COMPLAINT
+    }
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+
+    public enum EventType {
+        PAYMENT_CREATED(AggregateType.PAYMENT, Change.CREATED),
+        PAYMENT_SUBMITTED(AggregateType.PAYMENT, Change.UPDATED),
+        PAYMENT_RELEASED(AggregateType.PAYMENT, Change.UPDATED),
+        PAYMENT_COMPLETED(AggregateType.PAYMENT, Change.UPDATED),
+        PAYMENT_FAILED(AggregateType.PAYMENT, Change.UPDATED),
+        PAYMENT_REFUNDED(AggregateType.PAYMENT, Change.UPDATED),
+
+        REVIEW_CREATED(AggregateType.REVIEW, Change.CREATED),
+        REVIEW_UPDATED(AggregateType.REVIEW, Change.UPDATED),
+        REVIEW_HIDDEN(AggregateType.REVIEW, Change.UPDATED),
+        REVIEW_SHOWN(AggregateType.REVIEW, Change.UPDATED),
+        REVIEW_DELETED(AggregateType.REVIEW, Change.DELETED),
+
+        HELPER_REGISTERED(AggregateType.HELPER, Change.CREATED),
+        HELPER_PROFILE_UPDATED(AggregateType.HELPER, Change.UPDATED),
+        HELPER_AVAILABILITY_CHANGED(AggregateType.HELPER, Change.UPDATED),
+        HELPER_KYC_APPROVED(AggregateType.HELPER, Change.UPDATED),
+        HELPER_KYC_REJECTED(AggregateType.HELPER, Change.UPDATED),
+        HELPER_APPROVED(AggregateType.HELPER, Change.UPDATED),
+        HELPER_REJECTED(AggregateType.HELPER, Change.UPDATED),
+
+        SERVICE_REQUEST_CREATED(AggregateType.SERVICE_REQUEST, Change.CREATED),
+        SERVICE_REQUEST_UPDATED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+        SERVICE_REQUEST_ACCEPTED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+        SERVICE_REQUEST_REJECTED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+        SERVICE_REQUEST_STARTED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+        SERVICE_REQUEST_COMPLETED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+        SERVICE_REQUEST_CANCELLED(AggregateType.SERVICE_REQUEST, Change.UPDATED),
+
+        COMPLAINT_CREATED(AggregateType.COMPLAINT, Change.CREATED),
+        COMPLAINT_STATUS_CHANGED(AggregateType.COMPLAINT, Change.UPDATED),
+        COMPLAINT_PRIORITY_CHANGED(AggregateType.COMPLAINT, Change.UPDATED),
+        COMPLAINT_RESOLVED(AggregateType.COMPLAINT, Change.UPDATED),
+        COMPLAINT_CLOSED(AggregateType.COMPLAINT, Change.UPDATED),
+        COMPLAINT_REOPENED(AggregateType.COMPLAINT, Change.UPDATED),
+        COMPLAINT_DELETED(AggregateType.COMPLAINT, Change.DELETED);
+
+        private final AggregateType aggregateType;
+        private final Change change;
+
+        EventType(AggregateType aggregateType, Change change) {
+            this.aggregateType = aggregateType;
+            this.change = change;
+        }
+
+        public AggregateType getAggregateType() { return aggregateType; }
+
+        public Change getChange() { return change; }
+    }
+
+    public enum PublishStatus {
+        PENDING, PUBLISHED, FAILED
+    }
+
+    // Constructors
+    public DomainEvent() {}
+
+    public DomainEvent(EventType type, Long aggregateId, String payload) {
+        this.type = type;
+        this.aggregateType = type.getAggregateType();
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public EventType getType() { return type; }
+
+    public AggregateType getAggregateType() { return aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public String getPayload() { return payload; }
+
+    public PublishStatus getStatus() { return status; }
+
+    public Integer getAttempts() { return attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
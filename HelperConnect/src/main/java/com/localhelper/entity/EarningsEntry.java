@@ -0,0 +1,70 @@
+package com.localhelper.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a change to a helper's earnings. Rows are never updated or deleted;
+ * a helper's total_earnings always equals the sum of its entries.
+ */
+@Entity
+@Table(name = "helper_earnings_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_helper_earnings_entries_payment_id_entry_type",
+                columnNames = {"payment_id", "entry_type"}),
+        indexes = @Index(name = "idx_helper_earnings_entries_helper_id_created_at", columnList = "helper_id, created_at"))
+public class EarningsEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "helper_id", nullable = false, updatable = false)
+    private Helper helper;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false, updatable = false)
+    private Payment payment;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private EntryType entryType;
+    
+    @Column(nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Enums
+    public enum EntryType {
+        PAYMENT_COMPLETED, PAYMENT_REFUNDED
+    }
+    
+    // Constructors
+    public EarningsEntry() {}
+    
+    public EarningsEntry(Helper helper, Payment payment, EntryType entryType, BigDecimal amount) {
+        this.helper = helper;
+        this.payment = payment;
+        this.entryType = entryType;
+        this.amount = amount;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public Helper getHelper() { return helper; }
+    
+    public Payment getPayment() { return payment; }
+    
+    public EntryType getEntryType() { return entryType; }
+    
+    public BigDecimal getAmount() { return amount; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -4,19 +4,34 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Earnings and rating aggregates are changed only by atomic UPDATEs, so profile saves must
+// write just the columns they touched instead of stale copies of those totals
 @Entity
-@Table(name = "helpers")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Helper.CACHE_REGION)
+@Table(name = "helpers", indexes = {
+        @Index(name = "idx_helpers_status_is_available_id", columnList = "status, is_available, id"),
+        @Index(name = "idx_helpers_kyc_status", columnList = "kyc_status"),
+        @Index(name = "idx_helpers_latitude_longitude", columnList = "latitude, longitude")
+})
 public class Helper {
     
+    public static final String CACHE_REGION = "helpers";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "helpers_seq")
+    @SequenceGenerator(name = "helpers_seq", sequenceName = "helpers_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne
@@ -37,6 +52,10 @@ public class Helper {
     
     private String experience;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @Column(nullable = false)
     private String kycDocumentType;
     
@@ -63,6 +82,25 @@ public class Helper {
     @Column(nullable = false)
     private Integer totalReviews = 0;
     
+    // Running aggregates over visible reviews, kept current by HelperRatingService
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+    
+    @Column(nullable = false)
+    private Integer oneStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer twoStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer threeStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer fourStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer fiveStarCount = 0;
+    
     @Column(precision = 12, scale = 2)
     private BigDecimal totalEarnings = BigDecimal.ZERO;
     
@@ -123,6 +161,12 @@ public class Helper {
     public String getExperience() { return experience; }
     public void setExperience(String experience) { this.experience = experience; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public String getKycDocumentType() { return kycDocumentType; }
     public void setKycDocumentType(String kycDocumentType) { this.kycDocumentType = kycDocumentType; }
     
@@ -147,6 +191,24 @@ public class Helper {
     public Integer getTotalReviews() { return totalReviews; }
     public void setTotalReviews(Integer totalReviews) { this.totalReviews = totalReviews; }
     
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+    
+    public Integer getOneStarCount() { return oneStarCount; }
+    public void setOneStarCount(Integer oneStarCount) { this.oneStarCount = oneStarCount; }
+    
+    public Integer getTwoStarCount() { return twoStarCount; }
+    public void setTwoStarCount(Integer twoStarCount) { this.twoStarCount = twoStarCount; }
+    
+    public Integer getThreeStarCount() { return threeStarCount; }
+    public void setThreeStarCount(Integer threeStarCount) { this.threeStarCount = threeStarCount; }
+    
+    public Integer getFourStarCount() { return fourStarCount; }
+    public void setFourStarCount(Integer fourStarCount) { this.fourStarCount = fourStarCount; }
+    
+    public Integer getFiveStarCount() { return fiveStarCount; }
+    public void setFiveStarCount(Integer fiveStarCount) { this.fiveStarCount = fiveStarCount; }
+    
     public BigDecimal getTotalEarnings() { return totalEarnings; }
     public void setTotalEarnings(BigDecimal totalEarnings) { this.totalEarnings = totalEarnings; }
     
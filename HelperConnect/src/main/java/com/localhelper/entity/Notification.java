@@ -0,0 +1,95 @@
+package com.localhelper.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound email waiting in, or delivered from, the notification outbox. While pending,
+ * {@code nextAttemptAt} is both the retry time and the lease held by a dispatcher sending it.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"))
+public class Notification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false, updatable = false)
+    private NotificationType type;
+    
+    @Column(nullable = false, updatable = false)
+    private String recipient;
+    
+    @Column(nullable = false, updatable = false)
+    private String subject;
+    
+    @Column(columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String body;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status = NotificationStatus.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(length = 1000)
+    private String lastError;
+    
+    private LocalDateTime sentAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Enums
+    public enum NotificationType {
+        WELCOME, HELPER_APPROVED, HELPER_REJECTED, SERVICE_REQUEST, PAYMENT_CONFIRMATION, PASSWORD_RESET
+    }
+    
+    public enum NotificationStatus {
+        PENDING, SENT, FAILED
+    }
+    
+    // Constructors
+    public Notification() {}
+    
+    public Notification(NotificationType type, String recipient, String subject, String body) {
+        this.type = type;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public NotificationType getType() { return type; }
+    
+    public String getRecipient() { return recipient; }
+    
+    public String getSubject() { return subject; }
+    
+    public String getBody() { return body; }
+    
+    public NotificationStatus getStatus() { return status; }
+    
+    public Integer getAttempts() { return attempts; }
+    
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    
+    public String getLastError() { return lastError; }
+    
+    public LocalDateTime getSentAt() { return sentAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
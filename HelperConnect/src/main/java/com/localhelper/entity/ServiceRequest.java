@@ -12,11 +12,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "service_requests")
+@Table(name = "service_requests", indexes = {
+        @Index(name = "idx_service_requests_user_id_status", columnList = "user_id, status"),
+        @Index(name = "idx_service_requests_helper_id_status", columnList = "helper_id, status"),
+        @Index(name = "idx_service_requests_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_service_requests_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_service_requests_service_type_status", columnList = "service_type, status"),
+        @Index(name = "idx_service_requests_scheduled_date", columnList = "scheduled_date")
+})
 public class ServiceRequest {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_requests_seq")
+    @SequenceGenerator(name = "service_requests_seq", sequenceName = "service_requests_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +47,10 @@ public class ServiceRequest {
     @NotBlank(message = "Location is required")
     private String location;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @Column(nullable = false)
     @NotNull(message = "Scheduled date is required")
     private LocalDateTime scheduledDate;
@@ -72,6 +84,11 @@ public class ServiceRequest {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Bumped by every save and by the compare-and-set transitions in ServiceRequestRepository
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     // Relationships
     @OneToMany(mappedBy = "serviceRequest", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Payment> payments;
@@ -115,6 +132,12 @@ public class ServiceRequest {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public LocalDateTime getScheduledDate() { return scheduledDate; }
     public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
     
@@ -145,6 +168,9 @@ public class ServiceRequest {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public List<Payment> getPayments() { return payments; }
     public void setPayments(List<Payment> payments) { this.payments = payments; }
     
@@ -0,0 +1,13 @@
+package com.localhelper.event;
+
+/**
+ * Forwards committed domain events to an external message broker. Called by the relay after
+ * the in-process subscribers and before the event is marked published, so an adapter sees an
+ * event at least once and may see it again after a failure; consumers should deduplicate on
+ * {@link DomainEventMessage#getEventId()}. Implementations throw on any failure and leave
+ * retries to the relay.
+ */
+public interface DomainEventBroker {
+    
+    void publish(DomainEventMessage event) throws Exception;
+}
@@ -0,0 +1,114 @@
+package com.localhelper.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localhelper.entity.DomainEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A committed domain event as handed to in-process subscribers and the broker by
+ * DomainEventRelay. Subscribers run inside the relay's transaction for the event, so their
+ * writes commit together with the event being marked published, or not at all.
+ */
+public class DomainEventMessage {
+
+    public static final String USER_ID = "userId";
+    public static final String HELPER_ID = "helperId";
+    public static final String SERVICE_REQUEST_ID = "serviceRequestId";
+    public static final String PREVIOUS_STATUS = "previousStatus";
+    public static final String STATUS = "status";
+    public static final String AMOUNT = "amount";
+    public static final String PAYMENT_CREATED_AT = "paymentCreatedAt";
+    // Rating the review counted toward its helper before and after the change, null when not counted
+    public static final String PREVIOUS_RATING = "previousRating";
+    public static final String RATING = "rating";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Long eventId;
+    private final DomainEvent.EventType type;
+    private final Long aggregateId;
+    private final LocalDateTime occurredAt;
+    private final String payload;
+    private final Map<String, Object> data;
+
+    public DomainEventMessage(DomainEvent event) {
+        this.eventId = event.getId();
+        this.type = event.getType();
+        this.aggregateId = event.getAggregateId();
+        this.occurredAt = event.getCreatedAt();
+        this.payload = event.getPayload();
+        this.data = Collections.unmodifiableMap(parse(event.getPayload()));
+    }
+
+    public static String toPayload(Map<String, Object> data) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Domain event payload is not serializable", e);
+        }
+    }
+
+    private static Map<String, Object> parse(String payload) {
+        try {
+            return OBJECT_MAPPER.readValue(payload, new TypeReference<LinkedHashMap<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed domain event payload", e);
+        }
+    }
+
+    public Long getEventId() { return eventId; }
+
+    public DomainEvent.EventType getType() { return type; }
+
+    public DomainEvent.AggregateType getAggregateType() { return type.getAggregateType(); }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    public String getPayload() { return payload; }
+
+    public Map<String, Object> getData() { return data; }
+
+    public Long getLong(String key) {
+        Object value = data.get(key);
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    public Integer getInteger(String key) {
+        Object value = data.get(key);
+        return value != null ? ((Number) value).intValue() : null;
+    }
+
+    public String getString(String key) {
+        Object value = data.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    public BigDecimal getDecimal(String key) {
+        String value = getString(key);
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    public LocalDateTime getDateTime(String key) {
+        String value = getString(key);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type) {
+        String value = getString(key);
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[" + aggregateId + "]#" + eventId;
+    }
+}
@@ -0,0 +1,181 @@
+package com.localhelper.event;
+
+import com.localhelper.entity.Complaint;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.repository.DomainEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Durable log of domain events. The {@code record*} methods join the caller's transaction, so
+ * an event exists exactly when the change it describes commits; {@link DomainEventRelay} hands
+ * it to subscribers afterwards, off the request path.
+ */
+@Service
+@Transactional
+public class DomainEventOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventOutbox.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Value("${app.events.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    @Value("${app.events.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${app.events.initial-backoff-ms:1000}")
+    private long initialBackoffMs = 1000;
+
+    @Value("${app.events.max-backoff-ms:600000}")
+    private long maxBackoffMs = 600000;
+
+    @Value("${app.events.retention-hours:168}")
+    private long retentionHours = 168;
+
+    public DomainEvent recordPaymentEvent(DomainEvent.EventType type, Payment payment, Payment.PaymentStatus previousStatus) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        ServiceRequest serviceRequest = payment.getServiceRequest();
+        data.put(DomainEventMessage.SERVICE_REQUEST_ID, serviceRequest != null ? serviceRequest.getId() : null);
+        data.put(DomainEventMessage.USER_ID, serviceRequest != null && serviceRequest.getUser() != null ? serviceRequest.getUser().getId() : null);
+        data.put(DomainEventMessage.HELPER_ID, serviceRequest != null && serviceRequest.getHelper() != null ? serviceRequest.getHelper().getId() : null);
+        data.put(DomainEventMessage.AMOUNT, payment.getAmount() != null ? payment.getAmount().toPlainString() : null);
+        data.put(DomainEventMessage.PAYMENT_CREATED_AT, payment.getCreatedAt() != null ? payment.getCreatedAt().toString() : null);
+        putStatuses(data, previousStatus, payment.getStatus());
+        return record(type, payment.getId(), data);
+    }
+
+    /**
+     * Either rating is null when the review did not, or no longer does, count toward the
+     * helper's rating (created, deleted, hidden, shown).
+     */
+    public DomainEvent recordReviewEvent(DomainEvent.EventType type, Review review, Integer previousRating, Integer rating) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(DomainEventMessage.USER_ID, review.getUser() != null ? review.getUser().getId() : null);
+        data.put(DomainEventMessage.HELPER_ID, review.getHelper() != null ? review.getHelper().getId() : null);
+        data.put(DomainEventMessage.SERVICE_REQUEST_ID, review.getServiceRequest() != null ? review.getServiceRequest().getId() : null);
+        data.put(DomainEventMessage.PREVIOUS_RATING, previousRating);
+        data.put(DomainEventMessage.RATING, rating);
+        return record(type, review.getId(), data);
+    }
+
+    public DomainEvent recordHelperEvent(DomainEvent.EventType type, Helper helper, Helper.HelperStatus previousStatus) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(DomainEventMessage.USER_ID, helper.getUser() != null ? helper.getUser().getId() : null);
+        data.put("serviceType", helper.getServiceType());
+        data.put("kycStatus", helper.getKycStatus() != null ? helper.getKycStatus().name() : null);
+        data.put("available", Boolean.TRUE.equals(helper.getIsAvailable()));
+        putStatuses(data, previousStatus, helper.getStatus());
+        return record(type, helper.getId(), data);
+    }
+
+    public DomainEvent recordServiceRequestEvent(DomainEvent.EventType type, ServiceRequest serviceRequest,
+                                                 ServiceRequest.RequestStatus previousStatus) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(DomainEventMessage.USER_ID, serviceRequest.getUser() != null ? serviceRequest.getUser().getId() : null);
+        data.put(DomainEventMessage.HELPER_ID, serviceRequest.getHelper() != null ? serviceRequest.getHelper().getId() : null);
+        data.put("serviceType", serviceRequest.getServiceType());
+        putStatuses(data, previousStatus, serviceRequest.getStatus());
+        return record(type, serviceRequest.getId(), data);
+    }
+
+    /**
+     * For a deletion pass the complaint's last status as {@code previousStatus}; the event then
+     * carries no current status.
+     */
+    public DomainEvent recordComplaintEvent(DomainEvent.EventType type, Complaint complaint, Complaint.ComplaintStatus previousStatus) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(DomainEventMessage.USER_ID, complaint.getUser() != null ? complaint.getUser().getId() : null);
+        data.put(DomainEventMessage.HELPER_ID, complaint.getHelper() != null ? complaint.getHelper().getId() : null);
+        data.put(DomainEventMessage.SERVICE_REQUEST_ID, complaint.getServiceRequest() != null ? complaint.getServiceRequest().getId() : null);
+        data.put("priority", complaint.getPriority() != null ? complaint.getPriority().name() : null);
+        putStatuses(data, previousStatus, type.getChange() == DomainEvent.Change.DELETED ? null : complaint.getStatus());
+        return record(type, complaint.getId(), data);
+    }
+
+    private DomainEvent record(DomainEvent.EventType type, Long aggregateId, Map<String, Object> data) {
+        return domainEventRepository.save(new DomainEvent(type, aggregateId, DomainEventMessage.toPayload(data)));
+    }
+
+    private static void putStatuses(Map<String, Object> data, Enum<?> previousStatus, Enum<?> status) {
+        data.put(DomainEventMessage.PREVIOUS_STATUS, previousStatus != null ? previousStatus.name() : null);
+        data.put(DomainEventMessage.STATUS, status != null ? status.name() : null);
+    }
+
+    /**
+     * Leases up to {@code limit} due events, oldest first. A lease that is not settled runs out
+     * after {@code app.events.lease-ms} and the event is relayed again.
+     */
+    public List<DomainEvent> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        List<Long> claimed = domainEventRepository.findDueIds(now, PageRequest.of(0, limit)).stream()
+                .filter(id -> domainEventRepository.claim(id, now, leaseUntil) == 1)
+                .collect(Collectors.toList());
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        return domainEventRepository.findAllById(claimed).stream()
+                .sorted(Comparator.comparing(DomainEvent::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns false when the lease taken for this attempt was lost, in which case the caller
+     * must roll back whatever it did for the event.
+     */
+    public boolean markPublished(DomainEvent event) {
+        return domainEventRepository.markPublished(event.getId(), event.getAttempts(), LocalDateTime.now()) == 1;
+    }
+
+    public void markFailed(DomainEvent event, String error) {
+        String trimmedError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (event.getAttempts() >= maxAttempts) {
+            domainEventRepository.markFailed(event.getId(), trimmedError);
+            logger.error("Giving up on domain event {} ID: {} after {} attempts: {}",
+                    event.getType(), event.getId(), event.getAttempts(), trimmedError);
+            return;
+        }
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(event.getAttempts() - 1, 30));
+        domainEventRepository.scheduleRetry(event.getId(), LocalDateTime.now().plus(Duration.ofMillis(backoffMs)), trimmedError);
+        logger.warn("Domain event {} ID: {} failed on attempt {}, retrying in {} ms: {}",
+                event.getType(), event.getId(), event.getAttempts(), backoffMs, trimmedError);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return domainEventRepository.countByStatus(DomainEvent.PublishStatus.PENDING);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.purge-interval-ms:3600000}",
+               initialDelayString = "${app.events.purge-interval-ms:3600000}")
+    public int purgePublished() {
+        int purged = domainEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} published domain events older than {} hours", purged, retentionHours);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,143 @@
+package com.localhelper.event;
+
+import com.localhelper.entity.DomainEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@link DomainEventOutbox} on its own thread. Each event gets its own transaction:
+ * it is published as a {@link DomainEventMessage} to in-process {@code @EventListener}s, which
+ * join that transaction, then passed to the {@link DomainEventBroker}, then marked published.
+ * A failure anywhere rolls all of it back and the event is retried with backoff, so a
+ * subscriber's database writes are applied once per event. Events are relayed oldest first,
+ * but one waiting on a retry does not hold back later events.
+ */
+@Component
+public class DomainEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventRelay.class);
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private DomainEventBroker broker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.relay.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.events.poll-interval-ms:500}")
+    private long pollIntervalMs = 500;
+
+    @Value("${app.events.batch-size:100}")
+    private int batchSize = 100;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService executor;
+    private Timer relayDelay;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (meterRegistry != null) {
+            Gauge.builder("events.outbox.depth", backlog, AtomicLong::get)
+                    .description("Domain events waiting to be relayed")
+                    .register(meterRegistry);
+            relayDelay = Timer.builder("events.relay.delay")
+                    .description("Time from commit of a domain event to its publication")
+                    .register(meterRegistry);
+        }
+        if (enabled) {
+            executor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "domain-event-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    private void drain() {
+        try {
+            int leased;
+            do {
+                leased = relayBatch();
+            } while (leased == batchSize && !Thread.currentThread().isInterrupted());
+            backlog.set(domainEventOutbox.countPending());
+        } catch (RuntimeException e) {
+            // Escaping exceptions would cancel the scheduled task
+            logger.error("Domain event relay failed, retrying next poll", e);
+        }
+    }
+
+    /**
+     * Leases and relays one batch. Returns how many events were leased.
+     */
+    public int relayBatch() {
+        List<DomainEvent> batch = domainEventOutbox.claimDue(batchSize);
+        for (DomainEvent event : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> publish(event));
+                if (relayDelay != null && event.getCreatedAt() != null) {
+                    relayDelay.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                }
+            } catch (RuntimeException e) {
+                domainEventOutbox.markFailed(event, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        return batch.size();
+    }
+
+    private void publish(DomainEvent event) {
+        DomainEventMessage message = new DomainEventMessage(event);
+        eventPublisher.publishEvent(message);
+        try {
+            broker.publish(message);
+        } catch (Exception e) {
+            throw new IllegalStateException("Broker rejected " + message + ": " + e.getMessage(), e);
+        }
+        if (!domainEventOutbox.markPublished(event)) {
+            throw new IllegalStateException("Lease on " + message + " expired before it was published");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.localhelper.event;
+
+import com.localhelper.entity.Helper;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by HelperService whenever a helper profile, status or availability changes.
+ * Carries an immutable snapshot so listeners running after commit never touch the entity.
+ */
+public class HelperChangedEvent {
+
+    private final Long helperId;
+    private final String serviceType;
+    private final String description;
+    private final Double latitude;
+    private final Double longitude;
+    private final BigDecimal hourlyRate;
+    private final BigDecimal rating;
+    private final Integer totalReviews;
+    private final Helper.HelperStatus status;
+    private final boolean available;
+
+    public HelperChangedEvent(Helper helper) {
+        this.helperId = helper.getId();
+        this.serviceType = helper.getServiceType();
+        this.description = helper.getDescription();
+        this.latitude = helper.getLatitude();
+        this.longitude = helper.getLongitude();
+        this.hourlyRate = helper.getHourlyRate();
+        this.rating = helper.getRating();
+        this.totalReviews = helper.getTotalReviews();
+        this.status = helper.getStatus();
+        this.available = Boolean.TRUE.equals(helper.getIsAvailable());
+    }
+
+    public Long getHelperId() { return helperId; }
+
+    public String getServiceType() { return serviceType; }
+
+    public String getDescription() { return description; }
+
+    public Double getLatitude() { return latitude; }
+
+    public Double getLongitude() { return longitude; }
+
+    public BigDecimal getHourlyRate() { return hourlyRate; }
+
+    public BigDecimal getRating() { return rating; }
+
+    public Integer getTotalReviews() { return totalReviews; }
+
+    public Helper.HelperStatus getStatus() { return status; }
+
+    public boolean isAvailable() { return available; }
+
+    public boolean isSearchable() {
+        return status == Helper.HelperStatus.APPROVED && available;
+    }
+}
@@ -0,0 +1,22 @@
+package com.localhelper.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default adapter while no external broker is configured: only in-process subscribers receive
+ * events, and each one is logged at debug level.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.broker", havingValue = "log", matchIfMissing = true)
+public class LogDomainEventBroker implements DomainEventBroker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LogDomainEventBroker.class);
+    
+    @Override
+    public void publish(DomainEventMessage event) {
+        logger.debug("Domain event {}: {}", event, event.getPayload());
+    }
+}
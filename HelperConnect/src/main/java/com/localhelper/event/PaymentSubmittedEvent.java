@@ -0,0 +1,16 @@
+package com.localhelper.event;
+
+/**
+ * Published by PaymentService once a payment has been moved to PROCESSING and is ready
+ * to be charged through the gateway.
+ */
+public class PaymentSubmittedEvent {
+
+    private final Long paymentId;
+
+    public PaymentSubmittedEvent(Long paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public Long getPaymentId() { return paymentId; }
+}
@@ -0,0 +1,69 @@
+package com.localhelper.event;
+
+import com.localhelper.entity.ServiceRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by ServiceRequestService when a service request is created or changes status.
+ * {@code previousStatus} is null for a newly created request.
+ */
+public class ServiceRequestChangedEvent {
+
+    private final Long requestId;
+    private final Long userId;
+    private final Long helperId;
+    private final String serviceType;
+    private final String location;
+    private final Double latitude;
+    private final Double longitude;
+    private final LocalDateTime scheduledDate;
+    private final BigDecimal durationHours;
+    private final BigDecimal budget;
+    private final ServiceRequest.RequestStatus previousStatus;
+    private final ServiceRequest.RequestStatus status;
+
+    public ServiceRequestChangedEvent(ServiceRequest serviceRequest, ServiceRequest.RequestStatus previousStatus) {
+        this.requestId = serviceRequest.getId();
+        this.userId = serviceRequest.getUser() != null ? serviceRequest.getUser().getId() : null;
+        this.helperId = serviceRequest.getHelper() != null ? serviceRequest.getHelper().getId() : null;
+        this.serviceType = serviceRequest.getServiceType();
+        this.location = serviceRequest.getLocation();
+        this.latitude = serviceRequest.getLatitude();
+        this.longitude = serviceRequest.getLongitude();
+        this.scheduledDate = serviceRequest.getScheduledDate();
+        this.durationHours = serviceRequest.getDurationHours();
+        this.budget = serviceRequest.getBudget();
+        this.previousStatus = previousStatus;
+        this.status = serviceRequest.getStatus();
+    }
+
+    public Long getRequestId() { return requestId; }
+
+    public Long getUserId() { return userId; }
+
+    public Long getHelperId() { return helperId; }
+
+    public String getServiceType() { return serviceType; }
+
+    public String getLocation() { return location; }
+
+    public Double getLatitude() { return latitude; }
+
+    public Double getLongitude() { return longitude; }
+
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+
+    public BigDecimal getDurationHours() { return durationHours; }
+
+    public BigDecimal getBudget() { return budget; }
+
+    public ServiceRequest.RequestStatus getPreviousStatus() { return previousStatus; }
+
+    public ServiceRequest.RequestStatus getStatus() { return status; }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.localhelper.exception;
+
+/**
+ * Thrown when a write loses a race: the row changed between being read and being updated,
+ * or is no longer in the state the operation requires. Mapped to HTTP 409.
+ */
+public class ConflictException extends BusinessException {
+    
+    public ConflictException(String errorCode, String message) {
+        super(errorCode, message);
+    }
+}
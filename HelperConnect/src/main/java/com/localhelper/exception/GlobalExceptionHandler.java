@@ -3,6 +3,7 @@ package com.localhelper.exception;
 import com.localhelper.dto.response.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -39,7 +40,7 @@ public class GlobalExceptionHandler {
             return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
         }
         
-        if (ex instanceof DuplicateResourceException) {
+        if (ex instanceof DuplicateResourceException || ex instanceof ConflictException) {
             return new ResponseEntity<>(response, HttpStatus.CONFLICT);
         }
         
@@ -50,6 +51,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
     
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("Optimistic locking failure: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error("The resource was modified by another request. Please reload and try again");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         logger.error("Validation exception: {}", ex.getMessage());
@@ -0,0 +1,93 @@
+package com.localhelper.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes one export row at a time in the requested format. Nothing is buffered beyond the
+ * underlying writer, so memory use does not depend on how many rows are written.
+ */
+class ExportRowWriter implements Closeable, Flushable {
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final List<String> columns;
+    private final JsonGenerator generator;
+
+    ExportRowWriter(ExportFormat format, Writer writer, ObjectMapper objectMapper, List<String> columns) throws IOException {
+        this.format = format;
+        this.writer = writer;
+        this.columns = columns;
+        if (format == ExportFormat.NDJSON) {
+            this.generator = objectMapper.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        } else {
+            this.generator = null;
+            writeCsvLine(columns.toArray());
+        }
+    }
+
+    void writeRow(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+        if (format == ExportFormat.NDJSON) {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } else {
+            writeCsvLine(values);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
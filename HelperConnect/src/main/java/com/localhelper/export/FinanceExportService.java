@@ -0,0 +1,147 @@
+package com.localhelper.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.repository.PaymentRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams payments and service requests for a date range straight to an output stream.
+ * Rows are read through a forward-only JDBC cursor and the persistence context is cleared
+ * every {@code app.export.clear-interval} rows, so heap use stays flat regardless of range size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FinanceExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinanceExportService.class);
+
+    static final List<String> PAYMENT_COLUMNS = List.of(
+            "id", "serviceRequestId", "amount", "paymentMethod", "status", "transactionId",
+            "paymentReference", "failureReason", "processedAt", "createdAt", "updatedAt");
+
+    static final List<String> SERVICE_REQUEST_COLUMNS = List.of(
+            "id", "userId", "helperId", "serviceType", "location", "scheduledDate", "durationHours",
+            "budget", "status", "isCompleted", "completedAt", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.clear-interval:1000}")
+    private int clearInterval = 1000;
+
+    @Value("${app.export.buffer-size:65536}")
+    private int bufferSize = 65536;
+
+    public void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("INVALID_DATE_RANGE", "Start date must not be after end date");
+        }
+    }
+
+    public long exportPayments(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                               OutputStream outputStream) throws IOException {
+        validateRange(startDate, endDate);
+
+        long rows = 0;
+        try (Stream<Payment> payments = paymentRepository.streamByCreatedAtBetween(startDate, endDate);
+             ExportRowWriter writer = openWriter(format, outputStream, PAYMENT_COLUMNS)) {
+            Iterator<Payment> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                Payment payment = iterator.next();
+                writer.writeRow(
+                        payment.getId(),
+                        payment.getServiceRequest().getId(),
+                        payment.getAmount(),
+                        payment.getPaymentMethod(),
+                        payment.getStatus(),
+                        payment.getTransactionId(),
+                        payment.getPaymentReference(),
+                        payment.getFailureReason(),
+                        payment.getProcessedAt(),
+                        payment.getCreatedAt(),
+                        payment.getUpdatedAt());
+                rows = advance(rows, writer);
+            }
+        }
+
+        logger.info("Exported {} payments created between {} and {} as {}", rows, startDate, endDate, format);
+        return rows;
+    }
+
+    public long exportServiceRequests(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                      OutputStream outputStream) throws IOException {
+        validateRange(startDate, endDate);
+
+        long rows = 0;
+        try (Stream<ServiceRequest> serviceRequests = serviceRequestRepository.streamByCreatedAtBetween(startDate, endDate);
+             ExportRowWriter writer = openWriter(format, outputStream, SERVICE_REQUEST_COLUMNS)) {
+            Iterator<ServiceRequest> iterator = serviceRequests.iterator();
+            while (iterator.hasNext()) {
+                ServiceRequest serviceRequest = iterator.next();
+                writer.writeRow(
+                        serviceRequest.getId(),
+                        serviceRequest.getUser().getId(),
+                        serviceRequest.getHelper() != null ? serviceRequest.getHelper().getId() : null,
+                        serviceRequest.getServiceType(),
+                        serviceRequest.getLocation(),
+                        serviceRequest.getScheduledDate(),
+                        serviceRequest.getDurationHours(),
+                        serviceRequest.getBudget(),
+                        serviceRequest.getStatus(),
+                        serviceRequest.getIsCompleted(),
+                        serviceRequest.getCompletedAt(),
+                        serviceRequest.getCreatedAt(),
+                        serviceRequest.getUpdatedAt());
+                rows = advance(rows, writer);
+            }
+        }
+
+        logger.info("Exported {} service requests created between {} and {} as {}", rows, startDate, endDate, format);
+        return rows;
+    }
+
+    private ExportRowWriter openWriter(ExportFormat format, OutputStream outputStream, List<String> columns) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+        return new ExportRowWriter(format, writer, objectMapper, columns);
+    }
+
+    private long advance(long rows, ExportRowWriter writer) throws IOException {
+        long written = rows + 1;
+        if (written % clearInterval == 0) {
+            // Push the batch to the client and drop the exported entities from the session
+            writer.flush();
+            entityManager.clear();
+        }
+        return written;
+    }
+}
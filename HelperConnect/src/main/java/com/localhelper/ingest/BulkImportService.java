@@ -0,0 +1,450 @@
+package com.localhelper.ingest;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localhelper.dispatch.DispatchEngine;
+import com.localhelper.dto.response.BulkImportResponse;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.export.ExportFormat;
+import com.localhelper.ingest.ImportRowReader.ImportRow;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams users, helpers and historical service requests from CSV or NDJSON into the database.
+ * Rows are validated as they are read and written in JDBC batches of {@code app.import.batch-size},
+ * each batch in its own transaction, so the file is never held in memory; only the usernames and
+ * emails seen so far are kept, to reject duplicates within the file. A row that fails
+ * validation, a lookup or a constraint is reported with its row number and the rest are still
+ * written. A batch rejected by the database is retried one row at a time to find the bad rows.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    // Not a BCrypt hash, so it never matches; the account needs a password reset before first login
+    static final String LOCKED_PASSWORD = "!";
+
+    // The allocationSize of the entity sequence generators; blocks are taken the same way
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT_USER = "insert into users (id, username, email, password, full_name, phone, address, "
+            + "role, is_active, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HELPER = "insert into helpers (id, user_id, service_type, description, hourly_rate, "
+            + "experience, latitude, longitude, kyc_document_type, kyc_document_number, kyc_document_url, kyc_status, "
+            + "status, is_available, rating, total_reviews, total_earnings, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?)";
+
+    private static final String INSERT_SERVICE_REQUEST = "insert into service_requests (id, user_id, helper_id, service_type, "
+            + "description, location, latitude, longitude, scheduled_date, duration_hours, budget, status, notes, "
+            + "is_completed, completed_at, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HelperSearchIndex helperSearchIndex;
+
+    @Autowired
+    private HelperGeoIndex helperGeoIndex;
+
+    @Autowired
+    private AvailableHelperRanking availableHelperRanking;
+
+    @Autowired
+    private DispatchEngine dispatchEngine;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkImportResponse importUsers(ExportFormat format, InputStream inputStream) throws IOException {
+        return run("users", format, inputStream, UserImportRow.class, new UserWriter<>(false));
+    }
+
+    public BulkImportResponse importHelpers(ExportFormat format, InputStream inputStream) throws IOException {
+        BulkImportResponse response = run("helpers", format, inputStream, HelperImportRow.class, new UserWriter<>(true));
+        if (response.getImported() > 0) {
+            // Rows written over JDBC bypass the second-level cache and the helper change events
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(HelperRepository.HELPER_BY_USER_CACHE_REGION);
+            helperSearchIndex.rebuild();
+            helperGeoIndex.rebuild();
+            availableHelperRanking.rebuild();
+            dispatchEngine.rebuild();
+        }
+        return response;
+    }
+
+    public BulkImportResponse importServiceRequests(ExportFormat format, InputStream inputStream) throws IOException {
+        return run("service requests", format, inputStream, ServiceRequestImportRow.class, new ServiceRequestWriter());
+    }
+
+    private <T> BulkImportResponse run(String kind, ExportFormat format, InputStream inputStream, Class<T> rowType,
+                                       RowWriter<T> writer) throws IOException {
+        BulkImportResponse response = new BulkImportResponse();
+        List<ParsedRow<T>> batch = new ArrayList<>(batchSize);
+        try (ImportRowReader reader = new ImportRowReader(format,
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8), objectMapper)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                response.setRowsRead(response.getRowsRead() + 1);
+                ParsedRow<T> parsed = parse(row, rowType, response);
+                if (parsed == null) {
+                    continue;
+                }
+                String error = writer.check(parsed.value);
+                if (error != null) {
+                    fail(response, parsed.number, error);
+                    continue;
+                }
+                batch.add(parsed);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, writer, response);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, writer, response);
+        }
+        // Rows failed by a batch are reported after rows failed as they were read
+        response.getErrors().sort(Comparator.comparingLong(BulkImportResponse.RowError::getRow));
+
+        logger.info("Imported {} of {} {} rows, {} failed", response.getImported(), response.getRowsRead(), kind, response.getFailed());
+        return response;
+    }
+
+    private <T> ParsedRow<T> parse(ImportRow row, Class<T> rowType, BulkImportResponse response) {
+        if (row.getError() != null) {
+            fail(response, row.getNumber(), row.getError());
+            return null;
+        }
+        T value;
+        try {
+            value = objectMapper.convertValue(row.getValues(), rowType);
+        } catch (IllegalArgumentException e) {
+            String message = e.getCause() instanceof JsonMappingException
+                    ? ((JsonMappingException) e.getCause()).getOriginalMessage() : e.getMessage();
+            fail(response, row.getNumber(), "Invalid value: " + message);
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            fail(response, row.getNumber(), violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new ParsedRow<>(row.getNumber(), value);
+    }
+
+    private <T> void writeBatch(List<ParsedRow<T>> batch, RowWriter<T> writer, BulkImportResponse response) {
+        List<ParsedRow<T>> writable = writer.resolve(batch, response);
+        if (writable.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.write(writable));
+            response.setImported(response.getImported() + writable.size());
+        } catch (DataAccessException e) {
+            logger.warn("Import batch of {} rows rejected, retrying row by row: {}", writable.size(), describe(e));
+            for (ParsedRow<T> row : writable) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writer.write(List.of(row)));
+                    response.setImported(response.getImported() + 1);
+                } catch (DataAccessException rowException) {
+                    fail(response, row.number, describe(rowException));
+                }
+            }
+        }
+    }
+
+    private void fail(BulkImportResponse response, long rowNumber, String message) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new BulkImportResponse.RowError(rowNumber, message));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    private static String describe(DataAccessException e) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        int lineEnd = message.indexOf('\n');
+        message = lineEnd >= 0 ? message.substring(0, lineEnd) : message;
+        return message.length() > 300 ? message.substring(0, 300) : message;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private interface RowWriter<T> {
+
+        /**
+         * Checks a row against the rows read before it, returning the error or {@code null}.
+         */
+        String check(T row);
+
+        /**
+         * Checks a batch against the database just before it is written, failing the rows that
+         * cannot be written and returning the rest.
+         */
+        List<ParsedRow<T>> resolve(List<ParsedRow<T>> rows, BulkImportResponse response);
+
+        void write(List<ParsedRow<T>> rows);
+    }
+
+    private static final class ParsedRow<T> {
+
+        private final long number;
+        private final T value;
+        // Account rows only; hashed once per row so a retried batch does not hash again
+        private String passwordHash;
+        // Service request rows only; looked up by username when the batch is resolved
+        private Long userId;
+        private Long helperId;
+
+        private ParsedRow(long number, T value) {
+            this.number = number;
+            this.value = value;
+        }
+    }
+
+    private final class UserWriter<T extends UserImportRow> implements RowWriter<T> {
+
+        private final boolean helpers;
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final SequenceIds userIds = new SequenceIds("users_seq");
+        private final SequenceIds helperIds = new SequenceIds("helpers_seq");
+
+        private UserWriter(boolean helpers) {
+            this.helpers = helpers;
+        }
+
+        @Override
+        public String check(T row) {
+            if (helpers) {
+                row.setRole(User.Role.HELPER);
+            } else if (row.getRole() == User.Role.ADMIN) {
+                return "Admin accounts cannot be imported";
+            }
+            if (!usernames.add(row.getUsername())) {
+                return "Username appears more than once in the import";
+            }
+            if (!emails.add(row.getEmail())) {
+                return "Email address appears more than once in the import";
+            }
+            return null;
+        }
+
+        @Override
+        public List<ParsedRow<T>> resolve(List<ParsedRow<T>> rows, BulkImportResponse response) {
+            Set<String> takenUsernames = new HashSet<>();
+            Set<String> takenEmails = new HashSet<>();
+            namedParameterJdbcTemplate.query("select username, email from users where username in (:usernames) or email in (:emails)",
+                    Map.of("usernames", rows.stream().map(row -> row.value.getUsername()).collect(Collectors.toList()),
+                            "emails", rows.stream().map(row -> row.value.getEmail()).collect(Collectors.toList())),
+                    rs -> {
+                        takenUsernames.add(rs.getString("username"));
+                        takenEmails.add(rs.getString("email"));
+                    });
+
+            List<ParsedRow<T>> writable = new ArrayList<>(rows.size());
+            for (ParsedRow<T> row : rows) {
+                if (takenUsernames.contains(row.value.getUsername())) {
+                    fail(response, row.number, "Username is already taken!");
+                } else if (takenEmails.contains(row.value.getEmail())) {
+                    fail(response, row.number, "Email address is already in use!");
+                } else {
+                    writable.add(row);
+                }
+            }
+            // BCrypt dominates the cost of an account row, so a batch is hashed on all cores
+            writable.parallelStream().forEach(row -> row.passwordHash = row.value.getPassword() != null
+                    ? passwordEncoder.encode(row.value.getPassword()) : LOCKED_PASSWORD);
+            return writable;
+        }
+
+        @Override
+        public void write(List<ParsedRow<T>> rows) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> users = new ArrayList<>(rows.size());
+            List<Object[]> helperRows = new ArrayList<>(helpers ? rows.size() : 0);
+            for (ParsedRow<T> row : rows) {
+                T user = row.value;
+                long userId = userIds.next();
+                users.add(new Object[]{userId, user.getUsername(), user.getEmail(), row.passwordHash, user.getFullName(),
+                        user.getPhone(), user.getAddress(), user.getRole().name(), user.getIsActive() == null || user.getIsActive(),
+                        timestamp(now), timestamp(now)});
+                if (helpers) {
+                    HelperImportRow helper = (HelperImportRow) user;
+                    helperRows.add(new Object[]{helperIds.next(), userId, helper.getServiceType(), helper.getDescription(),
+                            helper.getHourlyRate(), helper.getExperience(), helper.getLatitude(), helper.getLongitude(),
+                            helper.getKycDocumentType(), helper.getKycDocumentNumber(), helper.getKycDocumentUrl(),
+                            helper.getKycStatus().name(), helper.getStatus().name(),
+                            helper.getIsAvailable() == null || helper.getIsAvailable(), timestamp(now), timestamp(now)});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+            if (helpers) {
+                jdbcTemplate.batchUpdate(INSERT_HELPER, helperRows);
+            }
+        }
+    }
+
+    private final class ServiceRequestWriter implements RowWriter<ServiceRequestImportRow> {
+
+        private final SequenceIds requestIds = new SequenceIds("service_requests_seq");
+
+        @Override
+        public String check(ServiceRequestImportRow row) {
+            if (row.getHelperUsername() == null && row.getStatus() != ServiceRequest.RequestStatus.PENDING
+                    && row.getStatus() != ServiceRequest.RequestStatus.CANCELLED) {
+                return "A helper username is required for " + row.getStatus() + " requests";
+            }
+            return null;
+        }
+
+        @Override
+        public List<ParsedRow<ServiceRequestImportRow>> resolve(List<ParsedRow<ServiceRequestImportRow>> rows,
+                                                               BulkImportResponse response) {
+            Map<String, Long> userIds = new HashMap<>();
+            namedParameterJdbcTemplate.query("select id, username from users where username in (:usernames)",
+                    Map.of("usernames", rows.stream().map(row -> row.value.getUsername()).collect(Collectors.toSet())),
+                    rs -> {
+                        userIds.put(rs.getString("username"), rs.getLong("id"));
+                    });
+            Map<String, Long> helperIds = new HashMap<>();
+            Set<String> helperUsernames = rows.stream().map(row -> row.value.getHelperUsername())
+                    .filter(username -> username != null).collect(Collectors.toSet());
+            if (!helperUsernames.isEmpty()) {
+                namedParameterJdbcTemplate.query("select h.id, u.username from helpers h join users u on u.id = h.user_id "
+                                + "where u.username in (:usernames)", Map.of("usernames", helperUsernames),
+                        rs -> {
+                            helperIds.put(rs.getString("username"), rs.getLong("id"));
+                        });
+            }
+
+            List<ParsedRow<ServiceRequestImportRow>> writable = new ArrayList<>(rows.size());
+            for (ParsedRow<ServiceRequestImportRow> row : rows) {
+                ServiceRequestImportRow request = row.value;
+                if (!userIds.containsKey(request.getUsername())) {
+                    fail(response, row.number, "Unknown user: " + request.getUsername());
+                } else if (request.getHelperUsername() != null && !helperIds.containsKey(request.getHelperUsername())) {
+                    fail(response, row.number, "Unknown helper: " + request.getHelperUsername());
+                } else {
+                    row.userId = userIds.get(request.getUsername());
+                    row.helperId = helperIds.get(request.getHelperUsername());
+                    writable.add(row);
+                }
+            }
+            return writable;
+        }
+
+        @Override
+        public void write(List<ParsedRow<ServiceRequestImportRow>> rows) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> requests = new ArrayList<>(rows.size());
+            for (ParsedRow<ServiceRequestImportRow> parsed : rows) {
+                ServiceRequestImportRow row = parsed.value;
+                boolean completed = row.getStatus() == ServiceRequest.RequestStatus.COMPLETED;
+                // Historical completions without a time are taken to finish when scheduled
+                LocalDateTime completedAt = completed && row.getCompletedAt() == null ? row.getScheduledDate() : row.getCompletedAt();
+                requests.add(new Object[]{requestIds.next(), parsed.userId, parsed.helperId, row.getServiceType(), row.getDescription(),
+                        row.getLocation(), row.getLatitude(), row.getLongitude(), timestamp(row.getScheduledDate()),
+                        row.getDurationHours(), row.getBudget(), row.getStatus().name(), row.getNotes(), completed,
+                        timestamp(completedAt), timestamp(row.getCreatedAt() != null ? row.getCreatedAt() : now), timestamp(now)});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SERVICE_REQUEST, requests);
+        }
+    }
+
+    /**
+     * Takes ids from a sequence in blocks starting at the value it returns, as Hibernate's
+     * pooled-lo optimizer does, so imported rows never reuse an id the application hands out.
+     */
+    private final class SequenceIds {
+
+        private final String nextValueQuery;
+        private long next;
+        private long limit;
+
+        private SequenceIds(String sequence) {
+            this.nextValueQuery = "select nextval('" + sequence + "')";
+        }
+
+        private long next() {
+            if (next == limit) {
+                next = jdbcTemplate.queryForObject(nextValueQuery, Long.class);
+                limit = next + ID_BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
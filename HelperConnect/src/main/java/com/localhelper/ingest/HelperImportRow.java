@@ -0,0 +1,90 @@
+package com.localhelper.ingest;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.localhelper.entity.Helper;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * A helper together with the account it signs in with, which is created with the HELPER role.
+ */
+public class HelperImportRow extends UserImportRow {
+
+    @NotBlank(message = "Service type is required")
+    private String serviceType;
+
+    private String description;
+
+    @NotNull(message = "Hourly rate is required")
+    @DecimalMin(value = "0.0", message = "Hourly rate must be positive")
+    private BigDecimal hourlyRate;
+
+    private String experience;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    @NotBlank(message = "KYC document type is required")
+    private String kycDocumentType;
+
+    @NotBlank(message = "KYC document number is required")
+    private String kycDocumentNumber;
+
+    @NotBlank(message = "KYC document URL is required")
+    private String kycDocumentUrl;
+
+    @JsonSetter(nulls = Nulls.SKIP)
+    private Helper.KycStatus kycStatus = Helper.KycStatus.PENDING;
+
+    @JsonSetter(nulls = Nulls.SKIP)
+    private Helper.HelperStatus status = Helper.HelperStatus.PENDING;
+
+    @JsonSetter(nulls = Nulls.SKIP)
+    private Boolean isAvailable = true;
+
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getHourlyRate() { return hourlyRate; }
+    public void setHourlyRate(BigDecimal hourlyRate) { this.hourlyRate = hourlyRate; }
+
+    public String getExperience() { return experience; }
+    public void setExperience(String experience) { this.experience = experience; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public String getKycDocumentType() { return kycDocumentType; }
+    public void setKycDocumentType(String kycDocumentType) { this.kycDocumentType = kycDocumentType; }
+
+    public String getKycDocumentNumber() { return kycDocumentNumber; }
+    public void setKycDocumentNumber(String kycDocumentNumber) { this.kycDocumentNumber = kycDocumentNumber; }
+
+    public String getKycDocumentUrl() { return kycDocumentUrl; }
+    public void setKycDocumentUrl(String kycDocumentUrl) { this.kycDocumentUrl = kycDocumentUrl; }
+
+    public Helper.KycStatus getKycStatus() { return kycStatus; }
+    public void setKycStatus(Helper.KycStatus kycStatus) { this.kycStatus = kycStatus; }
+
+    public Helper.HelperStatus getStatus() { return status; }
+    public void setStatus(Helper.HelperStatus status) { this.status = status; }
+
+    public Boolean getIsAvailable() { return isAvailable; }
+    public void setIsAvailable(Boolean isAvailable) { this.isAvailable = isAvailable; }
+}
@@ -0,0 +1,156 @@
+package com.localhelper.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localhelper.export.ExportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time, in the CSV (header line, RFC 4180 quoting) and NDJSON
+ * layouts written by the exports. A row that cannot be parsed is returned with an error rather
+ * than ending the stream, so the rows after it are still imported.
+ */
+class ImportRowReader implements Closeable {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    private final ExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long rowNumber = 0;
+
+    ImportRowReader(ExportFormat format, Reader reader, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next row, or {@code null} at the end of the stream.
+     */
+    ImportRow next() throws IOException {
+        return format == ExportFormat.NDJSON ? nextJsonRow() : nextCsvRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow nextJsonRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        rowNumber++;
+        try {
+            return new ImportRow(rowNumber, objectMapper.readValue(line, ROW_TYPE), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(rowNumber, Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow nextCsvRow() throws IOException {
+        if (header == null) {
+            header = readCsvRecord();
+            if (header == null) {
+                return null;
+            }
+            header.replaceAll(String::trim);
+        }
+
+        List<String> record;
+        do {
+            record = readCsvRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        rowNumber++;
+        if (record.size() != header.size()) {
+            return new ImportRow(rowNumber, Map.of(),
+                    "Expected " + header.size() + " columns but found " + record.size());
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i);
+            values.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return new ImportRow(rowNumber, values, null);
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static final class ImportRow {
+
+        private final long number;
+        private final Map<String, Object> values;
+        private final String error;
+
+        ImportRow(long number, Map<String, Object> values, String error) {
+            this.number = number;
+            this.values = values;
+            this.error = error;
+        }
+
+        long getNumber() { return number; }
+
+        Map<String, Object> getValues() { return values; }
+
+        String getError() { return error; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.localhelper.ingest;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.localhelper.entity.ServiceRequest;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A historical service request. The requester and the optional helper are given by username, so
+ * rows can be prepared without knowing the ids the accounts were imported under.
+ */
+public class ServiceRequestImportRow {
+
+    @NotBlank(message = "Username is required")
+    private String username;
+
+    private String helperUsername;
+
+    @NotBlank(message = "Service type is required")
+    private String serviceType;
+
+    private String description;
+
+    @NotBlank(message = "Location is required")
+    private String location;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    @NotNull(message = "Scheduled date is required")
+    private LocalDateTime scheduledDate;
+
+    @DecimalMin(value = "0.0", message = "Duration must be positive")
+    private BigDecimal durationHours;
+
+    @DecimalMin(value = "0.0", message = "Budget must be positive")
+    private BigDecimal budget;
+
+    @JsonSetter(nulls = Nulls.SKIP)
+    private ServiceRequest.RequestStatus status = ServiceRequest.RequestStatus.COMPLETED;
+    private String notes;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getHelperUsername() { return helperUsername; }
+    public void setHelperUsername(String helperUsername) { this.helperUsername = helperUsername; }
+
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+    public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
+
+    public BigDecimal getDurationHours() { return durationHours; }
+    public void setDurationHours(BigDecimal durationHours) { this.durationHours = durationHours; }
+
+    public BigDecimal getBudget() { return budget; }
+    public void setBudget(BigDecimal budget) { this.budget = budget; }
+
+    public ServiceRequest.RequestStatus getStatus() { return status; }
+    public void setStatus(ServiceRequest.RequestStatus status) { this.status = status; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,21 @@
+package com.localhelper.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default transport until a mail server is configured: records each email in the log.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.transport", havingValue = "log", matchIfMissing = true)
+public class LogNotificationTransport implements NotificationTransport {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LogNotificationTransport.class);
+    
+    @Override
+    public void send(String recipient, String subject, String body) {
+        logger.info("Email to {}: {}", recipient, subject);
+    }
+}
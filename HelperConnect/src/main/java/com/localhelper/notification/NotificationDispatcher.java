@@ -0,0 +1,151 @@
+package com.localhelper.notification;
+
+import com.localhelper.entity.Notification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@link NotificationOutbox} on its own thread. Due notifications are leased in
+ * batches of {@code app.notifications.batch-size} and handed to the {@link NotificationTransport}
+ * no faster than {@code app.notifications.rate-per-second}; failures are retried with backoff.
+ * Publishes the pending queue depth and per-send latency to the meter registry.
+ */
+@Component
+public class NotificationDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+    
+    @Autowired
+    private NotificationTransport transport;
+    
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.notifications.dispatcher.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.notifications.poll-interval-ms:1000}")
+    private long pollIntervalMs = 1000;
+    
+    @Value("${app.notifications.batch-size:50}")
+    private int batchSize = 50;
+    
+    @Value("${app.notifications.rate-per-second:10}")
+    private double ratePerSecond = 10;
+    
+    private final AtomicLong queueDepth = new AtomicLong();
+    private ScheduledExecutorService executor;
+    private Timer sentTimer;
+    private Timer failedTimer;
+    private Timer deliveryDelay;
+    private long nextSendNanos = System.nanoTime();
+    
+    @PostConstruct
+    public void start() {
+        if (meterRegistry != null) {
+            Gauge.builder("notifications.outbox.depth", queueDepth, AtomicLong::get)
+                    .description("Notifications waiting to be sent")
+                    .register(meterRegistry);
+            sentTimer = Timer.builder("notifications.send.latency").tag("outcome", "sent").register(meterRegistry);
+            failedTimer = Timer.builder("notifications.send.latency").tag("outcome", "failed").register(meterRegistry);
+            deliveryDelay = Timer.builder("notifications.delivery.delay")
+                    .description("Time from enqueue to successful send")
+                    .register(meterRegistry);
+        }
+        if (enabled) {
+            executor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "notification-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+    
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+    
+    private void drain() {
+        try {
+            // A full batch means more may be due, so keep going until a short one
+            int leased;
+            do {
+                leased = dispatchBatch();
+            } while (leased == batchSize && !Thread.currentThread().isInterrupted());
+            queueDepth.set(notificationOutbox.countPending());
+        } catch (RuntimeException e) {
+            // Escaping exceptions would cancel the scheduled task
+            logger.error("Notification dispatch failed, retrying next poll", e);
+        }
+    }
+    
+    /**
+     * Leases and sends one batch. Returns how many notifications were leased.
+     */
+    public int dispatchBatch() {
+        List<Notification> batch = notificationOutbox.claimDue(batchSize);
+        for (Notification notification : batch) {
+            pace();
+            long started = System.nanoTime();
+            try {
+                transport.send(notification.getRecipient(), notification.getSubject(), notification.getBody());
+                record(sentTimer, started);
+                notificationOutbox.markSent(notification.getId());
+                if (deliveryDelay != null && notification.getCreatedAt() != null) {
+                    deliveryDelay.record(Duration.between(notification.getCreatedAt(), LocalDateTime.now()));
+                }
+            } catch (Exception e) {
+                record(failedTimer, started);
+                notificationOutbox.markFailed(notification, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        return batch.size();
+    }
+    
+    // Spaces sends evenly so a backlog cannot exceed the provider's rate limit
+    private void pace() {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long wait = nextSendNanos - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        nextSendNanos = Math.max(nextSendNanos, System.nanoTime()) + interval;
+    }
+    
+    private void record(Timer timer, long startedNanos) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.localhelper.notification;
+
+import com.localhelper.entity.Notification;
+import com.localhelper.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Durable queue of outbound emails. {@link #enqueue} joins the caller's transaction, so a
+ * notification exists exactly when the change that caused it commits; delivery happens later
+ * in {@link NotificationDispatcher} without a transaction or connection held.
+ */
+@Service
+@Transactional
+public class NotificationOutbox {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutbox.class);
+    
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Value("${app.notifications.lease-ms:60000}")
+    private long leaseMs = 60000;
+    
+    @Value("${app.notifications.max-attempts:6}")
+    private int maxAttempts = 6;
+    
+    @Value("${app.notifications.initial-backoff-ms:5000}")
+    private long initialBackoffMs = 5000;
+    
+    @Value("${app.notifications.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3600000;
+    
+    public Notification enqueue(Notification.NotificationType type, String recipient, String subject, String body) {
+        return notificationRepository.save(new Notification(type, recipient, subject, body));
+    }
+    
+    /**
+     * Leases up to {@code limit} due notifications for delivery. A lease that is not settled with
+     * {@link #markSent} or {@link #markFailed} runs out after {@code app.notifications.lease-ms}
+     * and the notification is sent again, so delivery is at least once.
+     */
+    public List<Notification> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        List<Long> claimed = notificationRepository.findDueIds(now, PageRequest.of(0, limit)).stream()
+                .filter(id -> notificationRepository.claim(id, now, leaseUntil) == 1)
+                .collect(Collectors.toList());
+        return claimed.isEmpty() ? List.of() : notificationRepository.findAllById(claimed);
+    }
+    
+    public void markSent(Long notificationId) {
+        notificationRepository.markSent(notificationId, LocalDateTime.now());
+    }
+    
+    public void markFailed(Notification notification, String error) {
+        String trimmedError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (notification.getAttempts() >= maxAttempts) {
+            notificationRepository.markFailed(notification.getId(), trimmedError);
+            logger.error("Giving up on notification ID: {} to {} after {} attempts: {}",
+                    notification.getId(), notification.getRecipient(), notification.getAttempts(), trimmedError);
+            return;
+        }
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(notification.getAttempts() - 1, 30));
+        notificationRepository.scheduleRetry(notification.getId(), LocalDateTime.now().plus(Duration.ofMillis(backoffMs)), trimmedError);
+        logger.warn("Notification ID: {} failed on attempt {}, retrying in {} ms: {}",
+                notification.getId(), notification.getAttempts(), backoffMs, trimmedError);
+    }
+    
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return notificationRepository.countByStatus(Notification.NotificationStatus.PENDING);
+    }
+}
@@ -0,0 +1,10 @@
+package com.localhelper.notification;
+
+/**
+ * Delivers one outbound email. Implementations throw on any failure; the dispatcher retries
+ * with backoff, so a transport must not retry on its own.
+ */
+public interface NotificationTransport {
+    
+    void send(String recipient, String subject, String body) throws Exception;
+}
@@ -0,0 +1,32 @@
+package com.localhelper.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends through the {@code spring.mail.*} SMTP server.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.transport", havingValue = "smtp")
+public class SmtpNotificationTransport implements NotificationTransport {
+    
+    @Autowired
+    private JavaMailSender mailSender;
+    
+    @Value("${app.notifications.from:no-reply@localhelper.com}")
+    private String from = "no-reply@localhelper.com";
+    
+    @Override
+    public void send(String recipient, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.localhelper.payment;
+
+public class GatewayResult {
+    
+    private final boolean success;
+    private final String transactionId;
+    private final String gatewayResponse;
+    private final String failureReason;
+    
+    private GatewayResult(boolean success, String transactionId, String gatewayResponse, String failureReason) {
+        this.success = success;
+        this.transactionId = transactionId;
+        this.gatewayResponse = gatewayResponse;
+        this.failureReason = failureReason;
+    }
+    
+    public static GatewayResult approved(String transactionId, String gatewayResponse) {
+        return new GatewayResult(true, transactionId, gatewayResponse, null);
+    }
+    
+    public static GatewayResult declined(String gatewayResponse, String failureReason) {
+        return new GatewayResult(false, null, gatewayResponse, failureReason);
+    }
+    
+    public boolean isSuccess() { return success; }
+    
+    public String getTransactionId() { return transactionId; }
+    
+    public String getGatewayResponse() { return gatewayResponse; }
+    
+    public String getFailureReason() { return failureReason; }
+}
@@ -0,0 +1,47 @@
+package com.localhelper.payment;
+
+import com.localhelper.entity.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in gateway used until a real provider is integrated. Simulates provider latency and
+ * declines a configurable share of charges. A real provider replaces it as the {@code @Primary}
+ * {@link PaymentGateway} bean.
+ */
+@Component
+public class LocalPaymentGateway implements PaymentGateway {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocalPaymentGateway.class);
+    
+    @Value("${app.payment.local-gateway.latency-ms:2000}")
+    private long latencyMs = 2000;
+    
+    @Value("${app.payment.local-gateway.success-rate:0.9}")
+    private double successRate = 0.9;
+    
+    @Override
+    public GatewayResult charge(String paymentReference, BigDecimal amount, Payment.PaymentMethod paymentMethod) {
+        logger.debug("Charging {} via {} for payment reference: {}", amount, paymentMethod, paymentReference);
+        
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return GatewayResult.declined("Payment failed", "Payment processing was interrupted");
+        }
+        
+        if (ThreadLocalRandom.current().nextDouble() < successRate) {
+            return GatewayResult.approved(
+                    "TXN-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase(),
+                    "Payment successful");
+        }
+        return GatewayResult.declined("Payment failed", "Payment gateway declined the transaction");
+    }
+}
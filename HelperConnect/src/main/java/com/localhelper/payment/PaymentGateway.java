@@ -0,0 +1,15 @@
+package com.localhelper.payment;
+
+import com.localhelper.entity.Payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Boundary to an external payment provider. Implementations are called outside any database
+ * transaction and may block; {@code paymentReference} is stable across retries and should be
+ * passed to the provider as its idempotency key.
+ */
+public interface PaymentGateway {
+    
+    GatewayResult charge(String paymentReference, BigDecimal amount, Payment.PaymentMethod paymentMethod);
+}
@@ -0,0 +1,85 @@
+package com.localhelper.payment;
+
+import com.localhelper.config.AsyncConfig;
+import com.localhelper.entity.Payment;
+import com.localhelper.event.PaymentSubmittedEvent;
+import com.localhelper.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Charges submitted payments through the {@link PaymentGateway} on the payment executor.
+ * The gateway call runs without a transaction; only the final state change touches the database.
+ */
+@Component
+public class PaymentProcessor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentProcessor.class);
+    
+    @Autowired
+    private PaymentService paymentService;
+    
+    @Autowired
+    private PaymentGateway paymentGateway;
+    
+    @Autowired
+    @Qualifier(AsyncConfig.PAYMENT_EXECUTOR)
+    private TaskExecutor paymentExecutor;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentSubmitted(PaymentSubmittedEvent event) {
+        submit(event.getPaymentId());
+    }
+    
+    // Payments left in PROCESSING by a shutdown are charged again under the same reference
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInFlightPayments() {
+        List<Long> paymentIds = paymentService.getPaymentIdsByStatus(Payment.PaymentStatus.PROCESSING);
+        if (!paymentIds.isEmpty()) {
+            logger.info("Resuming {} payments left in PROCESSING", paymentIds.size());
+            paymentIds.forEach(this::submit);
+        }
+    }
+    
+    void submit(Long paymentId) {
+        try {
+            paymentExecutor.execute(() -> process(paymentId));
+        } catch (TaskRejectedException e) {
+            logger.warn("Payment queue full, releasing payment ID: {} back to PENDING", paymentId);
+            paymentService.releasePayment(paymentId);
+        }
+    }
+    
+    // Only a failed charge fails the payment; when recording the result fails, the payment stays
+    // in PROCESSING and is charged again under the same reference when processing resumes
+    void process(Long paymentId) {
+        try {
+            Payment payment = paymentService.getPaymentForProcessing(paymentId);
+            if (payment == null) {
+                return;
+            }
+            
+            GatewayResult result;
+            try {
+                result = paymentGateway.charge(
+                        payment.getPaymentReference(), payment.getAmount(), payment.getPaymentMethod());
+            } catch (Exception e) {
+                logger.error("Error charging payment with ID: {}", paymentId, e);
+                result = GatewayResult.declined("Payment failed", "Internal error during payment processing");
+            }
+            paymentService.completePayment(paymentId, result);
+        } catch (Exception e) {
+            logger.error("Error processing payment with ID: {}, leaving it in PROCESSING", paymentId, e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.localhelper.repository;
 import com.localhelper.entity.Complaint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,26 +15,33 @@ import java.util.List;
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     List<Complaint> findByUserId(Long userId);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     Page<Complaint> findByUserId(Long userId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     List<Complaint> findByHelperId(Long helperId);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     Page<Complaint> findByHelperId(Long helperId, Pageable pageable);
     
     List<Complaint> findByServiceRequestId(Long serviceRequestId);
     
     List<Complaint> findByStatus(Complaint.ComplaintStatus status);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     Page<Complaint> findByStatus(Complaint.ComplaintStatus status, Pageable pageable);
     
     List<Complaint> findByType(Complaint.ComplaintType type);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     Page<Complaint> findByType(Complaint.ComplaintType type, Pageable pageable);
     
     List<Complaint> findByPriority(Complaint.Priority priority);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     Page<Complaint> findByPriority(Complaint.Priority priority, Pageable pageable);
     
     @Query("SELECT c FROM Complaint c WHERE c.status = :status AND c.priority = :priority")
@@ -48,6 +56,7 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT c FROM Complaint c WHERE c.createdAt BETWEEN :startDate AND :endDate")
     Page<Complaint> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user", "resolvedBy"})
     @Query("SELECT c FROM Complaint c WHERE " +
            "(LOWER(c.subject) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
@@ -64,4 +73,7 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     
     @Query("SELECT COUNT(c) FROM Complaint c WHERE c.helper.id = :helperId")
     Long countByHelperId(@Param("helperId") Long helperId);
+    
+    @Query("SELECT c.status, COUNT(c) FROM Complaint c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.DomainEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DomainEventRepository extends JpaRepository<DomainEvent, Long> {
+
+    // Oldest first, so subscribers see an aggregate's events in the order they were written
+    @Query("SELECT e.id FROM DomainEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    Long countByStatus(DomainEvent.PublishStatus status);
+
+    // Events whose changes are committed but not yet applied to counters and aggregates
+    List<DomainEvent> findByStatusOrderById(DomainEvent.PublishStatus status);
+
+    List<DomainEvent> findByStatusAndAggregateTypeOrderById(DomainEvent.PublishStatus status,
+                                                            DomainEvent.AggregateType aggregateType);
+
+    // Takes a lease on a due event; fails when another relay already holds it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DomainEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id = :id AND e.status = 'PENDING' AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Only succeeds while the lease taken on this attempt is still held
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DomainEvent e SET e.status = 'PUBLISHED', e.publishedAt = :publishedAt, e.lastError = NULL " +
+           "WHERE e.id = :id AND e.status = 'PENDING' AND e.attempts = :attempts")
+    int markPublished(@Param("id") Long id, @Param("attempts") Integer attempts, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DomainEvent e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DomainEvent e SET e.status = 'FAILED', e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM DomainEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
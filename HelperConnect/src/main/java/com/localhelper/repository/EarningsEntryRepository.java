@@ -0,0 +1,22 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.EarningsEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface EarningsEntryRepository extends JpaRepository<EarningsEntry, Long> {
+    
+    Page<EarningsEntry> findByHelperIdOrderByCreatedAtDesc(Long helperId, Pageable pageable);
+    
+    boolean existsByPaymentIdAndEntryType(Long paymentId, EarningsEntry.EntryType entryType);
+    
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM EarningsEntry e WHERE e.helper.id = :helperId")
+    BigDecimal sumAmountByHelperId(@Param("helperId") Long helperId);
+}
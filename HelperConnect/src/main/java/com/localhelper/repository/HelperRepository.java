@@ -1,24 +1,39 @@
 package com.localhelper.repository;
 
 import com.localhelper.entity.Helper;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface HelperRepository extends JpaRepository<Helper, Long> {
     
+    String HELPER_BY_USER_CACHE_REGION = "helper-by-user";
+    
+    // Resolves the current helper on every /api/helper/** request; the cached result is dropped
+    // whenever the helpers table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HELPER_BY_USER_CACHE_REGION)
+    })
     Optional<Helper> findByUserId(Long userId);
     
     List<Helper> findByStatus(Helper.HelperStatus status);
     
+    @EntityGraph(attributePaths = "user")
     Page<Helper> findByStatus(Helper.HelperStatus status, Pageable pageable);
     
     List<Helper> findByKycStatus(Helper.KycStatus kycStatus);
@@ -36,28 +51,141 @@ public interface HelperRepository extends JpaRepository<Helper, Long> {
     @Query("SELECT h FROM Helper h WHERE h.status = :status AND h.isAvailable = :isAvailable")
     List<Helper> findByStatusAndIsAvailable(@Param("status") Helper.HelperStatus status, @Param("isAvailable") Boolean isAvailable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT h FROM Helper h WHERE h.status = :status AND h.isAvailable = :isAvailable")
     Page<Helper> findByStatusAndIsAvailable(@Param("status") Helper.HelperStatus status, @Param("isAvailable") Boolean isAvailable, Pageable pageable);
     
+    @Query("SELECT h.id AS id, h.serviceType AS serviceType, h.latitude AS latitude, h.longitude AS longitude, " +
+           "h.hourlyRate AS hourlyRate, h.rating AS rating FROM Helper h WHERE " +
+           "h.status = 'APPROVED' AND h.isAvailable = true AND h.id > :afterId ORDER BY h.id")
+    List<DispatchableHelper> findDispatchableHelpersAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT h FROM Helper h WHERE " +
            "h.status = 'APPROVED' AND h.isAvailable = true AND " +
            "(LOWER(h.serviceType) LIKE LOWER(CONCAT('%', :serviceType, '%')) OR " +
            "LOWER(h.description) LIKE LOWER(CONCAT('%', :serviceType, '%')))")
     Page<Helper> searchAvailableHelpers(@Param("serviceType") String serviceType, Pageable pageable);
     
+    @Query("SELECT h.id AS id, h.serviceType AS serviceType, h.description AS description, " +
+           "h.latitude AS latitude, h.longitude AS longitude FROM Helper h WHERE " +
+           "h.status = 'APPROVED' AND h.isAvailable = true AND h.id > :afterId ORDER BY h.id")
+    List<SearchableHelper> findSearchableHelpersAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT h.id AS id, h.rating AS rating, h.totalReviews AS totalReviews, h.hourlyRate AS hourlyRate " +
+           "FROM Helper h WHERE h.status = 'APPROVED' AND h.isAvailable = true AND h.id > :afterId ORDER BY h.id")
+    List<RankableHelper> findRankableHelpersAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT h.id AS id, h.rating AS rating, h.totalReviews AS totalReviews, h.hourlyRate AS hourlyRate " +
+           "FROM Helper h WHERE h.status = 'APPROVED' AND h.isAvailable = true AND h.id = :helperId")
+    Optional<RankableHelper> findRankableHelperById(@Param("helperId") Long helperId);
+    
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT h FROM Helper h WHERE " +
            "h.status = 'APPROVED' AND h.isAvailable = true AND " +
            "h.hourlyRate BETWEEN :minRate AND :maxRate")
     Page<Helper> findByHourlyRateBetween(@Param("minRate") BigDecimal minRate, @Param("maxRate") BigDecimal maxRate, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT h FROM Helper h WHERE " +
            "h.status = 'APPROVED' AND h.isAvailable = true AND " +
            "h.rating >= :minRating")
     Page<Helper> findByRatingGreaterThanEqual(@Param("minRating") BigDecimal minRating, Pageable pageable);
     
+    @Query("SELECT h FROM Helper h WHERE " +
+           "h.status = 'APPROVED' AND h.isAvailable = true AND " +
+           "h.latitude BETWEEN :minLatitude AND :maxLatitude AND " +
+           "h.longitude BETWEEN :minLongitude AND :maxLongitude")
+    List<Helper> findAvailableHelpersWithinBounds(@Param("minLatitude") Double minLatitude, @Param("maxLatitude") Double maxLatitude,
+                                                  @Param("minLongitude") Double minLongitude, @Param("maxLongitude") Double maxLongitude);
+    
     @Query("SELECT COUNT(h) FROM Helper h WHERE h.status = :status")
     Long countByStatus(@Param("status") Helper.HelperStatus status);
     
     @Query("SELECT COUNT(h) FROM Helper h WHERE h.kycStatus = :kycStatus")
     Long countByKycStatus(@Param("kycStatus") Helper.KycStatus kycStatus);
-}
\ No newline at end of file
+    
+    interface SearchableHelper {
+        Long getId();
+        String getServiceType();
+        String getDescription();
+        Double getLatitude();
+        Double getLongitude();
+    }
+    
+    interface RankableHelper {
+        Long getId();
+        BigDecimal getRating();
+        Integer getTotalReviews();
+        BigDecimal getHourlyRate();
+    }
+    
+    interface DispatchableHelper {
+        Long getId();
+        String getServiceType();
+        Double getLatitude();
+        Double getLongitude();
+        BigDecimal getHourlyRate();
+        BigDecimal getRating();
+    }
+    
+    @Query("SELECT h.status, COUNT(h) FROM Helper h GROUP BY h.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Helper> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Helper> findAll(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT h FROM Helper h WHERE h.id IN :ids")
+    List<Helper> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Helper h SET h.totalEarnings = COALESCE(h.totalEarnings, 0) + :amount, h.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE h.id = :helperId")
+    int addEarnings(@Param("helperId") Long helperId, @Param("amount") BigDecimal amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Helper h SET " +
+           "h.ratingSum = h.ratingSum + :sumDelta, " +
+           "h.totalReviews = h.totalReviews + :countDelta, " +
+           "h.oneStarCount = h.oneStarCount + :oneStarDelta, " +
+           "h.twoStarCount = h.twoStarCount + :twoStarDelta, " +
+           "h.threeStarCount = h.threeStarCount + :threeStarDelta, " +
+           "h.fourStarCount = h.fourStarCount + :fourStarDelta, " +
+           "h.fiveStarCount = h.fiveStarCount + :fiveStarDelta, " +
+           "h.rating = CASE WHEN h.totalReviews + :countDelta > 0 " +
+           "THEN ROUND(CAST(h.ratingSum + :sumDelta AS BigDecimal) / (h.totalReviews + :countDelta), 2) ELSE 0 END, " +
+           "h.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE h.id = :helperId")
+    int applyRatingDelta(@Param("helperId") Long helperId, @Param("sumDelta") long sumDelta, @Param("countDelta") int countDelta,
+                         @Param("oneStarDelta") int oneStarDelta, @Param("twoStarDelta") int twoStarDelta,
+                         @Param("threeStarDelta") int threeStarDelta, @Param("fourStarDelta") int fourStarDelta,
+                         @Param("fiveStarDelta") int fiveStarDelta);
+    
+    @Query("SELECT h.id, h.ratingSum, h.totalReviews, h.oneStarCount, h.twoStarCount, h.threeStarCount, " +
+           "h.fourStarCount, h.fiveStarCount, h.rating FROM Helper h")
+    List<Object[]> findRatingAggregates();
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Helper h SET " +
+           "h.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true), " +
+           "h.totalReviews = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true), " +
+           "h.oneStarCount = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true AND r.rating = 1), " +
+           "h.twoStarCount = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true AND r.rating = 2), " +
+           "h.threeStarCount = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true AND r.rating = 3), " +
+           "h.fourStarCount = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true AND r.rating = 4), " +
+           "h.fiveStarCount = (SELECT COUNT(r) FROM Review r WHERE r.helper.id = h.id AND r.isVisible = true AND r.rating = 5) " +
+           "WHERE h.id IN :helperIds")
+    int recountRatingAggregates(@Param("helperIds") Collection<Long> helperIds);
+    
+    @Modifying
+    @Query("UPDATE Helper h SET h.rating = CASE WHEN h.totalReviews > 0 " +
+           "THEN ROUND(CAST(h.ratingSum AS BigDecimal) / h.totalReviews, 2) ELSE 0 END " +
+           "WHERE h.id IN :helperIds")
+    int recomputeRatings(@Param("helperIds") Collection<Long> helperIds);
+}
@@ -0,0 +1,39 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    
+    @Query("SELECT n.id FROM Notification n WHERE n.status = 'PENDING' AND n.nextAttemptAt <= :now ORDER BY n.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    Long countByStatus(Notification.NotificationStatus status);
+    
+    // Takes a lease on a due notification; fails when another dispatcher already holds it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.attempts = n.attempts + 1, n.nextAttemptAt = :leaseUntil " +
+           "WHERE n.id = :id AND n.status = 'PENDING' AND n.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = 'SENT', n.sentAt = :sentAt, n.lastError = NULL WHERE n.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.nextAttemptAt = :nextAttemptAt, n.lastError = :error WHERE n.id = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = 'FAILED', n.lastError = :error WHERE n.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
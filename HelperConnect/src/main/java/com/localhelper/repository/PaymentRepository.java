@@ -1,10 +1,14 @@
 package com.localhelper.repository;
 
 import com.localhelper.entity.Payment;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +16,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -53,12 +62,42 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate")
     Page<Payment> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
     
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.id")
+    Stream<Payment> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.serviceRequest.helper.id = :helperId AND p.status = 'COMPLETED'")
     BigDecimal calculateTotalEarningsByHelperId(@Param("helperId") Long helperId);
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal calculateTotalRevenueBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
+    @Query("SELECT p.id FROM Payment p WHERE p.status = :status ORDER BY p.id")
+    List<Long> findIdsByStatus(@Param("status") Payment.PaymentStatus status);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :to, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id AND p.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") Payment.PaymentStatus from, @Param("to") Payment.PaymentStatus to);
+    
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
     Long countByStatus(@Param("status") Payment.PaymentStatus status);
+    
+    @Query("SELECT p.status, COUNT(p) FROM Payment p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Query("SELECT p FROM Payment p ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Payment> findKeysetFirstPage(Pageable pageable);
+    
+    @Query("SELECT p FROM Payment p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Payment> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT p FROM Payment p WHERE p.status = :status ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Payment> findKeysetFirstPageByStatus(@Param("status") Payment.PaymentStatus status, Pageable pageable);
+    
+    @Query("SELECT p FROM Payment p WHERE p.status = :status AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Payment> findKeysetPageByStatusAfter(@Param("status") Payment.PaymentStatus status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
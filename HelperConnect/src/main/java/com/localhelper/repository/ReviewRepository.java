@@ -3,6 +3,7 @@ package com.localhelper.repository;
 import com.localhelper.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +15,10 @@ import java.util.List;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     List<Review> findByUserId(Long userId);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     Page<Review> findByUserId(Long userId, Pageable pageable);
     
     List<Review> findByHelperId(Long helperId);
@@ -26,15 +29,18 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     List<Review> findByRating(Integer rating);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     Page<Review> findByRating(Integer rating, Pageable pageable);
     
     List<Review> findByIsVisible(Boolean isVisible);
     
     Page<Review> findByIsVisible(Boolean isVisible, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     @Query("SELECT r FROM Review r WHERE r.helper.id = :helperId AND r.isVisible = :isVisible")
     List<Review> findByHelperIdAndIsVisible(@Param("helperId") Long helperId, @Param("isVisible") Boolean isVisible);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     @Query("SELECT r FROM Review r WHERE r.helper.id = :helperId AND r.isVisible = :isVisible")
     Page<Review> findByHelperIdAndIsVisible(@Param("helperId") Long helperId, @Param("isVisible") Boolean isVisible, Pageable pageable);
     
@@ -50,9 +56,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.helper.id = :helperId AND r.rating = :rating AND r.isVisible = true")
     Long countReviewsByHelperIdAndRating(@Param("helperId") Long helperId, @Param("rating") Integer rating);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     @Query("SELECT r FROM Review r WHERE r.comment IS NOT NULL AND r.comment != '' AND r.isVisible = true")
     Page<Review> findReviewsWithComments(Pageable pageable);
     
     @Query("SELECT COUNT(r) FROM Review r WHERE r.rating = :rating")
     Long countByRating(@Param("rating") Integer rating);
-}
\ No newline at end of file
+    
+    @Query("SELECT r.helper.id, r.rating, COUNT(r) FROM Review r WHERE r.isVisible = true GROUP BY r.helper.id, r.rating")
+    List<Object[]> countVisibleGroupedByHelperAndRating();
+}
@@ -1,29 +1,45 @@
 package com.localhelper.repository;
 
+import com.localhelper.entity.Helper;
 import com.localhelper.entity.ServiceRequest;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     List<ServiceRequest> findByUserId(Long userId);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     Page<ServiceRequest> findByUserId(Long userId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     List<ServiceRequest> findByHelperId(Long helperId);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     Page<ServiceRequest> findByHelperId(Long helperId, Pageable pageable);
     
     List<ServiceRequest> findByStatus(ServiceRequest.RequestStatus status);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     Page<ServiceRequest> findByStatus(ServiceRequest.RequestStatus status, Pageable pageable);
     
     List<ServiceRequest> findByServiceTypeContainingIgnoreCase(String serviceType);
@@ -39,6 +55,7 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
     @Query("SELECT sr FROM ServiceRequest sr WHERE sr.helper.id = :helperId AND sr.status = :status")
     Page<ServiceRequest> findByHelperIdAndStatus(@Param("helperId") Long helperId, @Param("status") ServiceRequest.RequestStatus status, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
     @Query("SELECT sr FROM ServiceRequest sr WHERE sr.status = 'PENDING' AND sr.serviceType = :serviceType")
     List<ServiceRequest> findPendingRequestsByServiceType(@Param("serviceType") String serviceType);
     
@@ -48,6 +65,14 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
     @Query("SELECT sr FROM ServiceRequest sr WHERE sr.scheduledDate BETWEEN :startDate AND :endDate")
     Page<ServiceRequest> findByScheduledDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
     
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT sr FROM ServiceRequest sr WHERE sr.createdAt BETWEEN :startDate AND :endDate ORDER BY sr.id")
+    Stream<ServiceRequest> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT sr FROM ServiceRequest sr WHERE sr.isCompleted = :isCompleted")
     List<ServiceRequest> findByIsCompleted(@Param("isCompleted") Boolean isCompleted);
     
@@ -62,4 +87,51 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
     
     @Query("SELECT COUNT(sr) FROM ServiceRequest sr WHERE sr.helper.id = :helperId")
     Long countByHelperId(@Param("helperId") Long helperId);
-}
\ No newline at end of file
+    
+    @Query("SELECT sr.status, COUNT(sr) FROM ServiceRequest sr GROUP BY sr.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
+    @Query("SELECT sr FROM ServiceRequest sr ORDER BY sr.createdAt DESC, sr.id DESC")
+    Slice<ServiceRequest> findKeysetFirstPage(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
+    @Query("SELECT sr FROM ServiceRequest sr WHERE sr.createdAt <= :createdAt AND (sr.createdAt < :createdAt OR (sr.createdAt = :createdAt AND sr.id < :id)) ORDER BY sr.createdAt DESC, sr.id DESC")
+    Slice<ServiceRequest> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
+    @Query("SELECT sr FROM ServiceRequest sr WHERE sr.status = :status ORDER BY sr.createdAt DESC, sr.id DESC")
+    Slice<ServiceRequest> findKeysetFirstPageByStatus(@Param("status") ServiceRequest.RequestStatus status, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"user", "helper", "helper.user"})
+    @Query("SELECT sr FROM ServiceRequest sr WHERE sr.status = :status AND sr.createdAt <= :createdAt AND (sr.createdAt < :createdAt OR (sr.createdAt = :createdAt AND sr.id < :id)) ORDER BY sr.createdAt DESC, sr.id DESC")
+    Slice<ServiceRequest> findKeysetPageByStatusAfter(@Param("status") ServiceRequest.RequestStatus status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT sr.helper.id, COUNT(sr) FROM ServiceRequest sr " +
+           "WHERE sr.status IN ('ACCEPTED', 'IN_PROGRESS') GROUP BY sr.helper.id")
+    List<Object[]> countActiveGroupedByHelper();
+    
+    // Compare-and-set transitions: each matches only the status and version the caller read,
+    // so of several concurrent attempts exactly one updates a row and the rest see 0
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ServiceRequest sr SET sr.status = :to, sr.version = sr.version + 1, sr.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE sr.id = :id AND sr.status = :from AND sr.version = :version")
+    int compareAndSetStatus(@Param("id") Long id, @Param("version") Long version,
+                            @Param("from") ServiceRequest.RequestStatus from, @Param("to") ServiceRequest.RequestStatus to);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ServiceRequest sr SET sr.status = 'ACCEPTED', sr.helper = :helper, sr.version = sr.version + 1, " +
+           "sr.updatedAt = CURRENT_TIMESTAMP WHERE sr.id = :id AND sr.status = 'PENDING' AND sr.version = :version")
+    int compareAndSetAccepted(@Param("id") Long id, @Param("version") Long version, @Param("helper") Helper helper);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ServiceRequest sr SET sr.status = 'REJECTED', sr.rejectionReason = :reason, sr.version = sr.version + 1, " +
+           "sr.updatedAt = CURRENT_TIMESTAMP WHERE sr.id = :id AND sr.status = 'PENDING' AND sr.version = :version")
+    int compareAndSetRejected(@Param("id") Long id, @Param("version") Long version, @Param("reason") String reason);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ServiceRequest sr SET sr.status = 'COMPLETED', sr.isCompleted = true, sr.completedAt = :completedAt, " +
+           "sr.version = sr.version + 1, sr.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE sr.id = :id AND sr.status = 'IN_PROGRESS' AND sr.version = :version")
+    int compareAndSetCompleted(@Param("id") Long id, @Param("version") Long version, @Param("completedAt") LocalDateTime completedAt);
+}
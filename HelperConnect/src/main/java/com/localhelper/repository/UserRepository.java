@@ -3,11 +3,13 @@ package com.localhelper.repository;
 import com.localhelper.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +45,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") User.Role role);
+    
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findKeysetFirstPage(Pageable pageable);
+    
+    @Query("SELECT u FROM User u WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.localhelper.search;
+
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.repository.HelperRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Every approved and available helper in landing-page order: highest rating first, then most
+ * reviews, then lowest hourly rate. Readers page through an immutable array that writers
+ * replace with a modified copy, so a page never waits on a write or sees one half applied.
+ * Rebuilt from the database on startup and kept current from {@link HelperChangedEvent}s and
+ * relayed review events.
+ */
+@Component
+public class AvailableHelperRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailableHelperRanking.class);
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry entry) -> entry.rating).reversed()
+            .thenComparing(Comparator.comparingInt((Entry entry) -> entry.totalReviews).reversed())
+            .thenComparing(entry -> entry.hourlyRate)
+            .thenComparing(entry -> entry.helperId);
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Value("${app.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final SnapshotRebuild<Entry> snapshotRebuild = new SnapshotRebuild<>(writeLock);
+
+    // Guarded by writeLock
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    private volatile Entry[] ranking = new Entry[0];
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Rebuilding available helper ranking");
+        try {
+            snapshotRebuild.run(this::loadEntries, (loaded, changed) -> {
+                changed.forEach((helperId, entry) -> {
+                    if (entry != null) {
+                        loaded.put(helperId, entry);
+                    } else {
+                        loaded.remove(helperId);
+                    }
+                });
+                Entry[] sorted = loaded.values().toArray(new Entry[0]);
+                Arrays.sort(sorted, ORDER);
+                entries = loaded;
+                ranking = sorted;
+            });
+            ready = true;
+            logger.info("Available helper ranking rebuilt with {} helpers", ranking.length);
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild available helper ranking, keeping the previous ranking", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHelperChanged(HelperChangedEvent event) {
+        update(event.getHelperId(), event.isSearchable()
+                ? new Entry(event.getHelperId(), event.getRating(), event.getTotalReviews(), event.getHourlyRate())
+                : null);
+    }
+
+    /**
+     * Review changes move a helper's rating with an atomic UPDATE, so the new position is read
+     * back once the relay's transaction has committed it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewEvent(DomainEventMessage event) {
+        Long helperId = event.getLong(DomainEventMessage.HELPER_ID);
+        if (event.getAggregateType() != DomainEvent.AggregateType.REVIEW || helperId == null) {
+            return;
+        }
+        update(helperId, helperRepository.findRankableHelperById(helperId)
+                .map(helper -> new Entry(helper.getId(), helper.getRating(), helper.getTotalReviews(), helper.getHourlyRate()))
+                .orElse(null));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return ranking.length;
+    }
+
+    /**
+     * Returns the ids at {@code offset} to {@code offset + limit} of the ranking, with the total
+     * taken from the same snapshot.
+     */
+    public RankedPage page(long offset, int limit) {
+        Entry[] snapshot = ranking;
+        List<Long> helperIds = new ArrayList<>(Math.max(0, Math.min(limit, snapshot.length)));
+        for (long i = offset; i < snapshot.length && i < offset + limit; i++) {
+            helperIds.add(snapshot[(int) i].helperId);
+        }
+        return new RankedPage(helperIds, snapshot.length);
+    }
+
+    private Map<Long, Entry> loadEntries() {
+        Map<Long, Entry> loaded = new HashMap<>();
+        long afterId = 0L;
+        List<HelperRepository.RankableHelper> batch;
+        do {
+            batch = helperRepository.findRankableHelpersAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+            for (HelperRepository.RankableHelper helper : batch) {
+                loaded.put(helper.getId(), new Entry(helper.getId(), helper.getRating(), helper.getTotalReviews(), helper.getHourlyRate()));
+                afterId = helper.getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+        return loaded;
+    }
+
+    private void update(Long helperId, Entry replacement) {
+        writeLock.lock();
+        try {
+            snapshotRebuild.record(helperId, replacement);
+            Entry previous = replacement != null ? entries.put(helperId, replacement) : entries.remove(helperId);
+            if (previous == null && replacement == null) {
+                return;
+            }
+
+            Entry[] current = ranking;
+            int removeAt = previous != null ? Arrays.binarySearch(current, previous, ORDER) : -1;
+            int size = current.length - (removeAt >= 0 ? 1 : 0);
+            Entry[] next = new Entry[size + (replacement != null ? 1 : 0)];
+            if (removeAt >= 0) {
+                System.arraycopy(current, 0, next, 0, removeAt);
+                System.arraycopy(current, removeAt + 1, next, removeAt, current.length - removeAt - 1);
+            } else {
+                System.arraycopy(current, 0, next, 0, current.length);
+            }
+            if (replacement != null) {
+                int insertAt = -(Arrays.binarySearch(next, 0, size, replacement, ORDER) + 1);
+                System.arraycopy(next, insertAt, next, insertAt + 1, size - insertAt);
+                next[insertAt] = replacement;
+            }
+            ranking = next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long helperId;
+        private final BigDecimal rating;
+        private final int totalReviews;
+        private final BigDecimal hourlyRate;
+
+        private Entry(Long helperId, BigDecimal rating, Integer totalReviews, BigDecimal hourlyRate) {
+            this.helperId = helperId;
+            this.rating = rating != null ? rating : BigDecimal.ZERO;
+            this.totalReviews = totalReviews != null ? totalReviews : 0;
+            this.hourlyRate = hourlyRate != null ? hourlyRate : BigDecimal.ZERO;
+        }
+    }
+
+    public static class RankedPage {
+
+        private final List<Long> helperIds;
+        private final long total;
+
+        public RankedPage(List<Long> helperIds, long total) {
+            this.helperIds = helperIds;
+            this.total = total;
+        }
+
+        public List<Long> getHelperIds() { return helperIds; }
+
+        public long getTotal() { return total; }
+    }
+}
@@ -0,0 +1,301 @@
+package com.localhelper.search;
+
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.repository.HelperRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory grid index over the coordinates of every searchable (approved and available)
+ * helper. Space is cut into cells of roughly {@code app.geo.cell-size-km} and nearest-neighbour
+ * queries walk outward ring by ring until no unvisited cell can hold a closer helper.
+ * Rebuilt from the database on startup and kept current from {@link HelperChangedEvent}s.
+ */
+@Component
+public class HelperGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelperGeoIndex.class);
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180.0;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Value("${app.geo.cell-size-km:1.0}")
+    private double cellSizeKm = 1.0;
+
+    @Value("${app.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final SnapshotRebuild<Entry> snapshotRebuild = new SnapshotRebuild<>(writeLock);
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Rebuilding helper geo index");
+        try {
+            snapshotRebuild.run(this::loadGrid, (loaded, changed) -> {
+                changed.forEach((helperId, entry) -> {
+                    loaded.remove(helperId);
+                    if (entry != null) {
+                        loaded.put(entry);
+                    }
+                });
+                grid = loaded;
+            });
+            ready = true;
+            logger.info("Helper geo index rebuilt with {} located helpers", grid.entries.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild helper geo index, keeping the previous index", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHelperChanged(HelperChangedEvent event) {
+        Entry entry = event.isSearchable()
+                ? entry(event.getHelperId(), event.getLatitude(), event.getLongitude(), event.getServiceType())
+                : null;
+        writeLock.lock();
+        try {
+            snapshotRebuild.record(event.getHelperId(), entry);
+            Grid current = grid;
+            current.remove(event.getHelperId());
+            if (entry != null) {
+                current.put(entry);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return grid.entries.size();
+    }
+
+    /**
+     * Returns up to {@code limit} helpers within {@code radiusKm} of the given point, nearest first.
+     * {@code serviceType}, when present, is matched case-insensitively as a substring.
+     */
+    public List<GeoHit> findNearest(double latitude, double longitude, double radiusKm, int limit, String serviceType) {
+        String serviceTypeFilter = serviceType != null && !serviceType.isBlank()
+                ? serviceType.trim().toLowerCase(Locale.ROOT) : null;
+        Map<Long, Set<Entry>> cells = grid.cells;
+        double cellDegrees = cellDegrees();
+        long lonCells = lonCells(cellDegrees);
+        long centreLat = latIndex(latitude, cellDegrees);
+        long centreLon = lonIndex(longitude, cellDegrees);
+
+        // Only cells inside the query's bounding box are scanned. A box that reaches a pole or is
+        // wider than half the globe takes every longitude, each column once
+        double reachLatitude = Math.min(Math.abs(latitude) + radiusKm / KM_PER_DEGREE, 90.0);
+        double cosReach = Math.cos(Math.toRadians(reachLatitude));
+        long latSpan = (long) Math.ceil(radiusKm / cellSizeKm) + 1;
+        double lonDegrees = reachLatitude >= 90.0 ? 180.0 : Math.min(radiusKm / (KM_PER_DEGREE * cosReach), 180.0);
+        long lonSpan = Math.min((long) Math.ceil(lonDegrees / cellDegrees) + 1, lonCells / 2);
+        long minDLon = -lonSpan;
+        long maxDLon = 2 * lonSpan + 1 > lonCells ? lonSpan - 1 : lonSpan;
+
+        PriorityQueue<GeoHit> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(GeoHit::getDistanceKm).reversed());
+
+        // Near a pole the box is every column of a few rows; when that is more cells than the
+        // index holds, walking the occupied cells of those rows is cheaper
+        long boxCells = (2 * latSpan + 1) * (maxDLon - minDLon + 1);
+        if (maxDLon - minDLon + 1 >= lonCells && boxCells > cells.size()) {
+            for (Map.Entry<Long, Set<Entry>> cell : cells.entrySet()) {
+                if (Math.abs(Math.floorDiv(cell.getKey(), 1_000_000L) - centreLat) <= latSpan) {
+                    collect(cell.getValue(), latitude, longitude, radiusKm, limit, serviceTypeFilter, nearest);
+                }
+            }
+        } else {
+            for (long ring = 0; ring <= Math.max(latSpan, lonSpan); ring++) {
+                for (long dLat = -Math.min(ring, latSpan); dLat <= Math.min(ring, latSpan); dLat++) {
+                    boolean edgeRow = Math.abs(dLat) == ring;
+                    long step = edgeRow ? 1 : 2 * ring;
+                    for (long dLon = edgeRow ? Math.max(-ring, minDLon) : -ring; dLon <= Math.min(ring, maxDLon); dLon += step) {
+                        if (dLon < minDLon) {
+                            continue;
+                        }
+                        Set<Entry> cell = cells.get(cellKey(centreLat + dLat, Math.floorMod(centreLon + dLon, lonCells)));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, radiusKm, limit, serviceTypeFilter, nearest);
+                        }
+                    }
+                }
+
+                // Anything not yet visited lies at least `ring` whole cells away in latitude or in
+                // longitude. Longitude cells shrink towards the poles, so that side is bounded by the
+                // shortest great-circle distance the column gap allows at the highest reachable latitude
+                double latBoundKm = ring < latSpan ? ring * cellSizeKm : Double.MAX_VALUE;
+                double lonBoundKm = ring < lonSpan
+                        ? 2 * EARTH_RADIUS_KM * Math.asin(cosReach * Math.sin(Math.toRadians(Math.min(ring * cellDegrees, 180.0)) / 2))
+                        : Double.MAX_VALUE;
+                double unvisitedBoundKm = Math.min(latBoundKm, lonBoundKm);
+                if (unvisitedBoundKm > radiusKm
+                        || (nearest.size() == limit && nearest.peek().getDistanceKm() <= unvisitedBoundKm)) {
+                    break;
+                }
+            }
+        }
+
+        List<GeoHit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(GeoHit::getDistanceKm));
+        return hits;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collect(Set<Entry> cell, double latitude, double longitude, double radiusKm, int limit,
+                         String serviceTypeFilter, PriorityQueue<GeoHit> nearest) {
+        for (Entry entry : cell) {
+            if (serviceTypeFilter != null && !entry.serviceType.contains(serviceTypeFilter)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new GeoHit(entry.helperId, distance));
+            } else if (distance < nearest.peek().getDistanceKm()) {
+                nearest.poll();
+                nearest.add(new GeoHit(entry.helperId, distance));
+            }
+        }
+    }
+
+    private Grid loadGrid() {
+        Grid loaded = new Grid();
+        long afterId = 0L;
+        List<HelperRepository.SearchableHelper> batch;
+        do {
+            batch = helperRepository.findSearchableHelpersAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+            for (HelperRepository.SearchableHelper helper : batch) {
+                Entry entry = entry(helper.getId(), helper.getLatitude(), helper.getLongitude(), helper.getServiceType());
+                if (entry != null) {
+                    loaded.put(entry);
+                }
+                afterId = helper.getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+        return loaded;
+    }
+
+    private Entry entry(Long helperId, Double latitude, Double longitude, String serviceType) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        double cellDegrees = cellDegrees();
+        long key = cellKey(latIndex(latitude, cellDegrees), Math.floorMod(lonIndex(longitude, cellDegrees), lonCells(cellDegrees)));
+        return new Entry(helperId, latitude, longitude,
+                serviceType != null ? serviceType.toLowerCase(Locale.ROOT) : "", key);
+    }
+
+    private double cellDegrees() {
+        return cellSizeKm / KM_PER_DEGREE;
+    }
+
+    private static long lonCells(double cellDegrees) {
+        return (long) Math.ceil(360.0 / cellDegrees);
+    }
+
+    private static long latIndex(double latitude, double cellDegrees) {
+        return (long) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private static long lonIndex(double longitude, double cellDegrees) {
+        return (long) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private static long cellKey(long latIndex, long lonIndex) {
+        return latIndex * 1_000_000L + lonIndex;
+    }
+
+    private static final class Grid {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+
+        private void put(Entry entry) {
+            entries.put(entry.helperId, entry);
+            cells.computeIfAbsent(entry.cellKey, k -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+
+        private void remove(Long helperId) {
+            Entry previous = entries.remove(helperId);
+            if (previous != null) {
+                Set<Entry> cell = cells.get(previous.cellKey);
+                if (cell != null) {
+                    cell.remove(previous);
+                    if (cell.isEmpty()) {
+                        cells.remove(previous.cellKey);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long helperId;
+        private final double latitude;
+        private final double longitude;
+        private final String serviceType;
+        private final long cellKey;
+
+        private Entry(Long helperId, double latitude, double longitude, String serviceType, long cellKey) {
+            this.helperId = helperId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.serviceType = serviceType;
+            this.cellKey = cellKey;
+        }
+    }
+
+    public static class GeoHit {
+
+        private final Long helperId;
+        private final double distanceKm;
+
+        public GeoHit(Long helperId, double distanceKm) {
+            this.helperId = helperId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getHelperId() { return helperId; }
+
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
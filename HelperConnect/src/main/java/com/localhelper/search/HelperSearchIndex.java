@@ -0,0 +1,334 @@
+package com.localhelper.search;
+
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.repository.HelperRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index over the service type and description of every
+ * searchable (approved and available) helper. Rebuilt from the database on startup
+ * and kept current from {@link HelperChangedEvent}s after each commit.
+ */
+@Component
+public class HelperSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelperSearchIndex.class);
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_KEY = "key";
+    static final String FIELD_SERVICE_TYPE = "serviceType";
+    static final String FIELD_DESCRIPTION = "description";
+
+    private static final float SERVICE_TYPE_BOOST = 3.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final float FUZZY_WEIGHT = 0.3f;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Value("${app.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    @Value("${app.search.fuzzy-min-term-length:4}")
+    private int fuzzyMinTermLength = 4;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final SnapshotRebuild<Document> snapshotRebuild = new SnapshotRebuild<>(writeLock);
+
+    private volatile Generation index;
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void open() throws IOException {
+        index = new Generation(analyzer);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        ready = false;
+        Generation current = index;
+        current.retire();
+        current.directory.close();
+    }
+
+    /**
+     * Indexes every searchable helper into a new in-memory index that replaces the current one
+     * once complete; searches keep using the current index until then.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Rebuilding helper search index");
+        AtomicReference<Generation> replaced = new AtomicReference<>();
+        try {
+            snapshotRebuild.run(this::loadGeneration, (loaded, changed) -> {
+                try {
+                    for (Map.Entry<Long, Document> change : changed.entrySet()) {
+                        apply(loaded, change.getKey(), change.getValue());
+                    }
+                    loaded.writer.commit();
+                    loaded.searcherManager.maybeRefreshBlocking();
+                } catch (IOException | RuntimeException e) {
+                    throw discard(loaded, e);
+                }
+                replaced.set(index);
+                index = loaded;
+                ready = true;
+                logger.info("Helper search index rebuilt with {} helpers", loaded.writer.getDocStats().numDocs);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild helper search index, keeping the previous index", e);
+        }
+
+        if (replaced.get() != null) {
+            try {
+                replaced.get().retire();
+            } catch (IOException e) {
+                logger.warn("Failed to close the replaced helper search index", e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHelperChanged(HelperChangedEvent event) {
+        Document document = event.isSearchable()
+                ? toDocument(event.getHelperId(), event.getServiceType(), event.getDescription())
+                : null;
+        writeLock.lock();
+        try {
+            snapshotRebuild.record(event.getHelperId(), document);
+            Generation current = index;
+            apply(current, event.getHelperId(), document);
+            current.searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            logger.error("Failed to update search index for helper ID: {}", event.getHelperId(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SearchHits search(String text, int offset, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        Generation current = index;
+        try {
+            IndexSearcher searcher;
+            try {
+                searcher = current.searcherManager.acquire();
+            } catch (AlreadyClosedException e) {
+                // A rebuild replaced and retired this index after it was read; search its successor
+                if (index == current) {
+                    throw e;
+                }
+                return search(text, offset, limit);
+            }
+
+            try {
+                TopDocs topDocs = searcher.search(query, Math.max(offset + limit, 1));
+                long totalHits = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(query);
+
+                List<Long> helperIds = new ArrayList<>(limit);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    Document document = searcher.storedFields().document(scoreDocs[i].doc);
+                    helperIds.add(document.getField(FIELD_ID).numericValue().longValue());
+                }
+                return new SearchHits(helperIds, totalHits);
+            } finally {
+                current.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Helper search failed", e);
+        }
+    }
+
+    Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            addTermClauses(termQuery, FIELD_SERVICE_TYPE, term, SERVICE_TYPE_BOOST);
+            addTermClauses(termQuery, FIELD_DESCRIPTION, term, DESCRIPTION_BOOST);
+            query.add(termQuery.build(), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private void addTermClauses(BooleanQuery.Builder builder, String field, String term, float boost) {
+        Term indexTerm = new Term(field, term);
+        builder.add(new BoostQuery(new TermQuery(indexTerm), boost), BooleanClause.Occur.SHOULD);
+        builder.add(new BoostQuery(new PrefixQuery(indexTerm), boost * PREFIX_WEIGHT), BooleanClause.Occur.SHOULD);
+        if (term.length() >= fuzzyMinTermLength) {
+            builder.add(new BoostQuery(new FuzzyQuery(indexTerm, 1), boost * FUZZY_WEIGHT), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(FIELD_DESCRIPTION, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze search text", e);
+        }
+        return terms;
+    }
+
+    private Generation loadGeneration() {
+        Generation loaded;
+        try {
+            loaded = new Generation(analyzer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open helper search index", e);
+        }
+
+        try {
+            long afterId = 0L;
+            List<HelperRepository.SearchableHelper> batch;
+            do {
+                batch = helperRepository.findSearchableHelpersAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (HelperRepository.SearchableHelper helper : batch) {
+                    loaded.writer.updateDocument(idTerm(helper.getId()),
+                            toDocument(helper.getId(), helper.getServiceType(), helper.getDescription()));
+                    afterId = helper.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            throw discard(loaded, e);
+        }
+    }
+
+    private void apply(Generation generation, Long helperId, Document document) throws IOException {
+        if (document != null) {
+            generation.writer.updateDocument(idTerm(helperId), document);
+        } else {
+            generation.writer.deleteDocuments(idTerm(helperId));
+        }
+    }
+
+    private static RuntimeException discard(Generation generation, Exception e) {
+        IOUtils.closeWhileHandlingException(generation.searcherManager, generation.writer, generation.directory);
+        return e instanceof RuntimeException runtime ? runtime
+                : new UncheckedIOException("Failed to build helper search index", (IOException) e);
+    }
+
+    private Document toDocument(Long helperId, String serviceType, String description) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, helperId.toString(), Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, helperId));
+        document.add(new TextField(FIELD_SERVICE_TYPE, serviceType != null ? serviceType : "", Field.Store.NO));
+        document.add(new TextField(FIELD_DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        return document;
+    }
+
+    private Term idTerm(Long helperId) {
+        return new Term(FIELD_KEY, helperId.toString());
+    }
+
+    private static final class Generation {
+
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        private Generation(Analyzer analyzer) throws IOException {
+            directory = new ByteBuffersDirectory();
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            writer.commit();
+            searcherManager = new SearcherManager(writer, null);
+        }
+
+        /**
+         * Stops new searches and updates. The directory is heap memory left to the garbage
+         * collector, since searchers acquired before this may still be reading from it.
+         */
+        private void retire() throws IOException {
+            searcherManager.close();
+            writer.close();
+        }
+    }
+
+    public static class SearchHits {
+
+        private final List<Long> helperIds;
+        private final long totalHits;
+
+        public SearchHits(List<Long> helperIds, long totalHits) {
+            this.helperIds = helperIds;
+            this.totalHits = totalHits;
+        }
+
+        public List<Long> getHelperIds() { return helperIds; }
+
+        public long getTotalHits() { return totalHits; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.localhelper.search;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Rebuilds an in-memory view of the helpers from a database snapshot while change events keep
+ * arriving. The snapshot is loaded off to the side; every change the owner applies to the live
+ * view meanwhile is recorded, and under the owner's write lock the last change per helper is
+ * replayed onto the snapshot before it replaces the live view. A change committed after the
+ * snapshot was read is therefore never lost, and the live view is never seen half loaded.
+ * Rebuilds run one at a time.
+ *
+ * @param <T> the change applied to the live view for one helper
+ */
+public final class SnapshotRebuild<T> {
+
+    private final ReentrantLock writeLock;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by writeLock
+    private final Map<Long, T> changedDuringRebuild = new HashMap<>();
+    private boolean rebuilding = false;
+
+    public SnapshotRebuild(ReentrantLock writeLock) {
+        this.writeLock = writeLock;
+    }
+
+    /**
+     * Records a change just applied to the live view. Must be called holding the write lock.
+     */
+    public void record(Long helperId, T change) {
+        if (rebuilding) {
+            changedDuringRebuild.put(helperId, change);
+        }
+    }
+
+    /**
+     * Loads a snapshot without holding the write lock, then calls {@code install} holding it with
+     * the changes recorded since loading began. Exceptions from either leave the live view as it was.
+     */
+    public <S> void run(Supplier<S> load, BiConsumer<S, Map<Long, T>> install) {
+        rebuildLock.lock();
+        writeLock.lock();
+        try {
+            changedDuringRebuild.clear();
+            rebuilding = true;
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            S snapshot = load.get();
+            writeLock.lock();
+            try {
+                install.accept(snapshot, changedDuringRebuild);
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                writeLock.unlock();
+                rebuildLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.localhelper.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been verified by {@link JwtProvider}.
+ */
+public class JwtClaims {
+    
+    private final Long userId;
+    private final String role;
+    private final Date expiration;
+    
+    public JwtClaims(Long userId, String role, Date expiration) {
+        this.userId = userId;
+        this.role = role;
+        this.expiration = expiration;
+    }
+    
+    public Long getUserId() { return userId; }
+    
+    public String getRole() { return role; }
+    
+    public Date getExpiration() { return expiration; }
+    
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+}
@@ -1,74 +1,129 @@
 package com.localhelper.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtProvider {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtProvider.class);
     
+    static final String ROLE_CLAIM = "role";
+    static final String VERIFIED_CACHE_NAME = "verifiedTokens";
+    
     @Value("${app.jwtSecret:localHelperSecretKey}")
     private String jwtSecret;
     
     @Value("${app.jwtExpirationInMs:86400000}")
     private int jwtExpirationInMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.verified-cache.enabled:false}")
+    private boolean verifiedCacheEnabled;
+    
+    @Value("${app.jwt.verified-cache.maximum-size:50000}")
+    private long verifiedCacheMaximumSize = 50000;
+    
+    @Value("${app.jwt.verified-cache.ttl:PT5M}")
+    private Duration verifiedCacheTtl = Duration.ofMinutes(5);
+    
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, JwtClaims> verifiedTokens;
+    
+    @PostConstruct
+    public void init() {
+        // Key and parser are immutable and thread-safe, so both are built once
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        
+        if (verifiedCacheEnabled) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaximumSize)
+                    .expireAfterWrite(verifiedCacheTtl)
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, VERIFIED_CACHE_NAME);
+            }
+        }
     }
     
     public String generateToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        String role = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
         
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
-        
-        return Jwts.builder()
-                .subject(Long.toString(userPrincipal.getId()))
-                .issuedAt(new Date())
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        return buildToken(userPrincipal.getId(), role);
     }
     
     public String generateTokenFromUserId(Long userId) {
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
-        
-        return Jwts.builder()
-                .subject(Long.toString(userId))
-                .issuedAt(new Date())
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        return buildToken(userId, null);
     }
     
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private String buildToken(Long userId, String role) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
         
-        return Long.parseLong(claims.getSubject());
+        JwtBuilder builder = Jwts.builder()
+                .subject(Long.toString(userId))
+                .issuedAt(now)
+                .expiration(expiryDate);
+        if (role != null) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+        return builder.signWith(signingKey).compact();
     }
     
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token's signature and expiry in a single parse and returns its claims,
+     * or an empty result when the token is not acceptable.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (verifiedTokens != null) {
+            JwtClaims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                if (!cached.isExpired(System.currentTimeMillis())) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.invalidate(token);
+            }
+        }
+        
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException ex) {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            JwtClaims verified = new JwtClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get(ROLE_CLAIM, String.class),
+                    claims.getExpiration());
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, verified);
+            }
+            return Optional.of(verified);
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
@@ -78,7 +133,19 @@ public class JwtProvider {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            logger.error("JWT validation failed: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+    
+    public Long getUserIdFromJWT(String token) {
+        return verify(token)
+                .map(JwtClaims::getUserId)
+                .orElseThrow(() -> new JwtException("Token could not be verified"));
+    }
+    
+    public boolean validateToken(String authToken) {
+        return verify(authToken).isPresent();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.localhelper.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by user id, so the JWT filter
+ * does not hit the database on every request. Services that change anything a principal carries
+ * (active flag, role, credentials, identity) must call {@link #evict(Long)}.
+ */
+@Component
+public class PrincipalCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+    
+    static final String CACHE_NAME = "principals";
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.security.principal-cache.maximum-size:10000}")
+    private long maximumSize = 10000;
+    
+    @Value("${app.security.principal-cache.ttl:PT5M}")
+    private Duration ttl = Duration.ofMinutes(5);
+    
+    private Cache<Long, UserDetailsImpl> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+    
+    public UserDetailsImpl getPrincipal(Long userId) {
+        return cache.get(userId, id -> (UserDetailsImpl) userDetailsService.loadUserById(id));
+    }
+    
+    /**
+     * Drops the cached principal now and again once the surrounding transaction commits, so a
+     * request racing the change cannot re-cache the state it is about to replace.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+        logger.debug("Evicted cached principal for user ID: {}", userId);
+    }
+    
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -1,5 +1,6 @@
 package com.localhelper.service;
 
+import com.localhelper.analytics.DashboardCounters;
 import com.localhelper.dto.request.LoginRequest;
 import com.localhelper.dto.request.UserRegistrationRequest;
 import com.localhelper.dto.response.JwtAuthenticationResponse;
@@ -8,6 +9,8 @@ import com.localhelper.entity.User;
 import com.localhelper.exception.BusinessException;
 import com.localhelper.repository.UserRepository;
 import com.localhelper.security.JwtProvider;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.util.EmailUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,9 +40,18 @@ public class AuthService {
     @Autowired
     private JwtProvider tokenProvider;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private EmailUtil emailUtil;
+    
     public JwtAuthenticationResponse authenticateUser(LoginRequest loginRequest) {
         logger.info("Authenticating user: {}", loginRequest.getUsernameOrEmail());
         
@@ -94,6 +106,8 @@ public class AuthService {
         user.setIsActive(true);
         
         User savedUser = userRepository.save(user);
+        dashboardCounters.recordCreated(DashboardCounters.CountedEntity.USERS, null);
+        emailUtil.sendWelcomeEmail(savedUser.getEmail(), savedUser.getFullName());
         
         logger.info("User registered successfully: {}", savedUser.getUsername());
         return new UserResponse(savedUser);
@@ -124,6 +138,7 @@ public class AuthService {
         admin.setIsActive(true);
         
         User savedAdmin = userRepository.save(admin);
+        dashboardCounters.recordCreated(DashboardCounters.CountedEntity.USERS, null);
         
         logger.info("Admin registered successfully: {}", savedAdmin.getUsername());
         return new UserResponse(savedAdmin);
@@ -147,6 +162,7 @@ public class AuthService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evict(user.getId());
         
         logger.info("Password reset successfully for user: {}", user.getUsername());
     }
@@ -163,6 +179,7 @@ public class AuthService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evict(userId);
         
         logger.info("Password changed successfully for user: {}", user.getUsername());
     }
@@ -175,6 +192,7 @@ public class AuthService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        principalCache.evict(userId);
         
         logger.info("Account activated successfully for user: {}", user.getUsername());
     }
@@ -187,6 +205,7 @@ public class AuthService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        principalCache.evict(userId);
         
         logger.info("Account deactivated successfully for user: {}", user.getUsername());
     }
@@ -3,9 +3,11 @@ package com.localhelper.service;
 import com.localhelper.dto.request.ComplaintRequest;
 import com.localhelper.dto.response.ComplaintResponse;
 import com.localhelper.entity.Complaint;
+import com.localhelper.entity.DomainEvent;
 import com.localhelper.entity.Helper;
 import com.localhelper.entity.ServiceRequest;
 import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
 import com.localhelper.exception.BusinessException;
 import com.localhelper.repository.ComplaintRepository;
 import com.localhelper.repository.HelperRepository;
@@ -32,6 +34,9 @@ public class ComplaintService {
     @Autowired
     private ComplaintRepository complaintRepository;
     
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -81,6 +86,7 @@ public class ComplaintService {
         }
         
         Complaint savedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_CREATED, savedComplaint, null);
         logger.info("Complaint created successfully with ID: {}", savedComplaint.getId());
         
         return new ComplaintResponse(savedComplaint);
@@ -149,6 +155,7 @@ public class ComplaintService {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new BusinessException("COMPLAINT_NOT_FOUND", "Complaint not found with ID: " + complaintId));
         
+        Complaint.ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(status);
         
         if (status == Complaint.ComplaintStatus.RESOLVED || status == Complaint.ComplaintStatus.CLOSED) {
@@ -156,6 +163,7 @@ public class ComplaintService {
         }
         
         Complaint updatedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_STATUS_CHANGED, updatedComplaint, previousStatus);
         logger.info("Complaint status updated successfully for ID: {}", complaintId);
         
         return new ComplaintResponse(updatedComplaint);
@@ -170,6 +178,7 @@ public class ComplaintService {
         complaint.setPriority(priority);
         
         Complaint updatedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_PRIORITY_CHANGED, updatedComplaint, updatedComplaint.getStatus());
         logger.info("Complaint priority updated successfully for ID: {}", complaintId);
         
         return new ComplaintResponse(updatedComplaint);
@@ -188,12 +197,14 @@ public class ComplaintService {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "Only admin users can resolve complaints");
         }
         
+        Complaint.ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(Complaint.ComplaintStatus.RESOLVED);
         complaint.setAdminResponse(response);
         complaint.setResolvedAt(LocalDateTime.now());
         complaint.setResolvedBy(adminUser);
         
         Complaint resolvedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_RESOLVED, resolvedComplaint, previousStatus);
         logger.info("Complaint resolved successfully with ID: {}", complaintId);
         
         return new ComplaintResponse(resolvedComplaint);
@@ -212,12 +223,14 @@ public class ComplaintService {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "Only admin users can close complaints");
         }
         
+        Complaint.ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(Complaint.ComplaintStatus.CLOSED);
         complaint.setAdminResponse(response);
         complaint.setResolvedAt(LocalDateTime.now());
         complaint.setResolvedBy(adminUser);
         
         Complaint closedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_CLOSED, closedComplaint, previousStatus);
         logger.info("Complaint closed successfully with ID: {}", complaintId);
         
         return new ComplaintResponse(closedComplaint);
@@ -234,11 +247,13 @@ public class ComplaintService {
             throw new BusinessException("INVALID_OPERATION", "Only closed or resolved complaints can be reopened");
         }
         
+        Complaint.ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(Complaint.ComplaintStatus.OPEN);
         complaint.setResolvedAt(null);
         complaint.setResolvedBy(null);
         
         Complaint reopenedComplaint = complaintRepository.save(complaint);
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_REOPENED, reopenedComplaint, previousStatus);
         logger.info("Complaint reopened successfully with ID: {}", complaintId);
         
         return new ComplaintResponse(reopenedComplaint);
@@ -258,6 +273,7 @@ public class ComplaintService {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "Only the complaint creator or admin can delete complaints");
         }
         
+        domainEventOutbox.recordComplaintEvent(DomainEvent.EventType.COMPLAINT_DELETED, complaint, complaint.getStatus());
         complaintRepository.delete(complaint);
         logger.info("Complaint deleted successfully with ID: {}", complaintId);
     }
@@ -0,0 +1,188 @@
+package com.localhelper.service;
+
+import com.localhelper.dto.response.RatingSummaryResponse;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.repository.DomainEventRepository;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps each helper's rating sum, visible review count and 1-5 star histogram current with a
+ * single delta UPDATE per review write, so no write has to re-aggregate the helper's reviews.
+ * A scheduled reconcile compares the stored aggregates with one grouped scan of the reviews
+ * table and recounts only the helpers that have drifted, leaving out helpers whose review
+ * changes the relay has not applied yet.
+ */
+@Service
+@Transactional
+public class HelperRatingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HelperRatingService.class);
+    
+    private static final int RECOUNT_BATCH_SIZE = 500;
+    
+    @Autowired
+    private HelperRepository helperRepository;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+    
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    
+    /**
+     * Moves one review's contribution from {@code previousRating} to {@code newRating}. Either
+     * side is null when the review was not, or is no longer, counted (created, deleted, hidden, shown).
+     */
+    public void recordRatingChange(Long helperId, Integer previousRating, Integer newRating) {
+        if (previousRating == null && newRating == null
+                || previousRating != null && previousRating.equals(newRating)) {
+            return;
+        }
+        
+        int[] starDeltas = new int[6];
+        long sumDelta = 0;
+        int countDelta = 0;
+        if (previousRating != null) {
+            starDeltas[checkRating(previousRating)]--;
+            sumDelta -= previousRating;
+            countDelta--;
+        }
+        if (newRating != null) {
+            starDeltas[checkRating(newRating)]++;
+            sumDelta += newRating;
+            countDelta++;
+        }
+        
+        int updated = helperRepository.applyRatingDelta(helperId, sumDelta, countDelta,
+                starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
+        if (updated == 0) {
+            throw new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId);
+        }
+        logger.debug("Applied rating change {} -> {} to helper ID: {}", previousRating, newRating, helperId);
+    }
+    
+    /**
+     * Applies the rating change carried by a review event. Runs in the domain event relay's
+     * transaction, which also marks the event published, so each change is applied once.
+     */
+    @EventListener
+    public void onReviewEvent(DomainEventMessage event) {
+        Long helperId = event.getLong(DomainEventMessage.HELPER_ID);
+        if (event.getAggregateType() == DomainEvent.AggregateType.REVIEW && helperId != null) {
+            recordRatingChange(helperId, event.getInteger(DomainEventMessage.PREVIOUS_RATING), event.getInteger(DomainEventMessage.RATING));
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public RatingSummaryResponse getRatingSummary(Long helperId) {
+        Helper helper = helperRepository.findById(helperId)
+                .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
+        return new RatingSummaryResponse(helper);
+    }
+    
+    /**
+     * A review and its outbox event commit together, so in one repeatable-read snapshot a review
+     * the recount would count either has its delta applied already or still has a pending event.
+     * Helpers with pending events are left for a later run; recounting them now would count
+     * those reviews twice once the relay applies the delta.
+     */
+    @Scheduled(fixedDelayString = "${app.reviews.reconcile-interval-ms:900000}",
+               initialDelayString = "${app.reviews.reconcile-interval-ms:900000}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int reconcile() {
+        if (!reconcileLock.tryLock()) {
+            return 0;
+        }
+        try {
+            List<Long> drifted = findDriftedHelperIds();
+            drifted.removeAll(findHelperIdsWithPendingReviewEvents());
+            for (int from = 0; from < drifted.size(); from += RECOUNT_BATCH_SIZE) {
+                List<Long> batch = drifted.subList(from, Math.min(from + RECOUNT_BATCH_SIZE, drifted.size()));
+                helperRepository.recountRatingAggregates(batch);
+                helperRepository.recomputeRatings(batch);
+            }
+            if (!drifted.isEmpty()) {
+                logger.warn("Repaired rating aggregates for {} helpers: {}", drifted.size(), drifted);
+            }
+            return drifted.size();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+    
+    private List<Long> findDriftedHelperIds() {
+        Map<Long, long[]> expected = new HashMap<>();
+        for (Object[] row : reviewRepository.countVisibleGroupedByHelperAndRating()) {
+            int rating = checkRating((Integer) row[1]);
+            expected.computeIfAbsent((Long) row[0], id -> new long[6])[rating] = (Long) row[2];
+        }
+        
+        List<Long> drifted = new ArrayList<>();
+        for (Object[] row : helperRepository.findRatingAggregates()) {
+            Long helperId = (Long) row[0];
+            long[] stars = expected.getOrDefault(helperId, new long[6]);
+            long count = 0;
+            long sum = 0;
+            boolean matches = true;
+            for (int rating = 1; rating <= 5; rating++) {
+                count += stars[rating];
+                sum += stars[rating] * rating;
+                matches &= ((Integer) row[2 + rating]).longValue() == stars[rating];
+            }
+            BigDecimal average = count > 0
+                    ? BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            BigDecimal storedAverage = row[8] != null ? (BigDecimal) row[8] : BigDecimal.ZERO;
+            matches &= (Long) row[1] == sum
+                    && ((Integer) row[2]).longValue() == count
+                    && storedAverage.compareTo(average) == 0;
+            if (!matches) {
+                drifted.add(helperId);
+            }
+        }
+        return drifted;
+    }
+    
+    private Set<Long> findHelperIdsWithPendingReviewEvents() {
+        Set<Long> helperIds = new HashSet<>();
+        for (DomainEvent event : domainEventRepository.findByStatusAndAggregateTypeOrderById(
+                DomainEvent.PublishStatus.PENDING, DomainEvent.AggregateType.REVIEW)) {
+            Long helperId = new DomainEventMessage(event).getLong(DomainEventMessage.HELPER_ID);
+            if (helperId != null) {
+                helperIds.add(helperId);
+            }
+        }
+        return helperIds;
+    }
+    
+    private int checkRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new BusinessException("INVALID_RATING", "Rating must be between 1 and 5");
+        }
+        return rating;
+    }
+}
@@ -1,22 +1,49 @@
 package com.localhelper.service;
 
 import com.localhelper.dto.request.HelperRegistrationRequest;
+import com.localhelper.dto.response.EarningsEntryResponse;
 import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.dto.response.NearbyHelperResponse;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.EarningsEntry;
 import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
 import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.event.HelperChangedEvent;
 import com.localhelper.exception.BusinessException;
+import com.localhelper.repository.EarningsEntryRepository;
 import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.PaymentRepository;
 import com.localhelper.repository.UserRepository;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.util.EmailUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +58,42 @@ public class HelperService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private HelperSearchIndex helperSearchIndex;
+    
+    @Autowired
+    private HelperGeoIndex helperGeoIndex;
+    
+    @Autowired
+    private AvailableHelperRanking availableHelperRanking;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EmailUtil emailUtil;
+    
+    @Value("${app.geo.max-radius-km:100}")
+    private double maxRadiusKm = 100;
+    
+    @Value("${app.geo.max-results:100}")
+    private int maxNearbyResults = 100;
+    
     public HelperResponse registerHelper(Long userId, HelperRegistrationRequest request) {
         logger.info("Registering helper for user ID: {}", userId);
         
@@ -49,6 +112,8 @@ public class HelperService {
         helper.setDescription(request.getDescription());
         helper.setHourlyRate(request.getHourlyRate());
         helper.setExperience(request.getExperience());
+        helper.setLatitude(request.getLatitude());
+        helper.setLongitude(request.getLongitude());
         helper.setKycDocumentType(request.getKycDocumentType());
         helper.setKycDocumentNumber(request.getKycDocumentNumber());
         helper.setKycDocumentUrl(request.getKycDocumentUrl());
@@ -59,8 +124,11 @@ public class HelperService {
         // Update user role to HELPER
         user.setRole(User.Role.HELPER);
         userRepository.save(user);
+        principalCache.evict(userId);
         
         Helper savedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_REGISTERED, savedHelper, null);
+        eventPublisher.publishEvent(new HelperChangedEvent(savedHelper));
         logger.info("Helper registered successfully with ID: {}", savedHelper.getId());
         
         return new HelperResponse(savedHelper);
@@ -101,14 +169,89 @@ public class HelperService {
     
     @Transactional(readOnly = true)
     public Page<HelperResponse> getAvailableHelpers(Pageable pageable) {
-        return helperRepository.findByStatusAndIsAvailable(Helper.HelperStatus.APPROVED, true, pageable)
-                .map(HelperResponse::new);
+        // An explicit sort is left to the database; the default order is the landing-page ranking
+        if (!availableHelperRanking.isReady() || pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return helperRepository.findByStatusAndIsAvailable(Helper.HelperStatus.APPROVED, true, pageable)
+                    .map(HelperResponse::new);
+        }
+        
+        // Helpers and their users come from the second-level cache; only misses are fetched, in one query
+        AvailableHelperRanking.RankedPage page = availableHelperRanking.page(pageable.getOffset(), pageable.getPageSize());
+        List<HelperResponse> content = entityManager.unwrap(Session.class)
+                .byMultipleIds(Helper.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(page.getHelperIds()).stream()
+                .filter(Objects::nonNull)
+                .map(HelperResponse::new)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(content, pageable, page.getTotal());
     }
     
     @Transactional(readOnly = true)
     public Page<HelperResponse> searchHelpers(String serviceType, Pageable pageable) {
-        return helperRepository.searchAvailableHelpers(serviceType, pageable)
-                .map(HelperResponse::new);
+        if (!helperSearchIndex.isReady()) {
+            return helperRepository.searchAvailableHelpers(serviceType, pageable)
+                    .map(HelperResponse::new);
+        }
+        
+        // Results come back in relevance order, so the page is assembled from the ranked ids
+        HelperSearchIndex.SearchHits hits = helperSearchIndex.search(
+                serviceType, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Helper> helpersById = helperRepository.findAllWithUserByIdIn(hits.getHelperIds()).stream()
+                .collect(Collectors.toMap(Helper::getId, Function.identity()));
+        List<HelperResponse> content = hits.getHelperIds().stream()
+                .map(helpersById::get)
+                .filter(Objects::nonNull)
+                .map(HelperResponse::new)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NearbyHelperResponse> findNearbyHelpers(Double latitude, Double longitude, Double radiusKm,
+                                                        int limit, String serviceType) {
+        if (latitude == null || latitude < -90 || latitude > 90 || longitude == null || longitude < -180 || longitude > 180) {
+            throw new BusinessException("INVALID_LOCATION", "Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm == null || radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new BusinessException("INVALID_RADIUS", "Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        if (limit < 1 || limit > maxNearbyResults) {
+            throw new BusinessException("INVALID_LIMIT", "Limit must be between 1 and " + maxNearbyResults);
+        }
+        
+        List<HelperGeoIndex.GeoHit> hits = helperGeoIndex.isReady()
+                ? helperGeoIndex.findNearest(latitude, longitude, radiusKm, limit, serviceType)
+                : findNearestInDatabase(latitude, longitude, radiusKm, limit, serviceType);
+        
+        Map<Long, Helper> helpersById = helperRepository.findAllWithUserByIdIn(
+                        hits.stream().map(HelperGeoIndex.GeoHit::getHelperId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Helper::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> helpersById.containsKey(hit.getHelperId()))
+                .map(hit -> new NearbyHelperResponse(new HelperResponse(helpersById.get(hit.getHelperId())), hit.getDistanceKm()))
+                .collect(Collectors.toList());
+    }
+    
+    private List<HelperGeoIndex.GeoHit> findNearestInDatabase(double latitude, double longitude, double radiusKm,
+                                                            int limit, String serviceType) {
+        // Bounding box narrows the scan, exact distances are computed here
+        double latDelta = Math.toDegrees(radiusKm / HelperGeoIndex.EARTH_RADIUS_KM);
+        double lonDelta = Math.min(180.0, latDelta / Math.max(Math.cos(Math.toRadians(Math.abs(latitude) + latDelta)), 0.001));
+        String filter = serviceType != null && !serviceType.isBlank() ? serviceType.trim().toLowerCase() : null;
+        
+        return helperRepository.findAvailableHelpersWithinBounds(
+                        latitude - latDelta, latitude + latDelta, longitude - lonDelta, longitude + lonDelta).stream()
+                .filter(helper -> filter == null
+                        || (helper.getServiceType() != null && helper.getServiceType().toLowerCase().contains(filter)))
+                .map(helper -> new HelperGeoIndex.GeoHit(helper.getId(),
+                        HelperGeoIndex.distanceKm(latitude, longitude, helper.getLatitude(), helper.getLongitude())))
+                .filter(hit -> hit.getDistanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(HelperGeoIndex.GeoHit::getDistanceKm))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
@@ -133,8 +276,12 @@ public class HelperService {
         helper.setDescription(request.getDescription());
         helper.setHourlyRate(request.getHourlyRate());
         helper.setExperience(request.getExperience());
+        helper.setLatitude(request.getLatitude());
+        helper.setLongitude(request.getLongitude());
         
         Helper updatedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_PROFILE_UPDATED, updatedHelper, updatedHelper.getStatus());
+        eventPublisher.publishEvent(new HelperChangedEvent(updatedHelper));
         logger.info("Helper profile updated successfully with ID: {}", updatedHelper.getId());
         
         return new HelperResponse(updatedHelper);
@@ -152,6 +299,8 @@ public class HelperService {
         
         helper.setIsAvailable(isAvailable);
         Helper updatedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_AVAILABILITY_CHANGED, updatedHelper, updatedHelper.getStatus());
+        eventPublisher.publishEvent(new HelperChangedEvent(updatedHelper));
         
         logger.info("Availability updated successfully for helper ID: {}", helperId);
         return new HelperResponse(updatedHelper);
@@ -167,11 +316,15 @@ public class HelperService {
             throw new BusinessException("INVALID_OPERATION", "KYC must be approved before helper approval");
         }
         
+        Helper.HelperStatus previousStatus = helper.getStatus();
         helper.setStatus(Helper.HelperStatus.APPROVED);
         helper.setIsAvailable(true);
         helper.setRejectionReason(null);
         
         Helper approvedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_APPROVED, approvedHelper, previousStatus);
+        eventPublisher.publishEvent(new HelperChangedEvent(approvedHelper));
+        emailUtil.sendHelperApprovalEmail(approvedHelper.getUser().getEmail(), approvedHelper.getUser().getFullName());
         logger.info("Helper approved successfully with ID: {}", helperId);
         
         return new HelperResponse(approvedHelper);
@@ -183,11 +336,15 @@ public class HelperService {
         Helper helper = helperRepository.findById(helperId)
                 .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
         
+        Helper.HelperStatus previousStatus = helper.getStatus();
         helper.setStatus(Helper.HelperStatus.REJECTED);
         helper.setIsAvailable(false);
         helper.setRejectionReason(reason);
         
         Helper rejectedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_REJECTED, rejectedHelper, previousStatus);
+        eventPublisher.publishEvent(new HelperChangedEvent(rejectedHelper));
+        emailUtil.sendHelperRejectionEmail(rejectedHelper.getUser().getEmail(), rejectedHelper.getUser().getFullName(), reason);
         logger.info("Helper rejected successfully with ID: {}", helperId);
         
         return new HelperResponse(rejectedHelper);
@@ -201,6 +358,7 @@ public class HelperService {
         
         helper.setKycStatus(Helper.KycStatus.APPROVED);
         Helper updatedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_KYC_APPROVED, updatedHelper, updatedHelper.getStatus());
         
         logger.info("KYC approved successfully for helper ID: {}", helperId);
         return new HelperResponse(updatedHelper);
@@ -212,41 +370,58 @@ public class HelperService {
         Helper helper = helperRepository.findById(helperId)
                 .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
         
+        Helper.HelperStatus previousStatus = helper.getStatus();
         helper.setKycStatus(Helper.KycStatus.REJECTED);
         helper.setStatus(Helper.HelperStatus.REJECTED);
         helper.setIsAvailable(false);
         helper.setRejectionReason(reason);
         
         Helper rejectedHelper = helperRepository.save(helper);
+        domainEventOutbox.recordHelperEvent(DomainEvent.EventType.HELPER_KYC_REJECTED, rejectedHelper, previousStatus);
+        eventPublisher.publishEvent(new HelperChangedEvent(rejectedHelper));
         logger.info("KYC rejected successfully for helper ID: {}", helperId);
         
         return new HelperResponse(rejectedHelper);
     }
     
-    public void updateHelperRating(Long helperId, BigDecimal newRating, Integer totalReviews) {
-        logger.info("Updating rating for helper ID: {} to {}", helperId, newRating);
-        
-        Helper helper = helperRepository.findById(helperId)
-                .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
-        
-        helper.setRating(newRating);
-        helper.setTotalReviews(totalReviews);
-        helperRepository.save(helper);
-        
-        logger.info("Rating updated successfully for helper ID: {}", helperId);
+    public void recordEarnings(Payment payment, EarningsEntry.EntryType entryType) {
+        Helper helper = payment.getServiceRequest().getHelper();
+        BigDecimal amount = entryType == EarningsEntry.EntryType.PAYMENT_REFUNDED
+                ? payment.getAmount().negate()
+                : payment.getAmount();
+        logger.info("Recording {} of {} for helper ID: {} from payment ID: {}", entryType, amount, helper.getId(), payment.getId());
+        
+        // The unique (payment, entry type) constraint rejects a second credit or debit for the same payment
+        earningsEntryRepository.saveAndFlush(new EarningsEntry(helper, payment, entryType, amount));
+        if (helperRepository.addEarnings(helper.getId(), amount) == 0) {
+            throw new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helper.getId());
+        }
     }
     
-    public void updateHelperEarnings(Long helperId, BigDecimal additionalEarnings) {
-        logger.info("Updating earnings for helper ID: {} with additional: {}", helperId, additionalEarnings);
-        
-        Helper helper = helperRepository.findById(helperId)
-                .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
-        
-        BigDecimal currentEarnings = helper.getTotalEarnings() != null ? helper.getTotalEarnings() : BigDecimal.ZERO;
-        helper.setTotalEarnings(currentEarnings.add(additionalEarnings));
-        
-        helperRepository.save(helper);
-        logger.info("Earnings updated successfully for helper ID: {}", helperId);
+    /**
+     * Credits the helper for a completed payment and debits them for a refund. Runs in the
+     * domain event relay's transaction; a payment already in the ledger is skipped.
+     */
+    @EventListener
+    public void onPaymentEvent(DomainEventMessage event) {
+        EarningsEntry.EntryType entryType = switch (event.getType()) {
+            case PAYMENT_COMPLETED -> EarningsEntry.EntryType.PAYMENT_COMPLETED;
+            case PAYMENT_REFUNDED -> EarningsEntry.EntryType.PAYMENT_REFUNDED;
+            default -> null;
+        };
+        if (entryType == null || event.getLong(DomainEventMessage.HELPER_ID) == null
+                || earningsEntryRepository.existsByPaymentIdAndEntryType(event.getAggregateId(), entryType)) {
+            return;
+        }
+        Payment payment = paymentRepository.findById(event.getAggregateId())
+                .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND", "Payment not found with ID: " + event.getAggregateId()));
+        recordEarnings(payment, entryType);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<EarningsEntryResponse> getEarningsEntries(Long helperId, Pageable pageable) {
+        return earningsEntryRepository.findByHelperIdOrderByCreatedAtDesc(helperId, pageable)
+                .map(EarningsEntryResponse::new);
     }
     
     @Transactional(readOnly = true)
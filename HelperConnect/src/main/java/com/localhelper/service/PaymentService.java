@@ -1,18 +1,28 @@
 package com.localhelper.service;
 
 import com.localhelper.dto.request.PaymentRequest;
+import com.localhelper.dto.response.CursorPage;
 import com.localhelper.dto.response.PaymentResponse;
+import com.localhelper.entity.DomainEvent;
 import com.localhelper.entity.Payment;
 import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.event.PaymentSubmittedEvent;
 import com.localhelper.exception.BusinessException;
+import com.localhelper.payment.GatewayResult;
+import com.localhelper.util.EmailUtil;
+import com.localhelper.util.PageCursor;
 import com.localhelper.repository.PaymentRepository;
 import com.localhelper.repository.ServiceRequestRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -34,7 +44,13 @@ public class PaymentService {
     private ServiceRequestRepository serviceRequestRepository;
     
     @Autowired
-    private HelperService helperService;
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EmailUtil emailUtil;
+    
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
     
     public PaymentResponse createPayment(PaymentRequest request) {
         logger.info("Creating payment for service request ID: {}", request.getServiceRequestId());
@@ -64,6 +80,7 @@ public class PaymentService {
                 request.getPaymentReference() : generatePaymentReference());
         
         Payment savedPayment = paymentRepository.save(payment);
+        domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_CREATED, savedPayment, null);
         logger.info("Payment created successfully with ID: {}", savedPayment.getId());
         
         return new PaymentResponse(savedPayment);
@@ -75,51 +92,69 @@ public class PaymentService {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND", "Payment not found with ID: " + paymentId));
         
-        if (payment.getStatus() != Payment.PaymentStatus.PENDING) {
+        // Conditional update so two concurrent submissions cannot both start a charge
+        if (payment.getStatus() != Payment.PaymentStatus.PENDING ||
+            paymentRepository.transitionStatus(paymentId, Payment.PaymentStatus.PENDING, Payment.PaymentStatus.PROCESSING) == 0) {
             throw new BusinessException("INVALID_OPERATION", "Only pending payments can be processed");
         }
         
-        try {
-            payment.setStatus(Payment.PaymentStatus.PROCESSING);
-            paymentRepository.save(payment);
-            
-            // Simulate payment processing (in real implementation, integrate with payment gateway)
-            boolean paymentSuccess = simulatePaymentProcessing(payment);
-            
-            if (paymentSuccess) {
-                payment.setStatus(Payment.PaymentStatus.COMPLETED);
-                payment.setTransactionId(generateTransactionId());
-                payment.setProcessedAt(LocalDateTime.now());
-                payment.setPaymentGatewayResponse("Payment successful");
-                
-                // Update helper earnings
-                if (payment.getServiceRequest().getHelper() != null) {
-                    helperService.updateHelperEarnings(
-                            payment.getServiceRequest().getHelper().getId(), 
-                            payment.getAmount()
-                    );
-                }
-                
-                logger.info("Payment processed successfully with ID: {}", paymentId);
-            } else {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setFailureReason("Payment gateway declined the transaction");
-                payment.setPaymentGatewayResponse("Payment failed");
-                
-                logger.warn("Payment processing failed for ID: {}", paymentId);
-            }
-            
-            Payment updatedPayment = paymentRepository.save(payment);
-            return new PaymentResponse(updatedPayment);
-            
-        } catch (Exception e) {
-            logger.error("Error processing payment with ID: {}", paymentId, e);
+        // The conditional update cleared the persistence context, so read the new state back
+        Payment submittedPayment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND", "Payment not found with ID: " + paymentId));
+        domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_SUBMITTED, submittedPayment, Payment.PaymentStatus.PENDING);
+        eventPublisher.publishEvent(new PaymentSubmittedEvent(paymentId));
+        logger.info("Payment submitted for processing with ID: {}", paymentId);
+        
+        return new PaymentResponse(submittedPayment);
+    }
+    
+    @Transactional(readOnly = true)
+    public Payment getPaymentForProcessing(Long paymentId) {
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != Payment.PaymentStatus.PROCESSING) {
+            logger.warn("Skipping payment ID: {} as it is no longer processing", paymentId);
+            return null;
+        }
+        return payment;
+    }
+    
+    public PaymentResponse completePayment(Long paymentId, GatewayResult result) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND", "Payment not found with ID: " + paymentId));
+        
+        if (payment.getStatus() != Payment.PaymentStatus.PROCESSING) {
+            logger.warn("Ignoring gateway result for payment ID: {} in status {}", paymentId, payment.getStatus());
+            return new PaymentResponse(payment);
+        }
+        
+        if (result.isSuccess()) {
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            payment.setTransactionId(result.getTransactionId());
+            payment.setProcessedAt(LocalDateTime.now());
+            payment.setPaymentGatewayResponse(result.getGatewayResponse());
+            emailUtil.sendPaymentConfirmationEmail(payment.getServiceRequest().getUser().getEmail(), payment.getAmount().toPlainString());
             
+            logger.info("Payment processed successfully with ID: {}", paymentId);
+        } else {
             payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setFailureReason("Internal error during payment processing");
-            paymentRepository.save(payment);
+            payment.setFailureReason(result.getFailureReason());
+            payment.setPaymentGatewayResponse(result.getGatewayResponse());
             
-            throw new BusinessException("PAYMENT_PROCESSING_ERROR", "Failed to process payment: " + e.getMessage());
+            logger.warn("Payment processing failed for ID: {}", paymentId);
+        }
+        
+        // Helper earnings and dashboard revenue follow from the event once this commits
+        Payment updatedPayment = paymentRepository.save(payment);
+        domainEventOutbox.recordPaymentEvent(result.isSuccess() ? DomainEvent.EventType.PAYMENT_COMPLETED : DomainEvent.EventType.PAYMENT_FAILED,
+                updatedPayment, Payment.PaymentStatus.PROCESSING);
+        return new PaymentResponse(updatedPayment);
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releasePayment(Long paymentId) {
+        if (paymentRepository.transitionStatus(paymentId, Payment.PaymentStatus.PROCESSING, Payment.PaymentStatus.PENDING) > 0) {
+            paymentRepository.findById(paymentId).ifPresent(payment ->
+                    domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_RELEASED, payment, Payment.PaymentStatus.PROCESSING));
         }
     }
     
@@ -137,15 +172,9 @@ public class PaymentService {
         payment.setFailureReason(reason);
         payment.setPaymentGatewayResponse("Refund processed");
         
-        // Reverse helper earnings
-        if (payment.getServiceRequest().getHelper() != null) {
-            helperService.updateHelperEarnings(
-                    payment.getServiceRequest().getHelper().getId(), 
-                    payment.getAmount().negate()
-            );
-        }
-        
+        // The helper's earnings are reversed by the subscriber to this event
         Payment refundedPayment = paymentRepository.save(payment);
+        domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_REFUNDED, refundedPayment, Payment.PaymentStatus.COMPLETED);
         logger.info("Payment refunded successfully with ID: {}", paymentId);
         
         return new PaymentResponse(refundedPayment);
@@ -183,6 +212,31 @@ public class PaymentService {
                 .map(PaymentResponse::new);
     }
     
+    /**
+     * Keyset variant of the payment listing, newest first. A null status lists every payment.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> getPaymentsByStatus(Payment.PaymentStatus status, String cursor, int size) {
+        Pageable pageable = PageCursor.pageOf(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<Payment> payments;
+        if (status == null) {
+            payments = after == null
+                    ? paymentRepository.findKeysetFirstPage(pageable)
+                    : paymentRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), pageable);
+        } else {
+            payments = after == null
+                    ? paymentRepository.findKeysetFirstPageByStatus(status, pageable)
+                    : paymentRepository.findKeysetPageByStatusAfter(status, after.getCreatedAt(), after.getId(), pageable);
+        }
+        return CursorPage.of(payments, PaymentResponse::new, payment -> new PageCursor(payment.getCreatedAt(), payment.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Long> getPaymentIdsByStatus(Payment.PaymentStatus status) {
+        return paymentRepository.findIdsByStatus(status);
+    }
+    
     @Transactional(readOnly = true)
     public BigDecimal calculateTotalEarningsByHelperId(Long helperId) {
         BigDecimal earnings = paymentRepository.calculateTotalEarningsByHelperId(helperId);
@@ -209,20 +263,4 @@ public class PaymentService {
     private String generatePaymentReference() {
         return "PAY-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
     }
-    
-    private String generateTransactionId() {
-        return "TXN-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
-    }
-    
-    private boolean simulatePaymentProcessing(Payment payment) {
-        // Simulate payment gateway processing
-        // In real implementation, integrate with actual payment gateway (Stripe, PayPal, etc.)
-        try {
-            Thread.sleep(2000); // Simulate processing time
-            return Math.random() > 0.1; // 90% success rate for simulation
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.localhelper.service;
 
 import com.localhelper.dto.request.ReviewRequest;
 import com.localhelper.dto.response.ReviewResponse;
+import com.localhelper.entity.DomainEvent;
 import com.localhelper.entity.Helper;
 import com.localhelper.entity.Review;
 import com.localhelper.entity.ServiceRequest;
 import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
 import com.localhelper.exception.BusinessException;
 import com.localhelper.repository.HelperRepository;
 import com.localhelper.repository.ReviewRepository;
@@ -20,7 +22,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,9 @@ public class ReviewService {
     @Autowired
     private ReviewRepository reviewRepository;
     
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -43,7 +47,7 @@ public class ReviewService {
     private ServiceRequestRepository serviceRequestRepository;
     
     @Autowired
-    private HelperService helperService;
+    private HelperRatingService helperRatingService;
     
     public ReviewResponse createReview(Long userId, ReviewRequest request) {
         logger.info("Creating review for helper ID: {} by user ID: {}", request.getHelperId(), userId);
@@ -84,10 +88,9 @@ public class ReviewService {
         review.setComment(request.getComment());
         review.setIsVisible(true);
         
+        // The helper's rating aggregates are updated by the subscriber to this event
         Review savedReview = reviewRepository.save(review);
-        
-        // Update helper's rating
-        updateHelperRating(request.getHelperId());
+        domainEventOutbox.recordReviewEvent(DomainEvent.EventType.REVIEW_CREATED, savedReview, null, savedReview.getRating());
         
         logger.info("Review created successfully with ID: {}", savedReview.getId());
         return new ReviewResponse(savedReview);
@@ -148,13 +151,16 @@ public class ReviewService {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "User can only update their own reviews");
         }
         
+        Integer previousRating = review.getRating();
         review.setRating(request.getRating());
         review.setComment(request.getComment());
         
         Review updatedReview = reviewRepository.save(review);
         
-        // Update helper's rating
-        updateHelperRating(review.getHelper().getId());
+        // Hidden reviews do not count toward the helper's rating
+        boolean visible = Boolean.TRUE.equals(updatedReview.getIsVisible());
+        domainEventOutbox.recordReviewEvent(DomainEvent.EventType.REVIEW_UPDATED, updatedReview,
+                visible ? previousRating : null, visible ? updatedReview.getRating() : null);
         
         logger.info("Review updated successfully with ID: {}", reviewId);
         return new ReviewResponse(updatedReview);
@@ -170,12 +176,10 @@ public class ReviewService {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "User can only delete their own reviews");
         }
         
-        Long helperId = review.getHelper().getId();
+        boolean wasVisible = Boolean.TRUE.equals(review.getIsVisible());
+        domainEventOutbox.recordReviewEvent(DomainEvent.EventType.REVIEW_DELETED, review, wasVisible ? review.getRating() : null, null);
         reviewRepository.delete(review);
         
-        // Update helper's rating after deletion
-        updateHelperRating(helperId);
-        
         logger.info("Review deleted successfully with ID: {}", reviewId);
     }
     
@@ -185,11 +189,10 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new BusinessException("REVIEW_NOT_FOUND", "Review not found with ID: " + reviewId));
         
+        boolean wasVisible = Boolean.TRUE.equals(review.getIsVisible());
         review.setIsVisible(false);
         Review updatedReview = reviewRepository.save(review);
-        
-        // Update helper's rating
-        updateHelperRating(review.getHelper().getId());
+        domainEventOutbox.recordReviewEvent(DomainEvent.EventType.REVIEW_HIDDEN, updatedReview, wasVisible ? review.getRating() : null, null);
         
         logger.info("Review hidden successfully with ID: {}", reviewId);
         return new ReviewResponse(updatedReview);
@@ -201,43 +204,23 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new BusinessException("REVIEW_NOT_FOUND", "Review not found with ID: " + reviewId));
         
+        boolean wasVisible = Boolean.TRUE.equals(review.getIsVisible());
         review.setIsVisible(true);
         Review updatedReview = reviewRepository.save(review);
-        
-        // Update helper's rating
-        updateHelperRating(review.getHelper().getId());
+        domainEventOutbox.recordReviewEvent(DomainEvent.EventType.REVIEW_SHOWN, updatedReview, null, wasVisible ? null : review.getRating());
         
         logger.info("Review shown successfully with ID: {}", reviewId);
         return new ReviewResponse(updatedReview);
     }
     
-    private void updateHelperRating(Long helperId) {
-        logger.info("Updating rating for helper ID: {}", helperId);
-        
-        BigDecimal averageRating = reviewRepository.calculateAverageRatingByHelperId(helperId);
-        Long totalReviews = reviewRepository.countVisibleReviewsByHelperId(helperId);
-        
-        if (averageRating == null) {
-            averageRating = BigDecimal.ZERO;
-        } else {
-            averageRating = averageRating.setScale(2, RoundingMode.HALF_UP);
-        }
-        
-        helperService.updateHelperRating(helperId, averageRating, totalReviews.intValue());
-        
-        logger.info("Helper rating updated successfully for ID: {} - Rating: {}, Total Reviews: {}", 
-                   helperId, averageRating, totalReviews);
-    }
-    
     @Transactional(readOnly = true)
     public BigDecimal getAverageRatingByHelperId(Long helperId) {
-        BigDecimal rating = reviewRepository.calculateAverageRatingByHelperId(helperId);
-        return rating != null ? rating.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        return helperRatingService.getRatingSummary(helperId).getAverageRating();
     }
     
     @Transactional(readOnly = true)
     public Long getReviewCountByHelperId(Long helperId) {
-        return reviewRepository.countVisibleReviewsByHelperId(helperId);
+        return helperRatingService.getRatingSummary(helperId).getTotalReviews().longValue();
     }
     
     @Transactional(readOnly = true)
@@ -1,19 +1,28 @@
 package com.localhelper.service;
 
 import com.localhelper.dto.request.ServiceRequestRequest;
+import com.localhelper.dto.response.CursorPage;
 import com.localhelper.dto.response.ServiceRequestResponse;
+import com.localhelper.entity.DomainEvent;
 import com.localhelper.entity.Helper;
 import com.localhelper.entity.ServiceRequest;
 import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.event.ServiceRequestChangedEvent;
 import com.localhelper.exception.BusinessException;
+import com.localhelper.exception.ConflictException;
 import com.localhelper.repository.HelperRepository;
 import com.localhelper.repository.ServiceRequestRepository;
 import com.localhelper.repository.UserRepository;
+import com.localhelper.util.EmailUtil;
+import com.localhelper.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,12 +39,21 @@ public class ServiceRequestService {
     @Autowired
     private ServiceRequestRepository serviceRequestRepository;
     
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private HelperRepository helperRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EmailUtil emailUtil;
+    
     public ServiceRequestResponse createServiceRequest(Long userId, ServiceRequestRequest request) {
         logger.info("Creating service request for user ID: {}", userId);
         
@@ -47,6 +65,8 @@ public class ServiceRequestService {
         serviceRequest.setServiceType(request.getServiceType());
         serviceRequest.setDescription(request.getDescription());
         serviceRequest.setLocation(request.getLocation());
+        serviceRequest.setLatitude(request.getLatitude());
+        serviceRequest.setLongitude(request.getLongitude());
         serviceRequest.setScheduledDate(request.getScheduledDate());
         serviceRequest.setDurationHours(request.getDurationHours());
         serviceRequest.setBudget(request.getBudget());
@@ -54,6 +74,8 @@ public class ServiceRequestService {
         serviceRequest.setStatus(ServiceRequest.RequestStatus.PENDING);
         
         ServiceRequest savedRequest = serviceRequestRepository.save(serviceRequest);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_CREATED, savedRequest, null);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(savedRequest, null));
         logger.info("Service request created successfully with ID: {}", savedRequest.getId());
         
         return new ServiceRequestResponse(savedRequest);
@@ -98,6 +120,27 @@ public class ServiceRequestService {
                 .map(ServiceRequestResponse::new);
     }
     
+    /**
+     * Keyset variant of the service request listing, newest first. A null status lists every request.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceRequestResponse> getServiceRequestsByStatus(ServiceRequest.RequestStatus status, String cursor, int size) {
+        Pageable pageable = PageCursor.pageOf(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<ServiceRequest> serviceRequests;
+        if (status == null) {
+            serviceRequests = after == null
+                    ? serviceRequestRepository.findKeysetFirstPage(pageable)
+                    : serviceRequestRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), pageable);
+        } else {
+            serviceRequests = after == null
+                    ? serviceRequestRepository.findKeysetFirstPageByStatus(status, pageable)
+                    : serviceRequestRepository.findKeysetPageByStatusAfter(status, after.getCreatedAt(), after.getId(), pageable);
+        }
+        return CursorPage.of(serviceRequests, ServiceRequestResponse::new,
+                serviceRequest -> new PageCursor(serviceRequest.getCreatedAt(), serviceRequest.getId()));
+    }
+    
     @Transactional(readOnly = true)
     public List<ServiceRequestResponse> getPendingRequestsByServiceType(String serviceType) {
         return serviceRequestRepository.findPendingRequestsByServiceType(serviceType).stream()
@@ -115,17 +158,18 @@ public class ServiceRequestService {
                 .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
         
         if (serviceRequest.getStatus() != ServiceRequest.RequestStatus.PENDING) {
-            throw new BusinessException("INVALID_OPERATION", "Service request is not in pending status");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Service request is not in pending status");
         }
         
         if (helper.getStatus() != Helper.HelperStatus.APPROVED || !helper.getIsAvailable()) {
             throw new BusinessException("INVALID_OPERATION", "Helper is not approved or available");
         }
         
-        serviceRequest.setHelper(helper);
-        serviceRequest.setStatus(ServiceRequest.RequestStatus.ACCEPTED);
-        
-        ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        checkTransitioned(serviceRequestRepository.compareAndSetAccepted(requestId, serviceRequest.getVersion(), helper), requestId);
+        ServiceRequest updatedRequest = reload(requestId);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_ACCEPTED, updatedRequest, ServiceRequest.RequestStatus.PENDING);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(updatedRequest, ServiceRequest.RequestStatus.PENDING));
+        emailUtil.sendServiceRequestNotification(updatedRequest.getUser().getEmail(), updatedRequest.getServiceType());
         logger.info("Service request accepted successfully with ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -141,13 +185,13 @@ public class ServiceRequestService {
                 .orElseThrow(() -> new BusinessException("HELPER_NOT_FOUND", "Helper not found with ID: " + helperId));
         
         if (serviceRequest.getStatus() != ServiceRequest.RequestStatus.PENDING) {
-            throw new BusinessException("INVALID_OPERATION", "Service request is not in pending status");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Service request is not in pending status");
         }
         
-        serviceRequest.setStatus(ServiceRequest.RequestStatus.REJECTED);
-        serviceRequest.setRejectionReason(reason);
-        
-        ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        checkTransitioned(serviceRequestRepository.compareAndSetRejected(requestId, serviceRequest.getVersion(), reason), requestId);
+        ServiceRequest updatedRequest = reload(requestId);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_REJECTED, updatedRequest, ServiceRequest.RequestStatus.PENDING);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(updatedRequest, ServiceRequest.RequestStatus.PENDING));
         logger.info("Service request rejected successfully with ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -159,17 +203,19 @@ public class ServiceRequestService {
         ServiceRequest serviceRequest = serviceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new BusinessException("SERVICE_REQUEST_NOT_FOUND", "Service request not found with ID: " + requestId));
         
-        if (!serviceRequest.getHelper().getId().equals(helperId)) {
+        if (serviceRequest.getHelper() == null || !serviceRequest.getHelper().getId().equals(helperId)) {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "Only assigned helper can start the service");
         }
         
         if (serviceRequest.getStatus() != ServiceRequest.RequestStatus.ACCEPTED) {
-            throw new BusinessException("INVALID_OPERATION", "Service request must be accepted before starting");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Service request must be accepted before starting");
         }
         
-        serviceRequest.setStatus(ServiceRequest.RequestStatus.IN_PROGRESS);
-        
-        ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        checkTransitioned(serviceRequestRepository.compareAndSetStatus(requestId, serviceRequest.getVersion(),
+                ServiceRequest.RequestStatus.ACCEPTED, ServiceRequest.RequestStatus.IN_PROGRESS), requestId);
+        ServiceRequest updatedRequest = reload(requestId);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_STARTED, updatedRequest, ServiceRequest.RequestStatus.ACCEPTED);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(updatedRequest, ServiceRequest.RequestStatus.ACCEPTED));
         logger.info("Service started successfully for request ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -181,19 +227,18 @@ public class ServiceRequestService {
         ServiceRequest serviceRequest = serviceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new BusinessException("SERVICE_REQUEST_NOT_FOUND", "Service request not found with ID: " + requestId));
         
-        if (!serviceRequest.getHelper().getId().equals(helperId)) {
+        if (serviceRequest.getHelper() == null || !serviceRequest.getHelper().getId().equals(helperId)) {
             throw new BusinessException("UNAUTHORIZED_ACCESS", "Only assigned helper can complete the service");
         }
         
         if (serviceRequest.getStatus() != ServiceRequest.RequestStatus.IN_PROGRESS) {
-            throw new BusinessException("INVALID_OPERATION", "Service request must be in progress before completion");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Service request must be in progress before completion");
         }
         
-        serviceRequest.setStatus(ServiceRequest.RequestStatus.COMPLETED);
-        serviceRequest.setIsCompleted(true);
-        serviceRequest.setCompletedAt(LocalDateTime.now());
-        
-        ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        checkTransitioned(serviceRequestRepository.compareAndSetCompleted(requestId, serviceRequest.getVersion(), LocalDateTime.now()), requestId);
+        ServiceRequest updatedRequest = reload(requestId);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_COMPLETED, updatedRequest, ServiceRequest.RequestStatus.IN_PROGRESS);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(updatedRequest, ServiceRequest.RequestStatus.IN_PROGRESS));
         logger.info("Service completed successfully for request ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -210,12 +255,15 @@ public class ServiceRequestService {
         }
         
         if (serviceRequest.getStatus() == ServiceRequest.RequestStatus.COMPLETED) {
-            throw new BusinessException("INVALID_OPERATION", "Cannot cancel completed service request");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Cannot cancel completed service request");
         }
         
-        serviceRequest.setStatus(ServiceRequest.RequestStatus.CANCELLED);
-        
-        ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        ServiceRequest.RequestStatus previousStatus = serviceRequest.getStatus();
+        checkTransitioned(serviceRequestRepository.compareAndSetStatus(requestId, serviceRequest.getVersion(),
+                previousStatus, ServiceRequest.RequestStatus.CANCELLED), requestId);
+        ServiceRequest updatedRequest = reload(requestId);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_CANCELLED, updatedRequest, previousStatus);
+        eventPublisher.publishEvent(new ServiceRequestChangedEvent(updatedRequest, previousStatus));
         logger.info("Service request cancelled successfully with ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -232,18 +280,21 @@ public class ServiceRequestService {
         }
         
         if (serviceRequest.getStatus() != ServiceRequest.RequestStatus.PENDING) {
-            throw new BusinessException("INVALID_OPERATION", "Only pending service requests can be updated");
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT", "Only pending service requests can be updated");
         }
         
         serviceRequest.setServiceType(request.getServiceType());
         serviceRequest.setDescription(request.getDescription());
         serviceRequest.setLocation(request.getLocation());
+        serviceRequest.setLatitude(request.getLatitude());
+        serviceRequest.setLongitude(request.getLongitude());
         serviceRequest.setScheduledDate(request.getScheduledDate());
         serviceRequest.setDurationHours(request.getDurationHours());
         serviceRequest.setBudget(request.getBudget());
         serviceRequest.setNotes(request.getNotes());
         
         ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
+        domainEventOutbox.recordServiceRequestEvent(DomainEvent.EventType.SERVICE_REQUEST_UPDATED, updatedRequest, updatedRequest.getStatus());
         logger.info("Service request updated successfully with ID: {}", requestId);
         
         return new ServiceRequestResponse(updatedRequest);
@@ -268,4 +319,17 @@ public class ServiceRequestService {
     public Long getServiceRequestCountByHelperId(Long helperId) {
         return serviceRequestRepository.countByHelperId(helperId);
     }
-}
\ No newline at end of file
+    
+    private void checkTransitioned(int updatedRows, Long requestId) {
+        if (updatedRows == 0) {
+            logger.info("Lost a concurrent transition race for service request ID: {}", requestId);
+            throw new ConflictException("SERVICE_REQUEST_CONFLICT",
+                    "Service request was modified by another request. Please reload and try again");
+        }
+    }
+    
+    private ServiceRequest reload(Long requestId) {
+        return serviceRequestRepository.findById(requestId)
+                .orElseThrow(() -> new BusinessException("SERVICE_REQUEST_NOT_FOUND", "Service request not found with ID: " + requestId));
+    }
+}
@@ -1,15 +1,20 @@
 package com.localhelper.service;
 
+import com.localhelper.analytics.DashboardCounters;
 import com.localhelper.dto.request.UserRegistrationRequest;
+import com.localhelper.dto.response.CursorPage;
 import com.localhelper.dto.response.UserResponse;
 import com.localhelper.entity.User;
 import com.localhelper.exception.BusinessException;
 import com.localhelper.repository.UserRepository;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +34,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    
     public UserResponse createUser(UserRegistrationRequest request) {
         logger.info("Creating new user with username: {}", request.getUsername());
         
@@ -54,6 +65,7 @@ public class UserService {
         user.setIsActive(true);
         
         User savedUser = userRepository.save(user);
+        dashboardCounters.recordCreated(DashboardCounters.CountedEntity.USERS, null);
         logger.info("User created successfully with ID: {}", savedUser.getId());
         
         return new UserResponse(savedUser);
@@ -93,6 +105,16 @@ public class UserService {
                 .map(UserResponse::new);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getAllUsers(String cursor, int size) {
+        Pageable pageable = PageCursor.pageOf(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<User> users = after == null
+                ? userRepository.findKeysetFirstPage(pageable)
+                : userRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), pageable);
+        return CursorPage.of(users, UserResponse::new, user -> new PageCursor(user.getCreatedAt(), user.getId()));
+    }
+    
     @Transactional(readOnly = true)
     public List<UserResponse> getUsersByRole(User.Role role) {
         return userRepository.findByRole(role).stream()
@@ -137,6 +159,7 @@ public class UserService {
         user.setAddress(request.getAddress());
         
         User updatedUser = userRepository.save(user);
+        principalCache.evict(id);
         logger.info("User updated successfully with ID: {}", updatedUser.getId());
         
         return new UserResponse(updatedUser);
@@ -150,6 +173,7 @@ public class UserService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        principalCache.evict(id);
         
         logger.info("User activated successfully with ID: {}", id);
     }
@@ -162,6 +186,7 @@ public class UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        principalCache.evict(id);
         
         logger.info("User deactivated successfully with ID: {}", id);
     }
@@ -173,6 +198,8 @@ public class UserService {
                 .orElseThrow(() -> new BusinessException("USER_NOT_FOUND", "User not found with ID: " + id));
         
         userRepository.delete(user);
+        dashboardCounters.recordDeleted(DashboardCounters.CountedEntity.USERS, null);
+        principalCache.evict(id);
         logger.info("User deleted successfully with ID: {}", id);
     }
     
@@ -188,6 +215,7 @@ public class UserService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evict(userId);
         
         logger.info("Password changed successfully for user ID: {}", userId);
     }
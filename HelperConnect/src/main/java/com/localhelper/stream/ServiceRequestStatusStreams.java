@@ -0,0 +1,162 @@
+package com.localhelper.stream;
+
+import com.localhelper.event.ServiceRequestChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed service request status changes to the requesting user's open streams.
+ * The last {@code app.streams.replay-size} updates per user are kept for
+ * {@code app.streams.replay-window-ms}, so a client reconnecting with {@code Last-Event-ID}
+ * receives what it missed. When the missed range is no longer held, for instance after a
+ * restart, a {@code resync} event tells the client to reload its requests instead.
+ */
+@Component
+public class ServiceRequestStatusStreams extends SseStreamRegistry {
+
+    public static final String STATUS_EVENT = "status";
+    public static final String RESYNC_EVENT = "resync";
+
+    @Value("${app.streams.timeout-ms:1800000}")
+    private long streamTimeoutMs = 1800000;
+
+    @Value("${app.streams.replay-size:50}")
+    private int replaySize = 50;
+
+    @Value("${app.streams.replay-window-ms:600000}")
+    private long replayWindowMs = 600000;
+
+    // Seeded from the clock so ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Long, ReplayBuffer> buffers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        while (true) {
+            ReplayBuffer buffer = buffers.computeIfAbsent(userId, id -> new ReplayBuffer(sequence.get()));
+            buffer.lock.lock();
+            try {
+                if (buffer.retired) {
+                    continue;
+                }
+                SseEmitter emitter = open(userId, streamTimeoutMs);
+                if (lastEventId != null && !lastEventId.isBlank()) {
+                    replay(userId, emitter, buffer, lastEventId.trim());
+                }
+                return emitter;
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        while (true) {
+            ReplayBuffer buffer = buffers.computeIfAbsent(event.getUserId(), id -> new ReplayBuffer(sequence.get()));
+            buffer.lock.lock();
+            try {
+                if (buffer.retired) {
+                    continue;
+                }
+                // Ids are taken under the buffer lock so each user's buffer stays in id order
+                Update update = new Update(sequence.incrementAndGet(), System.currentTimeMillis(),
+                        new ServiceRequestStatusUpdate(event, LocalDateTime.now()));
+                buffer.updates.addLast(update);
+                while (buffer.updates.size() > replaySize) {
+                    buffer.floor = buffer.updates.removeFirst().id;
+                }
+                send(event.getUserId(), update::toEvent);
+                return;
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.streams.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        heartbeat();
+        expireReplayBuffers();
+    }
+
+    private void expireReplayBuffers() {
+        long cutoff = System.currentTimeMillis() - replayWindowMs;
+        for (Map.Entry<Long, ReplayBuffer> entry : buffers.entrySet()) {
+            ReplayBuffer buffer = entry.getValue();
+            buffer.lock.lock();
+            try {
+                while (!buffer.updates.isEmpty() && buffer.updates.peekFirst().createdAtMillis < cutoff) {
+                    buffer.floor = buffer.updates.removeFirst().id;
+                }
+                if (buffer.updates.isEmpty() && !isConnected(entry.getKey())) {
+                    buffer.retired = true;
+                    buffers.remove(entry.getKey(), buffer);
+                }
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+    }
+
+    private void replay(Long userId, SseEmitter emitter, ReplayBuffer buffer, String lastEventId) {
+        long after;
+        try {
+            after = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            after = -1;
+        }
+        if (after < buffer.floor || after > sequence.get()) {
+            send(userId, emitter, SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+        }
+        for (Update update : buffer.updates) {
+            if (update.id > after) {
+                send(userId, emitter, update.toEvent());
+            }
+        }
+    }
+
+    private static final class ReplayBuffer {
+
+        private final Deque<Update> updates = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        // Updates with ids up to here are no longer held
+        private long floor;
+        private boolean retired;
+
+        private ReplayBuffer(long floor) {
+            this.floor = floor;
+        }
+    }
+
+    private static final class Update {
+
+        private final long id;
+        private final long createdAtMillis;
+        private final ServiceRequestStatusUpdate payload;
+
+        private Update(long id, long createdAtMillis, ServiceRequestStatusUpdate payload) {
+            this.id = id;
+            this.createdAtMillis = createdAtMillis;
+            this.payload = payload;
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            return SseEmitter.event().id(String.valueOf(id)).name(STATUS_EVENT).data(payload, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.localhelper.stream;
+
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.ServiceRequestChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a {@code status} event pushed to the owner of a service request.
+ */
+public class ServiceRequestStatusUpdate {
+
+    private final Long requestId;
+    private final Long helperId;
+    private final ServiceRequest.RequestStatus previousStatus;
+    private final ServiceRequest.RequestStatus status;
+    private final LocalDateTime changedAt;
+
+    public ServiceRequestStatusUpdate(ServiceRequestChangedEvent event, LocalDateTime changedAt) {
+        this.requestId = event.getRequestId();
+        this.helperId = event.getHelperId();
+        this.previousStatus = event.getPreviousStatus();
+        this.status = event.getStatus();
+        this.changedAt = changedAt;
+    }
+
+    public Long getRequestId() { return requestId; }
+
+    public Long getHelperId() { return helperId; }
+
+    public ServiceRequest.RequestStatus getPreviousStatus() { return previousStatus; }
+
+    public ServiceRequest.RequestStatus getStatus() { return status; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
@@ -0,0 +1,105 @@
+package com.localhelper.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+/**
+ * Open server-sent event streams keyed by user or helper id. Streams run on async servlet
+ * requests, so an idle connection holds no container thread; a key may have several streams
+ * open (one per device) and an event counts as delivered when any of them accepted it.
+ */
+public abstract class SseStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseStreamRegistry.class);
+
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    protected SseEmitter open(Long key, long timeoutMs) {
+        SseEmitter emitter = createEmitter(timeoutMs);
+        streams.compute(key, (id, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            current.add(emitter);
+            return current;
+        });
+        emitter.onCompletion(() -> disconnect(key, emitter));
+        emitter.onTimeout(() -> disconnect(key, emitter));
+        emitter.onError(e -> disconnect(key, emitter));
+        return emitter;
+    }
+
+    protected SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    public boolean isConnected(Long key) {
+        return streams.containsKey(key);
+    }
+
+    public int connectedKeys() {
+        return streams.size();
+    }
+
+    public int openStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Sends to every stream of the key. Event builders are single use, so one is built per stream.
+     */
+    protected boolean send(Long key, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> emitters = streams.get(key);
+        if (emitters == null) {
+            return false;
+        }
+        boolean delivered = false;
+        for (SseEmitter emitter : emitters) {
+            delivered |= send(key, emitter, event.get());
+        }
+        return delivered;
+    }
+
+    protected boolean send(Long key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; drop the stream so later events skip it
+            disconnect(key, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes a comment line to every open stream. Keeps proxies from closing idle connections
+     * and surfaces clients that disconnected without a clean close.
+     */
+    protected void heartbeat() {
+        int dropped = 0;
+        for (Map.Entry<Long, Set<SseEmitter>> entry : streams.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                if (!send(entry.getKey(), emitter, SseEmitter.event().comment("heartbeat"))) {
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) {
+            logger.debug("Heartbeat dropped {} closed streams from {}", dropped, getClass().getSimpleName());
+        }
+    }
+
+    private void disconnect(Long key, SseEmitter emitter) {
+        streams.computeIfPresent(key, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -1,42 +1,63 @@
 package com.localhelper.util;
 
+import com.localhelper.entity.Notification;
+import com.localhelper.notification.NotificationOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Composes outbound emails and queues them in the notification outbox. Calls made inside a
+ * service transaction are only sent if that transaction commits.
+ */
 @Component
 public class EmailUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(EmailUtil.class);
     
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+    
     public void sendWelcomeEmail(String email, String fullName) {
-        logger.info("Sending welcome email to: {}", email);
-        // TODO: Implement email sending functionality
-        // This could integrate with services like SendGrid, AWS SES, or SMTP
+        logger.info("Queueing welcome email to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.WELCOME, email,
+                "Welcome to Local Helper",
+                "Hi " + fullName + ",\n\nYour Local Helper account is ready. You can now book trusted helpers near you.");
     }
     
     public void sendHelperApprovalEmail(String email, String fullName) {
-        logger.info("Sending helper approval email to: {}", email);
-        // TODO: Implement email sending functionality
+        logger.info("Queueing helper approval email to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.HELPER_APPROVED, email,
+                "Your helper profile is approved",
+                "Hi " + fullName + ",\n\nYour helper profile has been approved and you can now receive service requests.");
     }
     
     public void sendHelperRejectionEmail(String email, String fullName, String reason) {
-        logger.info("Sending helper rejection email to: {}", email);
-        // TODO: Implement email sending functionality
+        logger.info("Queueing helper rejection email to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.HELPER_REJECTED, email,
+                "Your helper application was not approved",
+                "Hi " + fullName + ",\n\nYour helper application was not approved. Reason: " + reason);
     }
     
     public void sendServiceRequestNotification(String email, String serviceType) {
-        logger.info("Sending service request notification to: {}", email);
-        // TODO: Implement email sending functionality
+        logger.info("Queueing service request notification to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.SERVICE_REQUEST, email,
+                "Update on your " + serviceType + " request",
+                "A helper has accepted your " + serviceType + " request. Open the app to see the details.");
     }
     
     public void sendPaymentConfirmationEmail(String email, String amount) {
-        logger.info("Sending payment confirmation email to: {}", email);
-        // TODO: Implement email sending functionality
+        logger.info("Queueing payment confirmation email to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.PAYMENT_CONFIRMATION, email,
+                "Payment received",
+                "We have received your payment of " + amount + ". Thank you for using Local Helper.");
     }
     
     public void sendPasswordResetEmail(String email, String resetToken) {
-        logger.info("Sending password reset email to: {}", email);
-        // TODO: Implement email sending functionality
+        logger.info("Queueing password reset email to: {}", email);
+        notificationOutbox.enqueue(Notification.NotificationType.PASSWORD_RESET, email,
+                "Reset your password",
+                "Use this code to reset your Local Helper password: " + resetToken);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.localhelper.util;
+
+import com.localhelper.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row on a keyset page, ordered by (createdAt, id) descending.
+ * Handed to clients as an opaque URL-safe token and decoded on the next request.
+ *
+ * The token is encoded, not signed: decoding only rejects tokens that are not a well-formed
+ * position, and an edited token decodes to whatever position it names. The keyset queries apply
+ * their status filters regardless, so such a cursor only moves where the listing resumes.
+ */
+public final class PageCursor {
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private static final String SEPARATOR = "|";
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    public PageCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public Long getId() { return id; }
+    
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Returns null for a missing cursor, meaning the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("INVALID_CURSOR", "Invalid page cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("INVALID_CURSOR", "Invalid page cursor", e);
+        }
+    }
+    
+    /**
+     * Page request for a keyset query; the ordering lives in the query itself.
+     */
+    public static Pageable pageOf(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size);
+    }
+}
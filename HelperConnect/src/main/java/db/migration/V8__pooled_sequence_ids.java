@@ -0,0 +1,67 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Moves the marketplace tables from identity columns to sequences that Hibernate allocates from
+ * in blocks of {@link #ALLOCATION_SIZE} (pooled-lo), so inserts can be sent in JDBC batches. Each
+ * sequence starts after the largest existing id, which needs the data and is why this is a Java
+ * migration. The outbox and ledger tables keep their identity columns: domain events are relayed
+ * in id order and none of them is inserted in bulk.
+ *
+ * Databases created by Hibernate have {@code generated by default as identity} id columns, those
+ * from an early V1 have {@code bigserial} ones; the column is inspected to drop whichever it has.
+ */
+public class V8__pooled_sequence_ids extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of(
+            "users", "helpers", "service_requests", "payments", "reviews", "complaints");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long start = nextId(statement, table);
+                statement.execute("create sequence " + table + "_seq start with " + start + " increment by " + ALLOCATION_SIZE);
+                // Ids now come from the application, so the old generator is dropped rather than left to collide
+                if (isIdentity(connection, table)) {
+                    statement.execute("alter table " + table + " alter column id drop identity");
+                } else {
+                    statement.execute("alter table " + table + " alter column id drop default");
+                    statement.execute("drop sequence if exists " + table + "_id_seq");
+                }
+            }
+        }
+    }
+
+    private static boolean isIdentity(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select is_identity from information_schema.columns "
+                + "where table_schema = current_schema() and table_name = ? and column_name = 'id'")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No id column found on " + table);
+                }
+                return "YES".equalsIgnoreCase(rs.getString(1));
+            }
+        }
+    }
+
+    private static long nextId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    full_name varchar(255) not null,
+    phone varchar(255) not null,
+    address varchar(255),
+    role varchar(255) not null check (role in ('USER','HELPER','ADMIN')),
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table helpers (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    service_type varchar(255) not null,
+    description TEXT,
+    hourly_rate numeric(10,2) not null,
+    experience varchar(255),
+    latitude float(53),
+    longitude float(53),
+    kyc_document_type varchar(255) not null,
+    kyc_document_number varchar(255) not null,
+    kyc_document_url varchar(255) not null,
+    kyc_status varchar(255) not null check (kyc_status in ('PENDING','APPROVED','REJECTED')),
+    status varchar(255) not null check (status in ('PENDING','APPROVED','REJECTED','SUSPENDED')),
+    is_available boolean not null,
+    rating numeric(3,2),
+    total_reviews integer not null,
+    total_earnings numeric(12,2),
+    rejection_reason varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_helpers_user_id unique (user_id),
+    constraint fk_helpers_user foreign key (user_id) references users
+);
+
+create table service_requests (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    helper_id bigint,
+    service_type varchar(255) not null,
+    description TEXT,
+    location varchar(255) not null,
+    latitude float(53),
+    longitude float(53),
+    scheduled_date timestamp(6) not null,
+    duration_hours numeric(4,2),
+    budget numeric(10,2),
+    status varchar(255) not null check (status in ('PENDING','ACCEPTED','REJECTED','IN_PROGRESS','COMPLETED','CANCELLED')),
+    notes varchar(255),
+    rejection_reason varchar(255),
+    is_completed boolean not null,
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint fk_service_requests_user foreign key (user_id) references users,
+    constraint fk_service_requests_helper foreign key (helper_id) references helpers
+);
+
+create table payments (
+    id bigint generated by default as identity,
+    service_request_id bigint not null,
+    amount numeric(10,2) not null,
+    payment_method varchar(255) not null check (payment_method in ('CREDIT_CARD','DEBIT_CARD','PAYPAL','UPI','NET_BANKING','WALLET')),
+    status varchar(255) not null check (status in ('PENDING','PROCESSING','COMPLETED','FAILED','REFUNDED','CANCELLED')),
+    transaction_id varchar(255),
+    payment_reference varchar(255),
+    payment_gateway_response varchar(255),
+    failure_reason varchar(255),
+    processed_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_payments_transaction_id unique (transaction_id),
+    constraint uk_payments_payment_reference unique (payment_reference),
+    constraint fk_payments_service_request foreign key (service_request_id) references service_requests
+);
+
+create table reviews (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    helper_id bigint not null,
+    service_request_id bigint not null,
+    rating integer not null,
+    comment TEXT,
+    is_visible boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint fk_reviews_user foreign key (user_id) references users,
+    constraint fk_reviews_helper foreign key (helper_id) references helpers,
+    constraint fk_reviews_service_request foreign key (service_request_id) references service_requests
+);
+
+create table complaints (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    helper_id bigint,
+    service_request_id bigint,
+    subject varchar(255) not null,
+    description TEXT not null,
+    type varchar(255) not null check (type in ('SERVICE_QUALITY','PAYMENT_ISSUE','HELPER_BEHAVIOR','TECHNICAL_ISSUE','OTHER')),
+    status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','RESOLVED','CLOSED')),
+    priority varchar(255) check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    admin_response TEXT,
+    resolved_at timestamp(6),
+    resolved_by bigint,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint fk_complaints_user foreign key (user_id) references users,
+    constraint fk_complaints_helper foreign key (helper_id) references helpers,
+    constraint fk_complaints_service_request foreign key (service_request_id) references service_requests,
+    constraint fk_complaints_resolved_by foreign key (resolved_by) references users
+);
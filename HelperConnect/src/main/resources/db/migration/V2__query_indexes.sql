@@ -0,0 +1,31 @@
+-- Indexes backing the repository queries. Kept in sync with the @Table(indexes) declarations
+-- on the entities, which SchemaIndexVerifier checks at startup.
+-- On large production tables consider running these by hand with CREATE INDEX CONCURRENTLY first.
+
+create index if not exists idx_users_role_is_active on users (role, is_active);
+create index if not exists idx_users_created_at_id on users (created_at, id);
+
+create index if not exists idx_helpers_status_is_available_id on helpers (status, is_available, id);
+create index if not exists idx_helpers_kyc_status on helpers (kyc_status);
+create index if not exists idx_helpers_latitude_longitude on helpers (latitude, longitude);
+
+create index if not exists idx_service_requests_user_id_status on service_requests (user_id, status);
+create index if not exists idx_service_requests_helper_id_status on service_requests (helper_id, status);
+create index if not exists idx_service_requests_status_created_at_id on service_requests (status, created_at, id);
+create index if not exists idx_service_requests_created_at_id on service_requests (created_at, id);
+create index if not exists idx_service_requests_service_type_status on service_requests (service_type, status);
+create index if not exists idx_service_requests_scheduled_date on service_requests (scheduled_date);
+
+create index if not exists idx_payments_service_request_id on payments (service_request_id);
+create index if not exists idx_payments_status_created_at_id on payments (status, created_at, id);
+create index if not exists idx_payments_created_at_id on payments (created_at, id);
+
+create index if not exists idx_reviews_helper_id_is_visible on reviews (helper_id, is_visible);
+create index if not exists idx_reviews_user_id on reviews (user_id);
+create index if not exists idx_reviews_service_request_id on reviews (service_request_id);
+
+create index if not exists idx_complaints_status_priority on complaints (status, priority);
+create index if not exists idx_complaints_user_id on complaints (user_id);
+create index if not exists idx_complaints_helper_id on complaints (helper_id);
+create index if not exists idx_complaints_service_request_id on complaints (service_request_id);
+create index if not exists idx_complaints_created_at on complaints (created_at);
@@ -0,0 +1,18 @@
+-- Running rating aggregates on helpers, maintained with delta updates on every review write.
+-- total_reviews already holds the visible review count; the histogram and sum are new.
+
+alter table helpers add column rating_sum bigint not null default 0;
+alter table helpers add column one_star_count integer not null default 0;
+alter table helpers add column two_star_count integer not null default 0;
+alter table helpers add column three_star_count integer not null default 0;
+alter table helpers add column four_star_count integer not null default 0;
+alter table helpers add column five_star_count integer not null default 0;
+
+update helpers h set
+    rating_sum = coalesce((select sum(r.rating) from reviews r where r.helper_id = h.id and r.is_visible = true), 0),
+    total_reviews = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true),
+    one_star_count = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true and r.rating = 1),
+    two_star_count = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true and r.rating = 2),
+    three_star_count = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true and r.rating = 3),
+    four_star_count = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true and r.rating = 4),
+    five_star_count = (select count(*) from reviews r where r.helper_id = h.id and r.is_visible = true and r.rating = 5);
@@ -0,0 +1,31 @@
+-- Append-only earnings ledger. helpers.total_earnings becomes a running balance of these entries,
+-- credited and debited with single atomic UPDATEs in the same transaction as each insert.
+
+create table helper_earnings_entries (
+    id bigserial not null,
+    helper_id bigint not null,
+    payment_id bigint not null,
+    entry_type varchar(255) not null check (entry_type in ('PAYMENT_COMPLETED','PAYMENT_REFUNDED')),
+    amount numeric(12,2) not null,
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_helper_earnings_entries_payment_id_entry_type unique (payment_id, entry_type),
+    constraint fk_helper_earnings_entries_helper foreign key (helper_id) references helpers,
+    constraint fk_helper_earnings_entries_payment foreign key (payment_id) references payments
+);
+
+create index if not exists idx_helper_earnings_entries_helper_id_created_at on helper_earnings_entries (helper_id, created_at);
+
+-- Rebuild the ledger from payment history, then make every balance equal its ledger sum
+insert into helper_earnings_entries (helper_id, payment_id, entry_type, amount, created_at)
+select sr.helper_id, p.id, 'PAYMENT_COMPLETED', p.amount, coalesce(p.processed_at, p.updated_at)
+from payments p join service_requests sr on sr.id = p.service_request_id
+where sr.helper_id is not null and p.status in ('COMPLETED', 'REFUNDED');
+
+insert into helper_earnings_entries (helper_id, payment_id, entry_type, amount, created_at)
+select sr.helper_id, p.id, 'PAYMENT_REFUNDED', -p.amount, p.updated_at
+from payments p join service_requests sr on sr.id = p.service_request_id
+where sr.helper_id is not null and p.status = 'REFUNDED';
+
+update helpers h set total_earnings =
+    coalesce((select sum(e.amount) from helper_earnings_entries e where e.helper_id = h.id), 0);
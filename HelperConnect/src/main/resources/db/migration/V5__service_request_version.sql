@@ -0,0 +1,3 @@
+-- Optimistic lock column for service requests; status transitions compare-and-set on it.
+
+alter table service_requests add column version bigint not null default 0;
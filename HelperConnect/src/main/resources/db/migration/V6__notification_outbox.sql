@@ -0,0 +1,19 @@
+-- Outbound notifications are written in the same transaction as the change that triggers them
+-- and delivered afterwards by NotificationDispatcher.
+
+create table notification_outbox (
+    id bigserial not null,
+    notification_type varchar(255) not null check (notification_type in ('WELCOME','HELPER_APPROVED','HELPER_REJECTED','SERVICE_REQUEST','PAYMENT_CONFIRMATION','PASSWORD_RESET')),
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body TEXT not null,
+    status varchar(255) not null check (status in ('PENDING','SENT','FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    sent_at timestamp(6),
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_notification_outbox_status_next_attempt_at on notification_outbox (status, next_attempt_at);
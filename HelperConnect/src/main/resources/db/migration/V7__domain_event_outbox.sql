@@ -0,0 +1,20 @@
+-- Domain events are written in the same transaction as the state change they describe and
+-- relayed to subscribers and the broker afterwards by DomainEventRelay.
+
+create table domain_event_outbox (
+    id bigserial not null,
+    event_type varchar(100) not null,
+    aggregate_type varchar(255) not null check (aggregate_type in ('PAYMENT','REVIEW','HELPER','SERVICE_REQUEST','COMPLAINT')),
+    aggregate_id bigint not null,
+    payload TEXT not null,
+    status varchar(255) not null check (status in ('PENDING','PUBLISHED','FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    published_at timestamp(6),
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_domain_event_outbox_status_next_attempt_at on domain_event_outbox (status, next_attempt_at);
+create index if not exists idx_domain_event_outbox_status_published_at on domain_event_outbox (status, published_at);
@@ -0,0 +1,74 @@
+package com.localhelper.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.localhelper.dto.response.ApiResponse;
+import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.dto.response.ServiceRequestResponse;
+import com.localhelper.util.MapperUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a page of {@code size} helpers or service requests wrapped in {@link ApiResponse} to
+ * JSON, with the object mapper configured as in {@code spring.jackson}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<Page<HelperResponse>> helperPage;
+    private ApiResponse<Page<ServiceRequestResponse>> serviceRequestPage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .dateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+                .build();
+        writer = objectMapper.writer();
+
+        MapperUtil mapperUtil = new MapperUtil();
+        PageRequest pageable = PageRequest.of(0, size);
+        helperPage = ApiResponse.success("Helpers retrieved successfully", new PageImpl<>(
+                mapperUtil.toHelperResponseList(BenchmarkFixtures.helpers(size)), pageable, 10L * size));
+        serviceRequestPage = ApiResponse.success("Service requests retrieved successfully", new PageImpl<>(
+                mapperUtil.toServiceRequestResponseList(BenchmarkFixtures.serviceRequests(size)), pageable, 10L * size));
+    }
+
+    @Benchmark
+    public byte[] helperPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(helperPage);
+    }
+
+    @Benchmark
+    public byte[] serviceRequestPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(serviceRequestPage);
+    }
+}
@@ -0,0 +1,63 @@
+package com.localhelper.benchmark;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like the rows behind the helper and service request listings.
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 7, 1, 10, 0);
+
+    private BenchmarkFixtures() {}
+
+    static User user(long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "password", "Benchmark User " + id, "9999999999");
+        user.setId(id);
+        user.setCreatedAt(CREATED_AT);
+        return user;
+    }
+
+    static Helper helper(long id) {
+        Helper helper = new Helper(user(id), "Plumbing", new BigDecimal("450.00"), "AADHAAR", "DOC-" + id, "https://docs.example/" + id);
+        helper.setId(id);
+        helper.setStatus(Helper.HelperStatus.APPROVED);
+        helper.setKycStatus(Helper.KycStatus.APPROVED);
+        helper.setRating(new BigDecimal("4.50"));
+        helper.setCreatedAt(CREATED_AT);
+        return helper;
+    }
+
+    static ServiceRequest serviceRequest(long id) {
+        ServiceRequest request = new ServiceRequest(user(100_000 + id), "Plumbing", "Fix the kitchen sink", "Block A",
+                CREATED_AT.plusDays(1), new BigDecimal("900.00"));
+        request.setId(id);
+        request.setHelper(helper(id));
+        request.setStatus(ServiceRequest.RequestStatus.ACCEPTED);
+        request.setCreatedAt(CREATED_AT);
+        return request;
+    }
+
+    static List<Helper> helpers(int size) {
+        List<Helper> helpers = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            helpers.add(helper(id));
+        }
+        return helpers;
+    }
+
+    static List<ServiceRequest> serviceRequests(int size) {
+        List<ServiceRequest> requests = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            requests.add(serviceRequest(id));
+        }
+        return requests;
+    }
+}
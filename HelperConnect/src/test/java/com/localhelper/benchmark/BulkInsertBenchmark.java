@@ -0,0 +1,156 @@
+package com.localhelper.benchmark;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reviews and payments inserted per second when a batch of completed requests is reviewed and
+ * paid in one transaction, with {@code sequence} ids as mapped now and with the {@code identity}
+ * ids used before V8. Identity ids are only known once a row is inserted, so Hibernate sends
+ * every insert on its own; sequence ids let the same inserts go out in JDBC batches of 25. Each
+ * transaction is rolled back, so every invocation inserts into the same tables.
+ *
+ * The database is in-memory H2, which has no network round trip to save, so the gain on
+ * PostgreSQL is larger. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args=BulkInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int REQUESTS = 200;
+
+    @Param({"sequence", "identity"})
+    private String ids;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Long customerId;
+    private Long helperId;
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:bulk-insert-" + ids
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=25",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--logging.level.root=WARN",
+                "--logging.level.com.localhelper=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        if ("identity".equals(ids)) {
+            args.add("--spring.flyway.target=7");
+            args.add("--spring.jpa.mapping-resources=benchmark/identity-ids.xml");
+        }
+        context = new SpringApplicationBuilder(JpaOnlyConfig.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User customer = new User("customer", "customer@example.com", "password", "Customer", "9999999999");
+            entityManager.persist(customer);
+            User helperUser = new User("helper", "helper@example.com", "password", "Helper", "9999999998");
+            entityManager.persist(helperUser);
+            Helper helper = new Helper(helperUser, "Plumbing", new BigDecimal("250.00"), "AADHAAR", "DOC-1", "https://docs.example/1");
+            entityManager.persist(helper);
+            for (int i = 0; i < REQUESTS; i++) {
+                ServiceRequest request = new ServiceRequest();
+                request.setUser(customer);
+                request.setHelper(helper);
+                request.setServiceType("Plumbing");
+                request.setDescription("Leaking tap");
+                request.setLocation("Block A");
+                request.setScheduledDate(LocalDateTime.of(2024, 5, 1, 10, 0));
+                request.setStatus(ServiceRequest.RequestStatus.COMPLETED);
+                entityManager.persist(request);
+                requestIds.add(request.getId());
+            }
+            customerId = customer.getId();
+            helperId = helper.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * REQUESTS)
+    public int reviewAndPayRequests() {
+        return transactionTemplate.execute(status -> {
+            User customer = entityManager.getReference(User.class, customerId);
+            Helper helper = entityManager.getReference(Helper.class, helperId);
+            for (Long requestId : requestIds) {
+                ServiceRequest request = entityManager.getReference(ServiceRequest.class, requestId);
+                entityManager.persist(new Review(customer, helper, request, 5, "Great work"));
+                entityManager.persist(new Payment(request, new BigDecimal("500.00"), Payment.PaymentMethod.UPI));
+            }
+            entityManager.flush();
+            entityManager.clear();
+            status.setRollbackOnly();
+            return requestIds.size();
+        });
+    }
+
+    @Configuration
+    @EntityScan("com.localhelper.entity")
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    static class JpaOnlyConfig {
+    }
+}
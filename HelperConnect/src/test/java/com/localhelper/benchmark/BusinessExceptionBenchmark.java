@@ -0,0 +1,79 @@
+package com.localhelper.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.localhelper.dto.response.ApiResponse;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The error path of a rejected request: building a {@link BusinessException}, which fills in a
+ * stack trace, throwing it through a few frames, and mapping it to a response. The handler's
+ * logger is switched off so the numbers do not depend on the configured appenders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private WebRequest request;
+    private BusinessException exception;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/helper/profile"));
+        exception = newException();
+    }
+
+    @Benchmark
+    public BusinessException create() {
+        return newException();
+    }
+
+    @Benchmark
+    public BusinessException throwAndCatch() {
+        try {
+            rejectAt(3);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Object>> handle() {
+        return handler.handleBusinessException(exception, request);
+    }
+
+    private static void rejectAt(int depth) {
+        if (depth == 0) {
+            throw newException();
+        }
+        rejectAt(depth - 1);
+    }
+
+    private static BusinessException newException() {
+        return new BusinessException("HELPER_NOT_FOUND", "Helper not found for user");
+    }
+}
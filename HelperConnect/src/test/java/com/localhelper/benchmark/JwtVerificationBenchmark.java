@@ -0,0 +1,90 @@
+package com.localhelper.benchmark;
+
+import com.localhelper.security.JwtClaims;
+import com.localhelper.security.JwtProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second on the authentication path: the previous double parse with a
+ * freshly built key and parser, against {@link JwtProvider#verify} with and without the
+ * verified-token cache.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "localHelperSecretKeyForJWTSigningMustBeLongEnoughForSecurity";
+
+    private JwtProvider provider;
+    private JwtProvider cachingProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = provider(false);
+        cachingProvider = provider(true);
+        token = provider.generateTokenFromUserId(42L);
+    }
+
+    @Benchmark
+    public Long legacyValidateThenParse() {
+        // Mirrors the former validateToken + getUserIdFromJWT pair
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Benchmark
+    public JwtClaims verifyOnce() {
+        return provider.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public JwtClaims verifyOnceWithCache() {
+        return cachingProvider.verify(token).orElseThrow();
+    }
+
+    private SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+
+    private static JwtProvider provider(boolean verifiedCacheEnabled) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 3_600_000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheEnabled", verifiedCacheEnabled);
+        provider.init();
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.localhelper.benchmark;
+
+import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.dto.response.ServiceRequestResponse;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.util.MapperUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping for single rows and for pages of {@code size} rows, as built by
+ * the listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private final MapperUtil mapperUtil = new MapperUtil();
+    private Helper helper;
+    private ServiceRequest serviceRequest;
+    private List<Helper> helpers;
+    private List<ServiceRequest> serviceRequests;
+
+    @Setup
+    public void setUp() {
+        helper = BenchmarkFixtures.helper(1L);
+        serviceRequest = BenchmarkFixtures.serviceRequest(1L);
+        helpers = BenchmarkFixtures.helpers(size);
+        serviceRequests = BenchmarkFixtures.serviceRequests(size);
+    }
+
+    @Benchmark
+    public HelperResponse helperResponse() {
+        return new HelperResponse(helper);
+    }
+
+    @Benchmark
+    public ServiceRequestResponse serviceRequestResponse() {
+        return new ServiceRequestResponse(serviceRequest);
+    }
+
+    @Benchmark
+    public List<HelperResponse> helperResponseList() {
+        return mapperUtil.toHelperResponseList(helpers);
+    }
+
+    @Benchmark
+    public List<ServiceRequestResponse> serviceRequestResponseList() {
+        return mapperUtil.toServiceRequestResponseList(serviceRequests);
+    }
+}
@@ -0,0 +1,76 @@
+package com.localhelper.benchmark;
+
+import com.localhelper.security.JwtClaims;
+import com.localhelper.security.JwtProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average cost of issuing and checking credentials: JWT generation and verification, and BCrypt
+ * hashing and matching at {@code strength}, which defaults to {@code app.security.bcrypt-strength}.
+ * Pass {@code -p strength=12} to the runner to price a stronger setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String SECRET = "localHelperSecretKeyForJWTSigningMustBeLongEnoughForSecurity";
+
+    @Param("10")
+    private int strength;
+
+    private JwtProvider jwtProvider;
+    private PasswordEncoder passwordEncoder;
+    private String token;
+    private String passwordHash;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "jwtExpirationInMs", 86_400_000);
+        jwtProvider.init();
+        token = jwtProvider.generateTokenFromUserId(42L);
+
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        passwordHash = passwordEncoder.encode("password123");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateTokenFromUserId(42L);
+    }
+
+    @Benchmark
+    public JwtClaims verifyToken() {
+        return jwtProvider.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return passwordEncoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matchPassword() {
+        return passwordEncoder.matches("password123", passwordHash);
+    }
+}
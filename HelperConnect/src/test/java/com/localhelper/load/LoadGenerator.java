@@ -0,0 +1,57 @@
+package com.localhelper.load;
+
+import com.localhelper.LocalHelperApp;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Boots the application with the {@code load} profile on an in-memory H2 database and a random
+ * port, seeds it as the scenario describes, drives the scenario's operation mix over HTTP and
+ * prints per-endpoint throughput and latency percentiles. The same results are written as JSON,
+ * to {@code target/load-report.json} unless {@code --report=<path>} is given.
+ *
+ * Run with {@code mvn -Pload test-compile exec:exec}, passing a scenario file or classpath
+ * resource with {@code -Dload.args="load/smoke.yml"}.
+ */
+public final class LoadGenerator {
+
+    static final String DEFAULT_SCENARIO = "load/marketplace.yml";
+    static final String DEFAULT_REPORT = "target/load-report.json";
+
+    private LoadGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        String scenarioLocation = DEFAULT_SCENARIO;
+        Path reportPath = Path.of(DEFAULT_REPORT);
+        for (String arg : args) {
+            if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else {
+                scenarioLocation = arg;
+            }
+        }
+        LoadScenario scenario = LoadScenario.load(scenarioLocation);
+        MarketplaceSeeder seeder = new MarketplaceSeeder(scenario.getSeed());
+
+        // A command-line profile overrides the dev profile set in application.yml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LocalHelperApp.class)
+                .initializers(applicationContext ->
+                        ((GenericApplicationContext) applicationContext).registerBean(MarketplaceSeeder.class, () -> seeder))
+                .run("--spring.profiles.active=load", "--server.port=0")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            LoadReport report = new LoadReport();
+            new MarketplaceWorkload("http://localhost:" + port, report, seeder, scenario.operationWeights()).run(scenario);
+
+            System.out.printf("%nScenario %s: %d clients, %d s measured%n",
+                    scenario.getName(), scenario.getConcurrency(), scenario.getDuration().toSeconds());
+            report.print(System.out);
+            report.write(reportPath, scenario);
+            System.out.println("Report written to " + reportPath.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.localhelper.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts per endpoint, keyed by method and path template such as
+ * {@code POST /api/helper/service-requests/{id}/accept}. Calls are only counted while
+ * {@link #start() recording}, so warm-up traffic is left out of the results.
+ */
+public class LoadReport {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording = false;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    public void start() {
+        endpoints.clear();
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        stoppedAt = System.nanoTime();
+        recording = false;
+    }
+
+    public void record(String endpoint, long latencyNanos, int status) {
+        if (!recording) {
+            return;
+        }
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.latencies.recordValue(Math.min(Math.max(latencyNanos, 1), MAX_LATENCY_NANOS));
+        if (status < 200 || status >= 300) {
+            stats.errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Per-endpoint results ordered by call count, with throughput over the recorded interval
+     * and latencies in milliseconds.
+     */
+    public List<Map<String, Object>> results() {
+        double seconds = Math.max(1, stoppedAt - startedAt) / 1e9;
+        List<Map<String, Object>> results = new ArrayList<>();
+        endpoints.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().latencies.getTotalCount(), a.getValue().latencies.getTotalCount()))
+                .forEach(entry -> {
+                    Histogram latencies = entry.getValue().latencies;
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("endpoint", entry.getKey());
+                    result.put("count", latencies.getTotalCount());
+                    result.put("throughputPerSecond", round(latencies.getTotalCount() / seconds));
+                    Map<String, Long> errors = new LinkedHashMap<>();
+                    entry.getValue().errors.forEach((status, count) -> errors.put(String.valueOf(status), count.sum()));
+                    result.put("errors", errors);
+                    result.put("meanMs", millis(latencies.getMean()));
+                    for (double percentile : PERCENTILES) {
+                        result.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)) + "Ms",
+                                millis(latencies.getValueAtPercentile(percentile)));
+                    }
+                    result.put("maxMs", millis(latencies.getMaxValue()));
+                    results.add(result);
+                });
+        return results;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(1, stoppedAt - startedAt) / 1e9;
+        out.printf("%n%-58s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        long total = 0;
+        for (Map<String, Object> result : results()) {
+            long errors = ((Map<?, ?>) result.get("errors")).values().stream().mapToLong(count -> (Long) count).sum();
+            total += (Long) result.get("count");
+            out.printf("%-58s %8d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.get("endpoint"), result.get("count"), result.get("throughputPerSecond"), errors,
+                    result.get("p50Ms"), result.get("p90Ms"), result.get("p99Ms"), result.get("p99.9Ms"), result.get("maxMs"));
+        }
+        out.printf("%nTotal %d requests in %.1f s, %.1f req/s%n", total, seconds, total / seconds);
+    }
+
+    public void write(Path path, LoadScenario scenario) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.getName());
+        report.put("concurrency", scenario.getConcurrency());
+        report.put("durationSeconds", round(Math.max(1, stoppedAt - startedAt) / 1e9));
+        report.put("endpoints", results());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static double millis(double nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class EndpointStats {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,143 @@
+package com.localhelper.load;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A load run as checked in under {@code src/test/resources/load}: how much data to seed, how
+ * many concurrent clients to run for how long, and the relative weight of each
+ * {@link Operation}.
+ */
+public class LoadScenario {
+
+    private String name;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private int concurrency = 16;
+    private Duration thinkTime = Duration.ZERO;
+    private Seed seed = new Seed();
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+
+    /**
+     * Reads a scenario from a file path, or from the test classpath when no such file exists.
+     */
+    public static LoadScenario load(String location) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+                .registerModule(new JavaTimeModule())
+                .setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Path path = Path.of(location);
+        if (Files.isRegularFile(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                return mapper.readValue(in, LoadScenario.class).validate();
+            }
+        }
+        try (InputStream in = LoadScenario.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No scenario file or classpath resource: " + location);
+            }
+            return mapper.readValue(in, LoadScenario.class).validate();
+        }
+    }
+
+    /**
+     * The mix keyed by operation, for example {@code search-helpers} for
+     * {@link Operation#SEARCH_HELPERS}.
+     */
+    public Map<Operation, Integer> operationWeights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        mix.forEach((key, weight) -> weights.put(
+                Operation.valueOf(key.trim().toUpperCase(Locale.ROOT).replace('-', '_')), weight));
+        return weights;
+    }
+
+    private LoadScenario validate() {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        if (seed.users < 1 || seed.helpers < 1) {
+            throw new IllegalArgumentException("seed needs at least one user and one helper");
+        }
+        if (seed.reviews > seed.completedRequests) {
+            throw new IllegalArgumentException("seed.reviews cannot exceed seed.completed-requests");
+        }
+        if (operationWeights().values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix needs at least one operation with a positive weight");
+        }
+        return this;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Duration getWarmup() { return warmup; }
+    public void setWarmup(Duration warmup) { this.warmup = warmup; }
+
+    public Duration getDuration() { return duration; }
+    public void setDuration(Duration duration) { this.duration = duration; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public Duration getThinkTime() { return thinkTime; }
+    public void setThinkTime(Duration thinkTime) { this.thinkTime = thinkTime; }
+
+    public Seed getSeed() { return seed; }
+    public void setSeed(Seed seed) { this.seed = seed; }
+
+    public Map<String, Integer> getMix() { return mix; }
+    public void setMix(Map<String, Integer> mix) { this.mix = mix; }
+
+    public static class Seed {
+
+        private int users = 100;
+        private int helpers = 20;
+        private int completedRequests = 200;
+        private int reviews = 100;
+
+        public int getUsers() { return users; }
+        public void setUsers(int users) { this.users = users; }
+
+        public int getHelpers() { return helpers; }
+        public void setHelpers(int helpers) { this.helpers = helpers; }
+
+        public int getCompletedRequests() { return completedRequests; }
+        public void setCompletedRequests(int completedRequests) { this.completedRequests = completedRequests; }
+
+        public int getReviews() { return reviews; }
+        public void setReviews(int reviews) { this.reviews = reviews; }
+    }
+
+    /**
+     * The user actions a client can pick. Steps of the service request lifecycle take a request
+     * left in the matching state by an earlier step, and create a new request when there is none.
+     */
+    public enum Operation {
+        REGISTER,
+        LOGIN,
+        SEARCH_HELPERS,
+        NEARBY_HELPERS,
+        VIEW_HELPER,
+        MY_REQUESTS,
+        CREATE_REQUEST,
+        ACCEPT,
+        START,
+        COMPLETE,
+        PAY,
+        REVIEW,
+        COMPLAIN
+    }
+}
@@ -0,0 +1,239 @@
+package com.localhelper.load;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.ReviewRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import com.localhelper.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the load-test database with the users, approved helpers, completed service requests and
+ * reviews of a {@link LoadScenario.Seed}. It runs as an application runner, before the
+ * {@code ApplicationReadyEvent} that builds the search, geo and ranking indexes, so those start
+ * out covering the seeded helpers. Every seeded account shares {@link #PASSWORD}, hashed once.
+ */
+public class MarketplaceSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketplaceSeeder.class);
+
+    public static final String PASSWORD = "load-password";
+    public static final List<String> SERVICE_TYPES = List.of("Plumbing", "Cleaning", "Electrical", "Carpentry", "Painting");
+    public static final double CENTER_LATITUDE = 12.9716;
+    public static final double CENTER_LONGITUDE = 77.5946;
+
+    private static final int BATCH_SIZE = 500;
+    private static final LocalDateTime SEEDED_AT = LocalDateTime.now().minusDays(30);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LoadScenario.Seed seed;
+    private final List<Account> users = new ArrayList<>();
+    private final List<Account> helpers = new ArrayList<>();
+    private final List<SeededRequest> unreviewedRequests = new ArrayList<>();
+
+    public MarketplaceSeeder(LoadScenario.Seed seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<Long> userIds = new ArrayList<>();
+        for (int from = 0; from < seed.getUsers(); from += BATCH_SIZE) {
+            int batchStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> batch = new ArrayList<>();
+                for (int i = batchStart; i < Math.min(batchStart + BATCH_SIZE, seed.getUsers()); i++) {
+                    batch.add(user("load-user-" + i, passwordHash, User.Role.USER));
+                }
+                for (User user : userRepository.saveAll(batch)) {
+                    userIds.add(user.getId());
+                    users.add(new Account(user.getId(), null, user.getUsername()));
+                }
+            });
+        }
+
+        // Review aggregates are known up front, so each helper is written once
+        int[][] starCounts = new int[seed.getHelpers()][6];
+        for (int r = 0; r < seed.getReviews(); r++) {
+            starCounts[r % seed.getHelpers()][reviewRating(r)]++;
+        }
+        List<Long> helperIds = new ArrayList<>();
+        for (int from = 0; from < seed.getHelpers(); from += BATCH_SIZE) {
+            int batchStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Helper> batch = new ArrayList<>();
+                for (int i = batchStart; i < Math.min(batchStart + BATCH_SIZE, seed.getHelpers()); i++) {
+                    User user = userRepository.save(user("load-helper-" + i, passwordHash, User.Role.HELPER));
+                    batch.add(helper(user, i, starCounts[i]));
+                }
+                for (Helper helper : helperRepository.saveAll(batch)) {
+                    helperIds.add(helper.getId());
+                    helpers.add(new Account(helper.getUser().getId(), helper.getId(), helper.getUser().getUsername()));
+                }
+            });
+        }
+
+        for (int from = 0; from < seed.getCompletedRequests(); from += BATCH_SIZE) {
+            int batchStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ServiceRequest> requests = new ArrayList<>();
+                for (int i = batchStart; i < Math.min(batchStart + BATCH_SIZE, seed.getCompletedRequests()); i++) {
+                    requests.add(completedRequest(userRepository.getReferenceById(userIds.get(i % userIds.size())),
+                            helperRepository.getReferenceById(helperIds.get(i % helperIds.size())), i));
+                }
+                List<Review> reviews = new ArrayList<>();
+                int i = batchStart;
+                for (ServiceRequest request : serviceRequestRepository.saveAll(requests)) {
+                    if (i < seed.getReviews()) {
+                        reviews.add(new Review(request.getUser(), request.getHelper(), request, reviewRating(i), "Seeded review"));
+                    } else {
+                        unreviewedRequests.add(new SeededRequest(request.getId(), i % userIds.size(),
+                                request.getHelper().getId(), request.getBudget()));
+                    }
+                    i++;
+                }
+                reviewRepository.saveAll(reviews);
+            });
+        }
+
+        logger.warn("Seeded {} users, {} helpers, {} completed requests and {} reviews in {} ms",
+                users.size(), helpers.size(), seed.getCompletedRequests(), seed.getReviews(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public List<Account> getUsers() { return users; }
+
+    public List<Account> getHelpers() { return helpers; }
+
+    /**
+     * Seeded completed requests without a review, as {@code (request, index into users)} pairs
+     * the workload can pay for, review or complain about.
+     */
+    public List<SeededRequest> getUnreviewedRequests() { return unreviewedRequests; }
+
+    private static int reviewRating(int index) {
+        return 3 + index % 3;
+    }
+
+    private static User user(String username, String passwordHash, User.Role role) {
+        User user = new User(username, username + "@load.example", passwordHash, "Load " + username, "9000000000");
+        user.setRole(role);
+        return user;
+    }
+
+    private static Helper helper(User user, int index, int[] starCounts) {
+        Helper helper = new Helper(user, SERVICE_TYPES.get(index % SERVICE_TYPES.size()),
+                BigDecimal.valueOf(200 + (index * 37L) % 600), "AADHAAR", "LOAD-" + index, "https://docs.example/load/" + index);
+        helper.setStatus(Helper.HelperStatus.APPROVED);
+        helper.setKycStatus(Helper.KycStatus.APPROVED);
+        helper.setIsAvailable(true);
+        // Spread over roughly 20 km around the city centre
+        helper.setLatitude(CENTER_LATITUDE + ((index * 7919) % 2000 - 1000) / 10000.0);
+        helper.setLongitude(CENTER_LONGITUDE + ((index * 104729) % 2000 - 1000) / 10000.0);
+
+        int totalReviews = 0;
+        long ratingSum = 0;
+        for (int stars = 1; stars <= 5; stars++) {
+            totalReviews += starCounts[stars];
+            ratingSum += (long) stars * starCounts[stars];
+        }
+        helper.setThreeStarCount(starCounts[3]);
+        helper.setFourStarCount(starCounts[4]);
+        helper.setFiveStarCount(starCounts[5]);
+        helper.setTotalReviews(totalReviews);
+        helper.setRatingSum(ratingSum);
+        helper.setRating(totalReviews > 0
+                ? BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(totalReviews), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        return helper;
+    }
+
+    private static ServiceRequest completedRequest(User user, Helper helper, int index) {
+        ServiceRequest request = new ServiceRequest(user, SERVICE_TYPES.get(index % SERVICE_TYPES.size()), "Seeded request " + index,
+                "Block " + (index % 40), SEEDED_AT.plusHours(index % 600), BigDecimal.valueOf(300 + (index * 53L) % 1200));
+        request.setHelper(helper);
+        request.setStatus(ServiceRequest.RequestStatus.COMPLETED);
+        request.setIsCompleted(true);
+        request.setCompletedAt(SEEDED_AT.plusHours(index % 600 + 2));
+        return request;
+    }
+
+    public static class Account {
+
+        private final Long userId;
+        private final Long helperId;
+        private final String username;
+
+        public Account(Long userId, Long helperId, String username) {
+            this.userId = userId;
+            this.helperId = helperId;
+            this.username = username;
+        }
+
+        public Long getUserId() { return userId; }
+
+        public Long getHelperId() { return helperId; }
+
+        public String getUsername() { return username; }
+    }
+
+    public static class SeededRequest {
+
+        private final Long requestId;
+        private final int userIndex;
+        private final Long helperId;
+        private final BigDecimal budget;
+
+        public SeededRequest(Long requestId, int userIndex, Long helperId, BigDecimal budget) {
+            this.requestId = requestId;
+            this.userIndex = userIndex;
+            this.helperId = helperId;
+            this.budget = budget;
+        }
+
+        public Long getRequestId() { return requestId; }
+
+        public int getUserIndex() { return userIndex; }
+
+        public Long getHelperId() { return helperId; }
+
+        public BigDecimal getBudget() { return budget; }
+    }
+}
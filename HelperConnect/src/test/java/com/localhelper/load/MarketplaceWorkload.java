@@ -0,0 +1,349 @@
+package com.localhelper.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.localhelper.load.LoadScenario.Operation;
+import com.localhelper.load.MarketplaceSeeder.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop clients that each pick a weighted {@link Operation}, call the REST API as a seeded
+ * user or helper, and go again. Service requests move through the lifecycle across operations:
+ * a created request waits in the pending queue until some client accepts it, then is started,
+ * completed, paid for and reviewed, each step as the account that owns it.
+ */
+public class MarketplaceWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketplaceWorkload.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadReport report;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final List<Account> users;
+    private final List<Account> helpers;
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Queue<Job> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Job> accepted = new ConcurrentLinkedQueue<>();
+    private final Queue<Job> inProgress = new ConcurrentLinkedQueue<>();
+    private final Queue<Job> completed = new ConcurrentLinkedQueue<>();
+    private final Queue<Job> paid = new ConcurrentLinkedQueue<>();
+    private final Queue<Job> reviewed = new ConcurrentLinkedQueue<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public MarketplaceWorkload(String baseUrl, LoadReport report, MarketplaceSeeder seeder, Map<Operation, Integer> weights) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.users = new CopyOnWriteArrayList<>(seeder.getUsers());
+        this.helpers = List.copyOf(seeder.getHelpers());
+        Map<Long, Account> helpersById = helpers.stream().collect(Collectors.toMap(Account::getHelperId, Function.identity()));
+        for (MarketplaceSeeder.SeededRequest request : seeder.getUnreviewedRequests()) {
+            completed.add(new Job(request.getRequestId(), users.get(request.getUserIndex()),
+                    helpersById.get(request.getHelperId()), request.getBudget()));
+        }
+
+        List<Map.Entry<Operation, Integer>> positive = weights.entrySet().stream().filter(entry -> entry.getValue() > 0).toList();
+        operations = new Operation[positive.size()];
+        cumulativeWeights = new int[positive.size()];
+        int total = 0;
+        for (int i = 0; i < positive.size(); i++) {
+            operations[i] = positive.get(i).getKey();
+            total += positive.get(i).getValue();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Runs {@code concurrency} clients for the warm-up and then the measured duration, recording
+     * into the report only while measuring.
+     */
+    public void run(LoadScenario scenario) throws InterruptedException {
+        long deadline = System.nanoTime() + scenario.getWarmup().toNanos() + scenario.getDuration().toNanos();
+        long thinkMillis = scenario.getThinkTime().toMillis();
+        ExecutorService clients = Executors.newFixedThreadPool(scenario.getConcurrency());
+        for (int i = 0; i < scenario.getConcurrency(); i++) {
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        perform(nextOperation());
+                        if (thinkMillis > 0) {
+                            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMillis * 2 + 1));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        logger.warn("Load client step failed: {}", e.toString());
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+
+        logger.warn("Warming up for {} s with {} clients", scenario.getWarmup().toSeconds(), scenario.getConcurrency());
+        Thread.sleep(scenario.getWarmup().toMillis());
+        report.start();
+        logger.warn("Measuring for {} s", scenario.getDuration().toSeconds());
+        if (!clients.awaitTermination(scenario.getDuration().toMillis() + REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            clients.shutdownNow();
+        }
+        report.stop();
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void perform(Operation operation) {
+        switch (operation) {
+            case REGISTER -> register();
+            case LOGIN -> login(randomUser());
+            case SEARCH_HELPERS -> searchHelpers();
+            case NEARBY_HELPERS -> nearbyHelpers();
+            case VIEW_HELPER -> viewHelper();
+            case MY_REQUESTS -> myRequests();
+            case CREATE_REQUEST -> createRequest();
+            case ACCEPT -> advance(pending, this::accept);
+            case START -> advance(accepted, this::start);
+            case COMPLETE -> advance(inProgress, this::complete);
+            case PAY -> advance(completed, this::pay);
+            case REVIEW -> advance(paid, this::review);
+            case COMPLAIN -> advance(reviewed, this::complain);
+        }
+    }
+
+    private void advance(Queue<Job> queue, Consumer<Job> step) {
+        Job job = queue.poll();
+        if (job == null) {
+            createRequest();
+        } else {
+            step.accept(job);
+        }
+    }
+
+    private void register() {
+        String username = "load-new-" + runId + "-" + registrations.incrementAndGet();
+        JsonNode data = call("POST /api/auth/register", "POST", "/api/auth/register", null, Map.of(
+                "username", username,
+                "email", username + "@load.example",
+                "password", MarketplaceSeeder.PASSWORD,
+                "fullName", "Load " + username,
+                "phone", "9000000001"));
+        if (data != null) {
+            users.add(new Account(data.path("id").asLong(), null, username));
+        }
+    }
+
+    private String login(Account account) {
+        JsonNode data = call("POST /api/auth/login", "POST", "/api/auth/login", null, Map.of(
+                "usernameOrEmail", account.getUsername(),
+                "password", MarketplaceSeeder.PASSWORD));
+        if (data == null) {
+            return null;
+        }
+        String token = data.path("accessToken").asText();
+        tokens.put(account.getUsername(), token);
+        return token;
+    }
+
+    private String token(Account account) {
+        String token = tokens.get(account.getUsername());
+        return token != null ? token : login(account);
+    }
+
+    private void searchHelpers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean()) {
+            call("GET /api/user/helpers", "GET", "/api/user/helpers?page=" + random.nextInt(5) + "&size=20", token(randomUser()), null);
+        } else {
+            String serviceType = MarketplaceSeeder.SERVICE_TYPES.get(random.nextInt(MarketplaceSeeder.SERVICE_TYPES.size()));
+            call("GET /api/user/helpers?serviceType", "GET", "/api/user/helpers?size=20&serviceType=" + serviceType, token(randomUser()), null);
+        }
+    }
+
+    private void nearbyHelpers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double latitude = MarketplaceSeeder.CENTER_LATITUDE + random.nextDouble(-0.1, 0.1);
+        double longitude = MarketplaceSeeder.CENTER_LONGITUDE + random.nextDouble(-0.1, 0.1);
+        call("GET /api/user/helpers/nearby", "GET",
+                "/api/user/helpers/nearby?latitude=" + latitude + "&longitude=" + longitude + "&radiusKm=5", token(randomUser()), null);
+    }
+
+    private void viewHelper() {
+        call("GET /api/user/helpers/{id}", "GET", "/api/user/helpers/" + randomHelper().getHelperId(), token(randomUser()), null);
+    }
+
+    private void myRequests() {
+        call("GET /api/user/service-requests", "GET", "/api/user/service-requests?size=20", token(randomUser()), null);
+    }
+
+    private void createRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Account user = randomUser();
+        BigDecimal budget = BigDecimal.valueOf(300 + random.nextInt(1200));
+        JsonNode data = call("POST /api/user/service-requests", "POST", "/api/user/service-requests", token(user), Map.of(
+                "serviceType", MarketplaceSeeder.SERVICE_TYPES.get(random.nextInt(MarketplaceSeeder.SERVICE_TYPES.size())),
+                "description", "Load test request",
+                "location", "Block " + random.nextInt(40),
+                "latitude", MarketplaceSeeder.CENTER_LATITUDE + random.nextDouble(-0.1, 0.1),
+                "longitude", MarketplaceSeeder.CENTER_LONGITUDE + random.nextDouble(-0.1, 0.1),
+                "scheduledDate", LocalDateTime.now().plusDays(1 + random.nextInt(7)).withNano(0),
+                "budget", budget));
+        if (data != null) {
+            pending.add(new Job(data.path("id").asLong(), user, null, budget));
+        }
+    }
+
+    private void accept(Job job) {
+        Account helper = randomHelper();
+        if (call("POST /api/helper/service-requests/{id}/accept", "POST",
+                "/api/helper/service-requests/" + job.requestId + "/accept", token(helper), null) != null) {
+            accepted.add(new Job(job.requestId, job.user, helper, job.budget));
+        }
+    }
+
+    private void start(Job job) {
+        if (call("POST /api/helper/service-requests/{id}/start", "POST",
+                "/api/helper/service-requests/" + job.requestId + "/start", token(job.helper), null) != null) {
+            inProgress.add(job);
+        }
+    }
+
+    private void complete(Job job) {
+        if (call("POST /api/helper/service-requests/{id}/complete", "POST",
+                "/api/helper/service-requests/" + job.requestId + "/complete", token(job.helper), null) != null) {
+            completed.add(job);
+        }
+    }
+
+    private void pay(Job job) {
+        String token = token(job.user);
+        JsonNode payment = call("POST /api/user/payments", "POST", "/api/user/payments", token, Map.of(
+                "serviceRequestId", job.requestId,
+                "amount", job.budget,
+                "paymentMethod", "UPI"));
+        if (payment != null && call("POST /api/user/payments/{id}/process", "POST",
+                "/api/user/payments/" + payment.path("id").asLong() + "/process", token, null) != null) {
+            paid.add(job);
+        }
+    }
+
+    private void review(Job job) {
+        if (call("POST /api/user/reviews", "POST", "/api/user/reviews", token(job.user), Map.of(
+                "helperId", job.helper.getHelperId(),
+                "serviceRequestId", job.requestId,
+                "rating", 1 + ThreadLocalRandom.current().nextInt(5),
+                "comment", "Load test review")) != null) {
+            reviewed.add(job);
+        }
+    }
+
+    private void complain(Job job) {
+        call("POST /api/user/complaints", "POST", "/api/user/complaints", token(job.user), Map.of(
+                "helperId", job.helper.getHelperId(),
+                "serviceRequestId", job.requestId,
+                "subject", "Load test complaint",
+                "description", "Arrived late",
+                "type", "SERVICE_QUALITY"));
+    }
+
+    /**
+     * Sends one request and records it under {@code endpoint}. Returns the {@code data} of a
+     * successful {@code ApiResponse}, or {@code null} when the call failed.
+     */
+    private JsonNode call(String endpoint, String method, String path, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, System.nanoTime() - started, response.statusCode());
+            if (response.statusCode() / 100 != 2) {
+                return null;
+            }
+            return objectMapper.readTree(response.body()).path("data");
+        } catch (IOException e) {
+            report.record(endpoint, REQUEST_TIMEOUT.toNanos(), 0);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Account randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private Account randomHelper() {
+        return helpers.get(ThreadLocalRandom.current().nextInt(helpers.size()));
+    }
+
+    private static final class Job {
+
+        private final Long requestId;
+        private final Account user;
+        private final Account helper;
+        private final BigDecimal budget;
+
+        private Job(Long requestId, Account user, Account helper, BigDecimal budget) {
+            this.requestId = requestId;
+            this.user = user;
+            this.helper = helper;
+            this.budget = budget;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.localhelper.notification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Just enough of an SMTP server on a loopback port to accept what JavaMail sends and record it.
+ * While rejecting, every recipient is refused with a 550 so the client reports a failed send.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private volatile boolean rejecting;
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptConnections);
+    }
+
+    public int getPort() { return serverSocket.getLocalPort(); }
+
+    public List<ReceivedMessage> getMessages() { return messages; }
+
+    public void setRejecting(boolean rejecting) { this.rejecting = rejecting; }
+
+    public void reset() {
+        messages.clear();
+        rejecting = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost fake SMTP");
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    from = address(line);
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO:")) {
+                    if (rejecting) {
+                        reply(out, "550 Mailbox unavailable");
+                    } else {
+                        recipients.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    String dataLine;
+                    while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                        data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append('\n');
+                    }
+                    messages.add(new ReceivedMessage(from, List.copyOf(recipients), data.toString()));
+                    reply(out, "250 OK");
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client hung up
+        }
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+
+    private static String address(String line) {
+        String value = line.substring(line.indexOf(':') + 1).trim();
+        return value.replace("<", "").replace(">", "");
+    }
+
+    public static class ReceivedMessage {
+
+        private final String from;
+        private final List<String> recipients;
+        private final String data;
+
+        ReceivedMessage(String from, List<String> recipients, String data) {
+            this.from = from;
+            this.recipients = recipients;
+            this.data = data;
+        }
+
+        public String getFrom() { return from; }
+
+        public List<String> getRecipients() { return recipients; }
+
+        public String getSubject() {
+            return data.lines().filter(line -> line.startsWith("Subject: "))
+                    .map(line -> line.substring("Subject: ".length())).findFirst().orElse(null);
+        }
+    }
+}
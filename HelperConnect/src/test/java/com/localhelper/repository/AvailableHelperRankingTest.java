@@ -0,0 +1,189 @@
+package com.localhelper.repository;
+
+import com.localhelper.dto.request.HelperRegistrationRequest;
+import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.service.HelperService;
+import com.localhelper.util.EmailUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages the landing-page ranking through HelperService against committed helpers, so rows are
+ * removed after each test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({HelperService.class, AvailableHelperRanking.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AvailableHelperRankingTest {
+
+    @MockBean
+    private HelperSearchIndex helperSearchIndex;
+
+    @MockBean
+    private HelperGeoIndex helperGeoIndex;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean
+    private DomainEventOutbox domainEventOutbox;
+
+    @MockBean
+    private EmailUtil emailUtil;
+
+    @Autowired
+    private HelperService helperService;
+
+    @Autowired
+    private AvailableHelperRanking availableHelperRanking;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long topRated;
+    private Long mostReviewed;
+    private Long cheaper;
+    private Long pricier;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            topRated = helper("ranked-top", "4.90", 10, "500.00", true);
+            mostReviewed = helper("ranked-reviewed", "4.50", 40, "500.00", true);
+            cheaper = helper("ranked-cheaper", "4.50", 12, "300.00", true);
+            pricier = helper("ranked-pricier", "4.50", 12, "350.00", true);
+            helper("ranked-away", "5.00", 90, "100.00", false);
+        });
+        availableHelperRanking.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void getAvailableHelpers_PagesRankingWithoutQueryingOnceWarm() {
+        assertEquals(List.of(topRated, mostReviewed), ids(helperService.getAvailableHelpers(PageRequest.of(0, 2))));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+
+        Page<HelperResponse> first = helperService.getAvailableHelpers(PageRequest.of(0, 2));
+
+        assertEquals(List.of(topRated, mostReviewed), ids(first));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // A cold page fetches its helpers in a single query
+        Page<HelperResponse> second = helperService.getAvailableHelpers(PageRequest.of(1, 2));
+
+        assertEquals(List.of(cheaper, pricier), ids(second));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, second.getTotalElements());
+        assertEquals("ranked-cheaper", second.getContent().get(0).getUser().getUsername());
+    }
+
+    @Test
+    void helperChanges_MoveHelpersWithinTheRanking() {
+        helperService.updateAvailability(topRated, false);
+        HelperRegistrationRequest profile = new HelperRegistrationRequest("Cleaning", "Deep cleaning", new BigDecimal("250.00"),
+                "2 years", "AADHAAR", "DOC-R", "https://docs.example/r");
+        helperService.updateHelperProfile(pricier, profile);
+
+        assertEquals(List.of(mostReviewed, pricier, cheaper), ids(helperService.getAvailableHelpers(PageRequest.of(0, 10))));
+
+        Long registered = transactionTemplate.execute(status -> helper("ranked-new", "0.00", 0, "200.00", false));
+        helperService.approveKyc(registered);
+        helperService.approveHelper(registered);
+
+        assertEquals(List.of(mostReviewed, pricier, cheaper, registered), ids(helperService.getAvailableHelpers(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void reviewEvents_ReadBackTheNewRating() {
+        transactionTemplate.executeWithoutResult(status -> helperRepository.applyRatingDelta(pricier, 5, 1, 0, 0, 0, 0, 1));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put(DomainEventMessage.HELPER_ID, pricier);
+        data.put(DomainEventMessage.RATING, 5);
+        eventPublisher.publishEvent(new DomainEventMessage(
+                new DomainEvent(DomainEvent.EventType.REVIEW_CREATED, 1L, DomainEventMessage.toPayload(data))));
+
+        // 59 stars over 13 reviews puts it between the 4.90 and the 4.50 helpers
+        assertEquals(List.of(topRated, pricier, mostReviewed, cheaper), ids(helperService.getAvailableHelpers(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void getAvailableHelpers_ExplicitSortIsServedByTheDatabase() {
+        Page<HelperResponse> byRate = helperService.getAvailableHelpers(PageRequest.of(0, 10, Sort.by("hourlyRate")));
+
+        assertEquals(List.of(cheaper, pricier), ids(byRate).subList(0, 2));
+    }
+
+    private Long helper(String username, String rating, int totalReviews, String hourlyRate, boolean available) {
+        User user = userRepository.save(new User(username, username + "@example.com", "password", "Ranked Helper", "9999999996"));
+        Helper helper = new Helper(user, "Cleaning", new BigDecimal(hourlyRate), "AADHAAR", "DOC-" + username, "https://docs.example/" + username);
+        helper.setStatus(available ? Helper.HelperStatus.APPROVED : Helper.HelperStatus.PENDING);
+        helper.setKycStatus(available ? Helper.KycStatus.APPROVED : Helper.KycStatus.PENDING);
+        helper.setIsAvailable(available);
+        helper.setRating(new BigDecimal(rating));
+        helper.setTotalReviews(totalReviews);
+        helper.setRatingSum(new BigDecimal(rating).multiply(BigDecimal.valueOf(totalReviews)).longValue());
+        return helperRepository.save(helper).getId();
+    }
+
+    private static List<Long> ids(Page<HelperResponse> page) {
+        return page.getContent().stream().map(HelperResponse::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,222 @@
+package com.localhelper.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localhelper.dispatch.DispatchEngine;
+import com.localhelper.dto.response.BulkImportResponse;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.export.ExportFormat;
+import com.localhelper.ingest.BulkImportService;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Imports through the real JDBC batches, which commit their own transactions, so rows are
+ * removed after each test. A batch size of two makes every test span several batches.
+ */
+@DataJpaTest(properties = "app.import.batch-size=2")
+@ActiveProfiles("test")
+@Import({BulkImportService.class, BulkImportTest.ImportConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportTest {
+
+    private static final String HELPER_HEADER = "username,email,password,fullName,phone,address,serviceType,description,"
+            + "hourlyRate,experience,latitude,longitude,kycDocumentType,kycDocumentNumber,kycDocumentUrl,status\n";
+
+    @MockBean
+    private HelperSearchIndex helperSearchIndex;
+
+    @MockBean
+    private HelperGeoIndex helperGeoIndex;
+
+    @MockBean
+    private AvailableHelperRanking availableHelperRanking;
+
+    @MockBean
+    private DispatchEngine dispatchEngine;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            serviceRequestRepository.deleteAllInBatch();
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void importHelpers_WritesValidRowsAndReportsTheRest() throws IOException {
+        String csv = HELPER_HEADER
+                + "plumber1,p1@test.com,secret1,Priya Plumber,9000000001,\"12, Lake Road\",Plumbing,\"Fixes \"\"leaks\"\"\",350.00,5 years,12.97,77.59,AADHAR,A-1,http://kyc/1,APPROVED\n"
+                + "plumber2,p2@test.com,,Paul Plumber,9000000002,,Plumbing,,300.00,,,,AADHAR,A-2,http://kyc/2,\n"
+                + "badrate,bad@test.com,secret1,Bad Rate,9000000003,,Plumbing,,-5,,,,AADHAR,A-3,http://kyc/3,\n"
+                + "plumber1,p1b@test.com,secret1,Duplicate,9000000004,,Plumbing,,300.00,,,,AADHAR,A-4,http://kyc/4,\n"
+                + "short,only,three\n";
+
+        BulkImportResponse response = bulkImportService.importHelpers(ExportFormat.CSV, stream(csv));
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(2, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), response.getErrors().stream()
+                .map(BulkImportResponse.RowError::getRow).collect(Collectors.toList()));
+        assertEquals("Hourly rate must be positive", response.getErrors().get(0).getMessage());
+
+        User priya = userRepository.findByUsername("plumber1").orElseThrow();
+        assertEquals(User.Role.HELPER, priya.getRole());
+        assertEquals("12, Lake Road", priya.getAddress());
+        assertTrue(passwordEncoder.matches("secret1", priya.getPassword()));
+        Helper helper = helperRepository.findByUserId(priya.getId()).orElseThrow();
+        assertEquals("Fixes \"leaks\"", helper.getDescription());
+        assertEquals(0, new BigDecimal("350.00").compareTo(helper.getHourlyRate()));
+        assertEquals(Helper.HelperStatus.APPROVED, helper.getStatus());
+
+        User paul = userRepository.findByUsername("plumber2").orElseThrow();
+        assertFalse(passwordEncoder.matches("", paul.getPassword()));
+        assertEquals(Helper.HelperStatus.PENDING, helperRepository.findByUserId(paul.getId()).orElseThrow().getStatus());
+
+        verify(helperSearchIndex).rebuild();
+        verify(helperGeoIndex).rebuild();
+        verify(availableHelperRanking).rebuild();
+        verify(dispatchEngine).rebuild();
+    }
+
+    @Test
+    void importUsers_RejectsAccountsThatAlreadyExist() throws IOException {
+        bulkImportService.importUsers(ExportFormat.NDJSON, stream(
+                "{\"username\":\"alice\",\"email\":\"alice@test.com\",\"password\":\"secret1\",\"fullName\":\"Alice\",\"phone\":\"1\"}\n"));
+
+        BulkImportResponse response = bulkImportService.importUsers(ExportFormat.NDJSON, stream(
+                "{\"username\":\"alice\",\"email\":\"other@test.com\",\"password\":\"secret1\",\"fullName\":\"Alice\",\"phone\":\"1\"}\n"
+                        + "{\"username\":\"alice2\",\"email\":\"alice@test.com\",\"password\":\"secret1\",\"fullName\":\"Alice\",\"phone\":\"1\"}\n"
+                        + "{\"username\":\"admin2\",\"email\":\"admin2@test.com\",\"fullName\":\"Admin\",\"phone\":\"1\",\"role\":\"ADMIN\"}\n"
+                        + "not json\n"
+                        + "{\"username\":\"bob\",\"email\":\"bob@test.com\",\"fullName\":\"Bob\",\"phone\":\"2\"}\n"));
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(1, response.getImported());
+        assertEquals(List.of("Username is already taken!", "Email address is already in use!", "Admin accounts cannot be imported"),
+                response.getErrors().subList(0, 3).stream().map(BulkImportResponse.RowError::getMessage).collect(Collectors.toList()));
+        assertTrue(response.getErrors().get(3).getMessage().startsWith("Malformed JSON"));
+        assertEquals(User.Role.USER, userRepository.findByUsername("bob").orElseThrow().getRole());
+        verifyNoInteractions(helperSearchIndex);
+    }
+
+    @Test
+    void importServiceRequests_LinksUsersAndHelpersByUsername() throws IOException {
+        bulkImportService.importHelpers(ExportFormat.CSV, stream(HELPER_HEADER
+                + "plumber1,p1@test.com,secret1,Priya Plumber,9000000001,,Plumbing,,350.00,,,,AADHAR,A-1,http://kyc/1,APPROVED\n"));
+        bulkImportService.importUsers(ExportFormat.CSV, stream("username,email,fullName,phone\ncustomer,c@test.com,Chris,1\n"));
+
+        BulkImportResponse response = bulkImportService.importServiceRequests(ExportFormat.NDJSON, stream(
+                "{\"username\":\"customer\",\"helperUsername\":\"plumber1\",\"serviceType\":\"Plumbing\",\"location\":\"Lake Road\","
+                        + "\"scheduledDate\":\"2024-03-01T10:00:00\",\"budget\":700}\n"
+                        + "{\"username\":\"nobody\",\"helperUsername\":\"plumber1\",\"serviceType\":\"Plumbing\",\"location\":\"Lake Road\","
+                        + "\"scheduledDate\":\"2024-03-02T10:00:00\"}\n"
+                        + "{\"username\":\"customer\",\"helperUsername\":\"customer\",\"serviceType\":\"Plumbing\",\"location\":\"Lake Road\","
+                        + "\"scheduledDate\":\"2024-03-03T10:00:00\"}\n"
+                        + "{\"username\":\"customer\",\"serviceType\":\"Plumbing\",\"location\":\"Lake Road\","
+                        + "\"scheduledDate\":\"2024-03-04T10:00:00\"}\n"
+                        + "{\"username\":\"customer\",\"serviceType\":\"Plumbing\",\"location\":\"Lake Road\"}\n"));
+
+        assertEquals(1, response.getImported());
+        assertEquals(List.of("Unknown user: nobody", "Unknown helper: customer",
+                        "A helper username is required for COMPLETED requests", "Scheduled date is required"),
+                response.getErrors().stream().map(BulkImportResponse.RowError::getMessage).collect(Collectors.toList()));
+
+        ServiceRequest request = serviceRequestRepository.findAll().get(0);
+        assertEquals(ServiceRequest.RequestStatus.COMPLETED, request.getStatus());
+        assertTrue(request.getIsCompleted());
+        assertEquals(request.getScheduledDate(), request.getCompletedAt());
+    }
+
+    @Test
+    void importUsers_RetriesARejectedBatchRowByRow() throws IOException {
+        String longAddress = "x".repeat(300);
+        String csv = "username,email,password,fullName,phone,address\n"
+                + "first,first@test.com,secret1,First,1,Lake Road\n"
+                + "second,second@test.com,secret1,Second,2," + longAddress + "\n"
+                + "third,third@test.com,secret1,Third,3,Hill Road\n";
+
+        BulkImportResponse response = bulkImportService.importUsers(ExportFormat.CSV, stream(csv));
+
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(2L, response.getErrors().get(0).getRow());
+        assertTrue(userRepository.findByUsername("first").isPresent());
+        assertFalse(userRepository.findByUsername("second").isPresent());
+        assertTrue(passwordEncoder.matches("secret1", userRepository.findByUsername("first").orElseThrow().getPassword()));
+        assertTrue(userRepository.findByUsername("third").isPresent());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class ImportConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventBroker;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.event.DomainEventRelay;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.service.HelperRatingService;
+import com.localhelper.service.HelperService;
+import com.localhelper.util.EmailUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relays events through the real outbox, subscribers and a recording broker. The relay commits
+ * its own transactions, so rows are removed after each test.
+ */
+@DataJpaTest(properties = {
+        "app.events.broker=test",
+        "app.events.relay.enabled=false",
+        "app.events.initial-backoff-ms=60000"
+})
+@ActiveProfiles("test")
+@Import({DomainEventOutbox.class, DomainEventRelay.class, HelperService.class, HelperRatingService.class,
+        DomainEventRelayTest.BrokerConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DomainEventRelayTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("480.00");
+
+    @MockBean
+    private HelperSearchIndex helperSearchIndex;
+
+    @MockBean
+    private HelperGeoIndex helperGeoIndex;
+
+    @MockBean
+    private AvailableHelperRanking availableHelperRanking;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean
+    private EmailUtil emailUtil;
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private DomainEventRelay domainEventRelay;
+
+    @Autowired
+    private RecordingBroker broker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long helperId;
+    private Long paymentId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            User customer = userRepository.save(new User("relay-customer", "relay-customer@example.com", "password", "Customer", "9999999999"));
+            User helperUser = userRepository.save(new User("relay-helper", "relay-helper@example.com", "password", "Helper", "9999999998"));
+            Helper helper = helperRepository.save(new Helper(helperUser, "Electrical", new BigDecimal("300.00"),
+                    "AADHAAR", "DOC-2", "https://docs.example/2"));
+            helperId = helper.getId();
+
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(customer);
+            request.setHelper(helper);
+            request.setServiceType("Electrical");
+            request.setDescription("Rewire kitchen");
+            request.setLocation("Block B");
+            request.setScheduledDate(LocalDateTime.of(2024, 6, 1, 9, 0));
+            serviceRequestRepository.save(request);
+
+            paymentId = paymentRepository.save(new Payment(request, AMOUNT, Payment.PaymentMethod.UPI)).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.reset();
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventRepository.deleteAllInBatch();
+            earningsEntryRepository.deleteAllInBatch();
+            paymentRepository.deleteAllInBatch();
+            serviceRequestRepository.deleteAllInBatch();
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void relayBatch_AppliesReviewEventOnceAndPublishesIt() {
+        Long eventId = recordReviewEvent(DomainEvent.EventType.REVIEW_CREATED, null, 4);
+
+        assertEquals(1, domainEventRelay.relayBatch());
+        assertEquals(0, domainEventRelay.relayBatch());
+
+        Helper helper = helperRepository.findById(helperId).orElseThrow();
+        assertEquals(1, helper.getTotalReviews());
+        assertEquals(4L, helper.getRatingSum());
+        DomainEvent event = domainEventRepository.findById(eventId).orElseThrow();
+        assertEquals(DomainEvent.PublishStatus.PUBLISHED, event.getStatus());
+        assertNotNull(event.getPublishedAt());
+        assertEquals(List.of(eventId), broker.getPublishedIds());
+        assertEquals(0, domainEventOutbox.countPending());
+    }
+
+    @Test
+    void relayBatch_CreditsHelperForCompletedPaymentOnlyOnce() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_COMPLETED, payment, Payment.PaymentStatus.PROCESSING);
+            // A duplicate of the same change must not credit the helper twice
+            domainEventOutbox.recordPaymentEvent(DomainEvent.EventType.PAYMENT_COMPLETED, payment, Payment.PaymentStatus.PROCESSING);
+        });
+
+        assertEquals(2, domainEventRelay.relayBatch());
+
+        assertEquals(0, AMOUNT.compareTo(helperRepository.findById(helperId).orElseThrow().getTotalEarnings()));
+        assertEquals(1, earningsEntryRepository.count());
+        assertEquals(2, broker.getPublishedIds().size());
+    }
+
+    @Test
+    void relayBatch_BrokerFailureRollsBackSubscribersAndRetriesWithBackoff() {
+        Long eventId = recordReviewEvent(DomainEvent.EventType.REVIEW_CREATED, null, 5);
+        broker.setFailing(true);
+
+        LocalDateTime failedAt = LocalDateTime.now();
+        assertEquals(1, domainEventRelay.relayBatch());
+
+        assertEquals(0L, helperRepository.findById(helperId).orElseThrow().getRatingSum());
+        DomainEvent failed = domainEventRepository.findById(eventId).orElseThrow();
+        assertEquals(DomainEvent.PublishStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(failedAt.plusSeconds(55)));
+        // Not due again until the backoff has passed
+        assertEquals(0, domainEventRelay.relayBatch());
+
+        broker.setFailing(false);
+        transactionTemplate.executeWithoutResult(status ->
+                domainEventRepository.scheduleRetry(eventId, LocalDateTime.now().minusSeconds(1), "rewound by test"));
+        assertEquals(1, domainEventRelay.relayBatch());
+
+        Helper helper = helperRepository.findById(helperId).orElseThrow();
+        assertEquals(1, helper.getTotalReviews());
+        assertEquals(5L, helper.getRatingSum());
+        assertEquals(DomainEvent.PublishStatus.PUBLISHED, domainEventRepository.findById(eventId).orElseThrow().getStatus());
+    }
+
+    private Long recordReviewEvent(DomainEvent.EventType type, Integer previousRating, Integer rating) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(DomainEventMessage.HELPER_ID, helperId);
+        data.put(DomainEventMessage.PREVIOUS_RATING, previousRating);
+        data.put(DomainEventMessage.RATING, rating);
+        return transactionTemplate.execute(status ->
+                domainEventRepository.save(new DomainEvent(type, 1L, DomainEventMessage.toPayload(data))).getId());
+    }
+
+    static class RecordingBroker implements DomainEventBroker {
+
+        private final List<Long> publishedIds = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void publish(DomainEventMessage message) throws Exception {
+            if (failing) {
+                throw new IOException("Broker unavailable");
+            }
+            publishedIds.add(message.getEventId());
+        }
+
+        List<Long> getPublishedIds() { return publishedIds; }
+
+        void setFailing(boolean failing) { this.failing = failing; }
+
+        void reset() {
+            publishedIds.clear();
+            failing = false;
+        }
+    }
+
+    @TestConfiguration
+    static class BrokerConfig {
+
+        @Bean
+        RecordingBroker recordingBroker() {
+            return new RecordingBroker();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.EarningsEntry;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.service.HelperService;
+import com.localhelper.util.EmailUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Commits real transactions from several threads against one helper, so it cleans up after
+ * itself instead of relying on the usual per-test rollback.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HelperService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EarningsLedgerTest {
+
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 25;
+    private static final BigDecimal AMOUNT = new BigDecimal("125.50");
+
+    @MockBean
+    private HelperSearchIndex helperSearchIndex;
+
+    @MockBean
+    private HelperGeoIndex helperGeoIndex;
+
+    @MockBean
+    private AvailableHelperRanking availableHelperRanking;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean
+    private DomainEventOutbox domainEventOutbox;
+
+    @MockBean
+    private EmailUtil emailUtil;
+
+    @Autowired
+    private HelperService helperService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long helperId;
+    private final List<Long> paymentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            User customer = userRepository.save(new User("ledger-customer", "ledger-customer@example.com", "password", "Customer", "9999999999"));
+            User helperUser = userRepository.save(new User("ledger-helper", "ledger-helper@example.com", "password", "Helper", "9999999998"));
+            Helper helper = helperRepository.save(new Helper(helperUser, "Plumbing", new BigDecimal("250.00"),
+                    "AADHAAR", "DOC-1", "https://docs.example/1"));
+            helperId = helper.getId();
+
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(customer);
+            request.setHelper(helper);
+            request.setServiceType("Plumbing");
+            request.setDescription("Leaking tap");
+            request.setLocation("Block A");
+            request.setScheduledDate(LocalDateTime.of(2024, 5, 1, 10, 0));
+            serviceRequestRepository.save(request);
+
+            for (int i = 0; i < THREADS * PAYMENTS_PER_THREAD; i++) {
+                paymentIds.add(paymentRepository.save(new Payment(request, AMOUNT, Payment.PaymentMethod.UPI)).getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            earningsEntryRepository.deleteAllInBatch();
+            paymentRepository.deleteAllInBatch();
+            serviceRequestRepository.deleteAllInBatch();
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void recordEarnings_ConcurrentCreditsForOneHelperAreNeverLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                List<Long> slice = paymentIds.subList(t * PAYMENTS_PER_THREAD, (t + 1) * PAYMENTS_PER_THREAD);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (Long paymentId : slice) {
+                        credit(paymentId, EarningsEntry.EntryType.PAYMENT_COMPLETED);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        credit(paymentIds.get(0), EarningsEntry.EntryType.PAYMENT_REFUNDED);
+
+        BigDecimal expected = AMOUNT.multiply(BigDecimal.valueOf(THREADS * PAYMENTS_PER_THREAD - 1L));
+        assertEquals(0, expected.compareTo(helperRepository.findById(helperId).orElseThrow().getTotalEarnings()));
+        assertEquals(0, expected.compareTo(earningsEntryRepository.sumAmountByHelperId(helperId)));
+        assertEquals(THREADS * PAYMENTS_PER_THREAD + 1L, earningsEntryRepository.count());
+    }
+
+    @Test
+    void recordEarnings_RejectsSecondCreditForSamePayment() {
+        Long paymentId = paymentIds.get(0);
+        credit(paymentId, EarningsEntry.EntryType.PAYMENT_COMPLETED);
+
+        assertThrows(DataIntegrityViolationException.class, () -> credit(paymentId, EarningsEntry.EntryType.PAYMENT_COMPLETED));
+
+        assertEquals(0, AMOUNT.compareTo(helperRepository.findById(helperId).orElseThrow().getTotalEarnings()));
+        assertEquals(1, earningsEntryRepository.count());
+    }
+
+    private void credit(Long paymentId, EarningsEntry.EntryType entryType) {
+        transactionTemplate.executeWithoutResult(status ->
+                helperService.recordEarnings(paymentRepository.findById(paymentId).orElseThrow(), entryType));
+    }
+}
@@ -0,0 +1,157 @@
+package com.localhelper.repository;
+
+import com.localhelper.dto.response.ComplaintResponse;
+import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.dto.response.ReviewResponse;
+import com.localhelper.dto.response.ServiceRequestResponse;
+import com.localhelper.entity.Complaint;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the fetch plans used by listing endpoints: each page of results, including the
+ * mapping to response DTOs, must load in a fixed number of statements however many rows
+ * and distinct participants it contains.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class FetchPlanQueryCountTest {
+
+    private static final int ROWS = 8;
+    private static final PageRequest PAGE = PageRequest.of(0, 5);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    private User customer;
+    private Helper firstHelper;
+    private final List<Long> helperIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(user("customer"));
+        User admin = entityManager.persist(user("admin"));
+
+        for (int i = 0; i < ROWS; i++) {
+            Helper helper = new Helper(entityManager.persist(user("helper" + i)), "Plumbing",
+                    new BigDecimal("250.00"), "AADHAAR", "DOC-" + i, "https://docs.example/" + i);
+            helper.setStatus(Helper.HelperStatus.APPROVED);
+            helper.setIsAvailable(true);
+            helper.setRating(new BigDecimal("4.50"));
+            entityManager.persist(helper);
+            helperIds.add(helper.getId());
+            if (firstHelper == null) {
+                firstHelper = helper;
+            }
+
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(customer);
+            request.setHelper(helper);
+            request.setServiceType("Plumbing");
+            request.setDescription("Leaking tap " + i);
+            request.setLocation("Block " + i);
+            request.setScheduledDate(LocalDateTime.now().plusDays(1));
+            request.setStatus(ServiceRequest.RequestStatus.COMPLETED);
+            entityManager.persist(request);
+
+            entityManager.persist(new Review(customer, helper, request, 5, "Great work " + i));
+
+            Complaint complaint = new Complaint(customer, "Late arrival " + i, "Arrived late", Complaint.ComplaintType.SERVICE_QUALITY);
+            complaint.setHelper(helper);
+            complaint.setServiceRequest(request);
+            complaint.setResolvedBy(admin);
+            entityManager.persist(complaint);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void helperListings_LoadUsersWithHelpers() {
+        assertQueryCount(2, () -> helperRepository.findAll(PAGE).map(HelperResponse::new));
+        assertQueryCount(2, () -> helperRepository.findByStatus(Helper.HelperStatus.APPROVED, PAGE).map(HelperResponse::new));
+        assertQueryCount(2, () -> helperRepository.searchAvailableHelpers("plumb", PAGE).map(HelperResponse::new));
+        assertQueryCount(2, () -> helperRepository.findByRatingGreaterThanEqual(new BigDecimal("4.0"), PAGE).map(HelperResponse::new));
+        assertQueryCount(1, () -> helperRepository.findAllWithUserByIdIn(helperIds).stream()
+                .map(HelperResponse::new).collect(Collectors.toList()));
+    }
+
+    @Test
+    void serviceRequestListings_LoadParticipantsWithRequests() {
+        assertQueryCount(2, () -> serviceRequestRepository.findByUserId(customer.getId(), PAGE).map(ServiceRequestResponse::new));
+        assertQueryCount(2, () -> serviceRequestRepository.findByStatus(ServiceRequest.RequestStatus.COMPLETED, PAGE)
+                .map(ServiceRequestResponse::new));
+        assertQueryCount(1, () -> serviceRequestRepository.findByHelperId(firstHelper.getId()).stream()
+                .map(ServiceRequestResponse::new).collect(Collectors.toList()));
+    }
+
+    @Test
+    void reviewListings_LoadParticipantsWithReviews() {
+        assertQueryCount(2, () -> reviewRepository.findByUserId(customer.getId(), PAGE).map(ReviewResponse::new));
+        assertQueryCount(2, () -> reviewRepository.findReviewsWithComments(PAGE).map(ReviewResponse::new));
+        assertQueryCount(1, () -> reviewRepository.findByHelperIdAndIsVisible(firstHelper.getId(), true).stream()
+                .map(ReviewResponse::new).collect(Collectors.toList()));
+    }
+
+    @Test
+    void complaintListings_LoadParticipantsWithComplaints() {
+        assertQueryCount(2, () -> complaintRepository.findByUserId(customer.getId(), PAGE).map(ComplaintResponse::new));
+        assertQueryCount(2, () -> complaintRepository.findByStatus(Complaint.ComplaintStatus.OPEN, PAGE).map(ComplaintResponse::new));
+        assertQueryCount(2, () -> complaintRepository.searchComplaints("late", PAGE).map(ComplaintResponse::new));
+    }
+
+    private void assertQueryCount(long expected, Supplier<?> listing) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Object result = listing.get();
+
+        int rows = result instanceof Page<?> page ? page.getNumberOfElements() : ((List<?>) result).size();
+        assertTrue(rows > 0, "listing returned no rows");
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                "unexpected statement count for a listing of " + rows + " rows");
+    }
+
+    private User user(String username) {
+        return new User(username, username + "@example.com", "password", "Full " + username, "9999999999");
+    }
+}
@@ -0,0 +1,161 @@
+package com.localhelper.repository;
+
+import com.localhelper.dto.response.RatingSummaryResponse;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.service.HelperRatingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HelperRatingService.class)
+class HelperRatingAggregateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HelperRatingService helperRatingService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    private User customer;
+    private Helper helper;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(new User("customer", "customer@example.com", "password", "Customer", "9999999999"));
+        User helperUser = entityManager.persist(new User("helper", "helper@example.com", "password", "Helper", "9999999998"));
+        helper = entityManager.persist(new Helper(helperUser, "Plumbing", new BigDecimal("250.00"),
+                "AADHAAR", "DOC-1", "https://docs.example/1"));
+    }
+
+    @Test
+    void recordRatingChange_TracksCreateUpdateHideAndDeleteWithoutRecomputing() {
+        Review five = review(5);
+        Review three = review(3);
+        Review one = review(1);
+        helperRatingService.recordRatingChange(helper.getId(), null, 5);
+        helperRatingService.recordRatingChange(helper.getId(), null, 3);
+        helperRatingService.recordRatingChange(helper.getId(), null, 1);
+
+        // Edit 3 -> 4, hide the 1-star review, then delete the 5-star one
+        three.setRating(4);
+        helperRatingService.recordRatingChange(helper.getId(), 3, 4);
+        one.setIsVisible(false);
+        helperRatingService.recordRatingChange(helper.getId(), 1, null);
+        entityManager.remove(five);
+        helperRatingService.recordRatingChange(helper.getId(), 5, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        RatingSummaryResponse summary = helperRatingService.getRatingSummary(helper.getId());
+        assertEquals(1, summary.getTotalReviews());
+        assertEquals(0, new BigDecimal("4.00").compareTo(summary.getAverageRating()));
+        assertEquals(Map.of(5, 0, 4, 1, 3, 0, 2, 0, 1, 0), summary.getHistogram());
+        assertEquals(0, helperRatingService.reconcile(), "delta updates must agree with a full recount");
+    }
+
+    @Test
+    void recordRatingChange_RoundsAverageLikeTheAggregateQuery() {
+        for (int rating : new int[]{5, 4, 4}) {
+            review(rating);
+            helperRatingService.recordRatingChange(helper.getId(), null, rating);
+        }
+        entityManager.clear();
+
+        BigDecimal expected = reviewRepository.calculateAverageRatingByHelperId(helper.getId()).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(0, expected.compareTo(helperRatingService.getRatingSummary(helper.getId()).getAverageRating()));
+        assertEquals(0, new BigDecimal("4.33").compareTo(expected));
+    }
+
+    @Test
+    void reconcile_RepairsDriftedHelpersOnly() {
+        review(2);
+        review(4);
+        User otherUser = entityManager.persist(new User("other", "other@example.com", "password", "Other", "9999999997"));
+        Helper untouched = entityManager.persist(new Helper(otherUser, "Electrical", new BigDecimal("300.00"),
+                "AADHAAR", "DOC-2", "https://docs.example/2"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, helperRatingService.reconcile());
+        entityManager.clear();
+
+        RatingSummaryResponse summary = helperRatingService.getRatingSummary(helper.getId());
+        assertEquals(2, summary.getTotalReviews());
+        assertEquals(0, new BigDecimal("3.00").compareTo(summary.getAverageRating()));
+        assertEquals(1, summary.getHistogram().get(2));
+        assertEquals(1, summary.getHistogram().get(4));
+        assertEquals(0, helperRatingService.getRatingSummary(untouched.getId()).getTotalReviews());
+        assertEquals(0, helperRatingService.reconcile());
+    }
+
+    @Test
+    void reconcile_SkipsHelpersWithReviewEventsStillInTheOutbox() {
+        Review review = review(4);
+        Map<String, Object> data = new HashMap<>();
+        data.put(DomainEventMessage.HELPER_ID, helper.getId());
+        data.put(DomainEventMessage.PREVIOUS_RATING, null);
+        data.put(DomainEventMessage.RATING, 4);
+        DomainEvent event = entityManager.persist(new DomainEvent(DomainEvent.EventType.REVIEW_CREATED, review.getId(),
+                DomainEventMessage.toPayload(data)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Committed with its review but not relayed: a recount now would be doubled by the delta
+        assertEquals(0, helperRatingService.reconcile());
+        assertEquals(0, helperRatingService.getRatingSummary(helper.getId()).getTotalReviews());
+
+        helperRatingService.onReviewEvent(new DomainEventMessage(event));
+        domainEventRepository.markPublished(event.getId(), 0, LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(0, helperRatingService.reconcile());
+        RatingSummaryResponse summary = helperRatingService.getRatingSummary(helper.getId());
+        assertEquals(1, summary.getTotalReviews());
+        assertEquals(1, summary.getHistogram().get(4));
+    }
+
+    @Test
+    void recordRatingChange_RejectsUnknownHelperAndOutOfRangeRatings() {
+        assertThrows(BusinessException.class, () -> helperRatingService.recordRatingChange(-1L, null, 4));
+        assertThrows(BusinessException.class, () -> helperRatingService.recordRatingChange(helper.getId(), null, 6));
+    }
+
+    private Review review(int rating) {
+        ServiceRequest request = new ServiceRequest();
+        request.setUser(customer);
+        request.setHelper(helper);
+        request.setServiceType("Plumbing");
+        request.setDescription("Leaking tap");
+        request.setLocation("Block A");
+        request.setScheduledDate(LocalDateTime.of(2024, 5, 1, 10, 0));
+        request.setStatus(ServiceRequest.RequestStatus.COMPLETED);
+        entityManager.persist(request);
+        return entityManager.persist(new Review(customer, helper, request, rating, "Rated " + rating));
+    }
+}
@@ -0,0 +1,143 @@
+package com.localhelper.repository;
+
+import com.localhelper.dto.response.CursorPage;
+import com.localhelper.dto.response.PaymentResponse;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.util.PageCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final List<Payment> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(new User("payer", "payer@example.com", "password", "Payer", "9999999999"));
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setUser(user);
+        serviceRequest.setServiceType("Plumbing");
+        serviceRequest.setDescription("Leaking tap");
+        serviceRequest.setLocation("Block A");
+        serviceRequest.setScheduledDate(BASE);
+        entityManager.persist(serviceRequest);
+
+        for (int i = 0; i < 12; i++) {
+            Payment payment = new Payment(serviceRequest, new BigDecimal("100.00"), Payment.PaymentMethod.UPI);
+            payment.setStatus(i % 3 == 0 ? Payment.PaymentStatus.FAILED : Payment.PaymentStatus.COMPLETED);
+            seeded.add(entityManager.persist(payment));
+        }
+        entityManager.flush();
+
+        // Three payments share each timestamp so the id tie-breaker is exercised across page boundaries
+        for (Payment payment : seeded) {
+            LocalDateTime createdAt = BASE.plusMinutes(seeded.indexOf(payment) / 3);
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE Payment p SET p.createdAt = :createdAt WHERE p.id = :id")
+                    .setParameter("createdAt", createdAt)
+                    .setParameter("id", payment.getId())
+                    .executeUpdate();
+            payment.setCreatedAt(createdAt);
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void keysetPages_VisitEveryRowOnceNewestFirstWithoutCounting() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            statistics.clear();
+            PageCursor after = PageCursor.decode(cursor);
+            Slice<Payment> slice = after == null
+                    ? paymentRepository.findKeysetFirstPage(PageCursor.pageOf(5))
+                    : paymentRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), PageCursor.pageOf(5));
+            CursorPage<PaymentResponse> page = CursorPage.of(slice, PaymentResponse::new,
+                    payment -> new PageCursor(payment.getCreatedAt(), payment.getId()));
+
+            assertEquals(1, statistics.getPrepareStatementCount(), "keyset pages must not issue a count query");
+            page.getContent().forEach(payment -> visited.add(payment.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(expectedOrder(null), visited);
+    }
+
+    @Test
+    void keysetPagesByStatus_OnlyVisitMatchingRows() {
+        List<Long> visited = new ArrayList<>();
+        PageCursor after = null;
+        Slice<Payment> slice;
+
+        do {
+            slice = after == null
+                    ? paymentRepository.findKeysetFirstPageByStatus(Payment.PaymentStatus.COMPLETED, PageCursor.pageOf(3))
+                    : paymentRepository.findKeysetPageByStatusAfter(Payment.PaymentStatus.COMPLETED,
+                            after.getCreatedAt(), after.getId(), PageCursor.pageOf(3));
+            slice.forEach(payment -> visited.add(payment.getId()));
+            Payment last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            after = new PageCursor(last.getCreatedAt(), last.getId());
+        } while (slice.hasNext());
+
+        assertEquals(expectedOrder(Payment.PaymentStatus.COMPLETED), visited);
+    }
+
+    @Test
+    void pageCursor_RoundTripsAndRejectsMalformedTokens() {
+        PageCursor cursor = new PageCursor(BASE.plusNanos(123_000), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+        assertNull(PageCursor.decode(null));
+        assertThrows(BusinessException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(BusinessException.class, () -> PageCursor.pageOf(PageCursor.MAX_PAGE_SIZE + 1));
+    }
+
+    private List<Long> expectedOrder(Payment.PaymentStatus status) {
+        return seeded.stream()
+                .filter(payment -> status == null || payment.getStatus() == status)
+                .sorted(Comparator.comparing(Payment::getCreatedAt).thenComparing(Payment::getId).reversed())
+                .map(Payment::getId)
+                .collect(Collectors.toList());
+    }
+}
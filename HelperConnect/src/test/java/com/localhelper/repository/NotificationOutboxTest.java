@@ -0,0 +1,178 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.Notification;
+import com.localhelper.notification.FakeSmtpServer;
+import com.localhelper.notification.NotificationDispatcher;
+import com.localhelper.notification.NotificationOutbox;
+import com.localhelper.notification.SmtpNotificationTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Delivers through the real SMTP transport to a fake server on a loopback port. The outbox
+ * commits its own transactions, so rows are removed after each test.
+ */
+@DataJpaTest(properties = {
+        "app.notifications.transport=smtp",
+        "app.notifications.dispatcher.enabled=false",
+        "app.notifications.rate-per-second=1000",
+        "app.notifications.max-attempts=3",
+        "app.notifications.initial-backoff-ms=60000"
+})
+@ActiveProfiles("test")
+@Import({NotificationOutbox.class, NotificationDispatcher.class, SmtpNotificationTransport.class, NotificationOutboxTest.MailConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationOutboxTest {
+
+    private static final FakeSmtpServer SMTP = startSmtpServer();
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAllInBatch();
+        SMTP.reset();
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        SMTP.close();
+    }
+
+    @Test
+    void enqueue_RolledBackWithTheCallersTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationOutbox.enqueue(Notification.NotificationType.WELCOME, "user@example.com", "Welcome", "Hello");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, notificationRepository.count());
+        assertEquals(0, notificationDispatcher.dispatchBatch());
+    }
+
+    @Test
+    void dispatchBatch_SendsDueNotificationsOverSmtpAndMarksThemSent() {
+        for (int i = 0; i < 3; i++) {
+            notificationOutbox.enqueue(Notification.NotificationType.PAYMENT_CONFIRMATION,
+                    "user" + i + "@example.com", "Payment Confirmation " + i, "Paid");
+        }
+        double sentBefore = sendTimerCount("sent");
+
+        assertEquals(3, notificationDispatcher.dispatchBatch());
+
+        assertEquals(List.of("user0@example.com", "user1@example.com", "user2@example.com"),
+                SMTP.getMessages().stream().flatMap(message -> message.getRecipients().stream()).sorted().collect(Collectors.toList()));
+        assertTrue(SMTP.getMessages().stream().allMatch(message -> message.getSubject().startsWith("Payment Confirmation")));
+        assertTrue(notificationRepository.findAll().stream()
+                .allMatch(notification -> notification.getStatus() == Notification.NotificationStatus.SENT
+                        && notification.getAttempts() == 1 && notification.getSentAt() != null));
+        assertEquals(0, notificationOutbox.countPending());
+        assertEquals(3, sendTimerCount("sent") - sentBefore);
+        assertEquals(0, notificationDispatcher.dispatchBatch());
+    }
+
+    @Test
+    void dispatchBatch_RejectedSendIsRetriedWithBackoffThenMarkedFailed() {
+        SMTP.setRejecting(true);
+        Long id = notificationOutbox.enqueue(Notification.NotificationType.HELPER_APPROVED,
+                "helper@example.com", "Approved", "Welcome aboard").getId();
+
+        LocalDateTime firstFailure = LocalDateTime.now();
+        assertEquals(1, notificationDispatcher.dispatchBatch());
+        Notification afterFirst = notificationRepository.findById(id).orElseThrow();
+        assertEquals(Notification.NotificationStatus.PENDING, afterFirst.getStatus());
+        assertEquals(1, afterFirst.getAttempts());
+        assertNotNull(afterFirst.getLastError());
+        assertTrue(afterFirst.getNextAttemptAt().isAfter(firstFailure.plusSeconds(55)));
+        // Not due again until the backoff has passed
+        assertEquals(0, notificationDispatcher.dispatchBatch());
+
+        makeDue(id);
+        LocalDateTime secondFailure = LocalDateTime.now();
+        assertEquals(1, notificationDispatcher.dispatchBatch());
+        Notification afterSecond = notificationRepository.findById(id).orElseThrow();
+        assertEquals(2, afterSecond.getAttempts());
+        assertTrue(afterSecond.getNextAttemptAt().isAfter(secondFailure.plusSeconds(115)));
+
+        makeDue(id);
+        assertEquals(1, notificationDispatcher.dispatchBatch());
+        Notification afterThird = notificationRepository.findById(id).orElseThrow();
+        assertEquals(Notification.NotificationStatus.FAILED, afterThird.getStatus());
+        assertEquals(3, afterThird.getAttempts());
+        assertTrue(SMTP.getMessages().isEmpty());
+        assertTrue(sendTimerCount("failed") >= 3);
+
+        makeDue(id);
+        assertEquals(0, notificationDispatcher.dispatchBatch());
+    }
+
+    private void makeDue(Long id) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                notificationRepository.scheduleRetry(id, LocalDateTime.now().minusSeconds(1), "rewound by test"));
+    }
+
+    private double sendTimerCount(String outcome) {
+        return meterRegistry.get("notifications.send.latency").tag("outcome", outcome).timer().count();
+    }
+
+    private static FakeSmtpServer startSmtpServer() {
+        try {
+            return new FakeSmtpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("127.0.0.1");
+            mailSender.setPort(SMTP.getPort());
+            return mailSender;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
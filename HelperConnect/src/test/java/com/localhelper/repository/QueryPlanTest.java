@@ -0,0 +1,240 @@
+package com.localhelper.repository;
+
+import com.localhelper.config.SchemaIndexVerifier;
+import com.localhelper.entity.Complaint;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.EarningsEntry;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Notification;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL behind each hot repository query and fails when a table is scanned
+ * or a lookup relies on an index H2 creates implicitly for a foreign key with no migrated index
+ * leading on the same column, since PostgreSQL does not create those. Substring searches and
+ * unfiltered listings are expected to scan and are not listed here.
+ */
+@DataJpaTest(properties = {
+        "app.schema.verify-indexes=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.localhelper.repository.QueryPlanTest$RecordingStatementInspector"
+})
+@ActiveProfiles("test")
+@Import(SchemaIndexVerifier.class)
+class QueryPlanTest {
+
+    private static final Pattern USED_INDEX = Pattern.compile("/\\* public\\.(\\w+)");
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    @Test
+    void migrations_CreateEveryEntityDeclaredIndex() {
+        assertEquals(List.of(), schemaIndexVerifier.verify());
+    }
+
+    @Test
+    void hotQueries_UseDeclaredIndexes() throws SQLException {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.findByRoleAndIsActive", () -> userRepository.findByRoleAndIsActive(User.Role.HELPER, true));
+        queries.put("UserRepository.findKeysetPageAfter", () -> userRepository.findKeysetPageAfter(NOW, 10L, PAGE));
+
+        queries.put("HelperRepository.findByUserId", () -> helperRepository.findByUserId(1L));
+        queries.put("HelperRepository.findByStatus", () -> helperRepository.findByStatus(Helper.HelperStatus.PENDING, PAGE));
+        queries.put("HelperRepository.findByStatusAndIsAvailable", () -> helperRepository.findByStatusAndIsAvailable(Helper.HelperStatus.APPROVED, true, PAGE));
+        queries.put("HelperRepository.findByKycStatus", () -> helperRepository.findByKycStatus(Helper.KycStatus.PENDING, PAGE));
+        queries.put("HelperRepository.findSearchableHelpersAfter", () -> helperRepository.findSearchableHelpersAfter(0L, PAGE));
+        queries.put("HelperRepository.findDispatchableHelpersAfter", () -> helperRepository.findDispatchableHelpersAfter(0L, PAGE));
+        queries.put("HelperRepository.findAvailableHelpersWithinBounds", () -> helperRepository.findAvailableHelpersWithinBounds(12.0, 13.0, 77.0, 78.0));
+        queries.put("HelperRepository.findRankableHelpersAfter", () -> helperRepository.findRankableHelpersAfter(0L, PAGE));
+        queries.put("HelperRepository.findRankableHelperById", () -> helperRepository.findRankableHelperById(1L));
+
+        queries.put("ServiceRequestRepository.findByUserId", () -> serviceRequestRepository.findByUserId(1L, PAGE));
+        queries.put("ServiceRequestRepository.findByHelperId", () -> serviceRequestRepository.findByHelperId(1L, PAGE));
+        queries.put("ServiceRequestRepository.findByUserIdAndStatus", () -> serviceRequestRepository.findByUserIdAndStatus(1L, ServiceRequest.RequestStatus.PENDING));
+        queries.put("ServiceRequestRepository.findByHelperIdAndStatus", () -> serviceRequestRepository.findByHelperIdAndStatus(1L, ServiceRequest.RequestStatus.ACCEPTED, PAGE));
+        queries.put("ServiceRequestRepository.findByStatus", () -> serviceRequestRepository.findByStatus(ServiceRequest.RequestStatus.PENDING, PAGE));
+        queries.put("ServiceRequestRepository.findPendingRequestsByServiceType", () -> serviceRequestRepository.findPendingRequestsByServiceType("Plumbing"));
+        queries.put("ServiceRequestRepository.findByScheduledDateBetween", () -> serviceRequestRepository.findByScheduledDateBetween(NOW, NOW.plusDays(1), PAGE));
+        queries.put("ServiceRequestRepository.streamByCreatedAtBetween", () -> consume(serviceRequestRepository.streamByCreatedAtBetween(NOW, NOW.plusDays(1))));
+        queries.put("ServiceRequestRepository.findKeysetPageByStatusAfter", () -> serviceRequestRepository.findKeysetPageByStatusAfter(
+                ServiceRequest.RequestStatus.PENDING, NOW, 10L, PAGE));
+        queries.put("ServiceRequestRepository.countByHelperId", () -> serviceRequestRepository.countByHelperId(1L));
+        queries.put("ServiceRequestRepository.countActiveGroupedByHelper", () -> serviceRequestRepository.countActiveGroupedByHelper());
+
+        queries.put("PaymentRepository.findByServiceRequestId", () -> paymentRepository.findByServiceRequestId(1L));
+        queries.put("PaymentRepository.findByStatus", () -> paymentRepository.findByStatus(Payment.PaymentStatus.PENDING, PAGE));
+        queries.put("PaymentRepository.findIdsByStatus", () -> paymentRepository.findIdsByStatus(Payment.PaymentStatus.PROCESSING));
+        queries.put("PaymentRepository.findByPaymentReference", () -> paymentRepository.findByPaymentReference("PAY-1"));
+        queries.put("PaymentRepository.findByUserId", () -> paymentRepository.findByUserId(1L, PAGE));
+        queries.put("PaymentRepository.calculateTotalEarningsByHelperId", () -> paymentRepository.calculateTotalEarningsByHelperId(1L));
+        queries.put("PaymentRepository.findByCreatedAtBetween", () -> paymentRepository.findByCreatedAtBetween(NOW, NOW.plusDays(1), PAGE));
+        queries.put("PaymentRepository.findKeysetPageByStatusAfter", () -> paymentRepository.findKeysetPageByStatusAfter(
+                Payment.PaymentStatus.COMPLETED, NOW, 10L, PAGE));
+
+        queries.put("ReviewRepository.findByHelperIdAndIsVisible", () -> reviewRepository.findByHelperIdAndIsVisible(1L, true, PAGE));
+        queries.put("ReviewRepository.calculateAverageRatingByHelperId", () -> reviewRepository.calculateAverageRatingByHelperId(1L));
+        queries.put("ReviewRepository.findByUserId", () -> reviewRepository.findByUserId(1L, PAGE));
+        queries.put("ReviewRepository.findByServiceRequestId", () -> reviewRepository.findByServiceRequestId(1L));
+
+        queries.put("ComplaintRepository.findByStatusAndPriority", () -> complaintRepository.findByStatusAndPriority(
+                Complaint.ComplaintStatus.OPEN, Complaint.Priority.HIGH, PAGE));
+        queries.put("ComplaintRepository.findByStatus", () -> complaintRepository.findByStatus(Complaint.ComplaintStatus.OPEN, PAGE));
+        queries.put("ComplaintRepository.findByUserId", () -> complaintRepository.findByUserId(1L, PAGE));
+        queries.put("ComplaintRepository.findByHelperId", () -> complaintRepository.findByHelperId(1L, PAGE));
+        queries.put("ComplaintRepository.findByServiceRequestId", () -> complaintRepository.findByServiceRequestId(1L));
+        queries.put("ComplaintRepository.findByCreatedAtBetween", () -> complaintRepository.findByCreatedAtBetween(NOW, NOW.plusDays(1), PAGE));
+
+        queries.put("NotificationRepository.findDueIds", () -> notificationRepository.findDueIds(NOW, PAGE));
+        queries.put("NotificationRepository.countByStatus", () -> notificationRepository.countByStatus(Notification.NotificationStatus.PENDING));
+        queries.put("DomainEventRepository.findDueIds", () -> domainEventRepository.findDueIds(NOW, PAGE));
+        queries.put("DomainEventRepository.countByStatus", () -> domainEventRepository.countByStatus(DomainEvent.PublishStatus.PENDING));
+        queries.put("EarningsEntryRepository.existsByPaymentIdAndEntryType",
+                () -> earningsEntryRepository.existsByPaymentIdAndEntryType(1L, EarningsEntry.EntryType.PAYMENT_COMPLETED));
+
+        List<String> failures = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            Set<String> unbackedForeignKeyIndexes = unbackedForeignKeyIndexes(connection);
+            for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+                RecordingStatementInspector.STATEMENTS.clear();
+                query.getValue().run();
+                assertFalse(RecordingStatementInspector.STATEMENTS.isEmpty(), query.getKey() + " issued no SQL");
+                for (String sql : RecordingStatementInspector.STATEMENTS) {
+                    String plan = explain(connection, sql);
+                    Matcher used = USED_INDEX.matcher(plan);
+                    boolean unbacked = false;
+                    while (used.find()) {
+                        unbacked |= unbackedForeignKeyIndexes.contains(used.group(1).toLowerCase(Locale.ROOT));
+                    }
+                    if (plan.contains(".tableScan") || unbacked) {
+                        failures.add(query.getKey() + ": " + plan);
+                    }
+                }
+            }
+        }
+
+        assertTrue(failures.isEmpty(), "Queries without a usable index:\n" + String.join("\n", failures));
+    }
+
+    /**
+     * Names of the indexes H2 adds for foreign key constraints whose leading column is not also
+     * the leading column of a declared index or unique constraint on the same table.
+     */
+    private Set<String> unbackedForeignKeyIndexes(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> unbacked = new HashSet<>();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                Map<String, String> leadingColumns = new HashMap<>();
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                        tables.getString("TABLE_NAME"), false, true)) {
+                    while (indexes.next()) {
+                        if (indexes.getShort("ORDINAL_POSITION") == 1) {
+                            leadingColumns.put(indexes.getString("INDEX_NAME").toLowerCase(Locale.ROOT),
+                                    indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                leadingColumns.forEach((name, column) -> {
+                    boolean backed = leadingColumns.entrySet().stream()
+                            .anyMatch(other -> !other.getKey().startsWith("fk_") && other.getValue().equals(column));
+                    if (name.startsWith("fk_") && !backed) {
+                        unbacked.add(name);
+                    }
+                });
+            }
+        }
+        return unbacked;
+    }
+
+    private String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            StringBuilder text = new StringBuilder();
+            while (plan.next()) {
+                text.append(plan.getString(1).replaceAll("\\s+", " "));
+            }
+            return text.toString();
+        }
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
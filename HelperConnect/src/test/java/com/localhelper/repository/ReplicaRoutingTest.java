@@ -0,0 +1,178 @@
+package com.localhelper.repository;
+
+import com.localhelper.config.ReplicaRoutingConfig;
+import com.localhelper.config.ReplicaRoutingDataSource;
+import com.localhelper.entity.User;
+import com.localhelper.security.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through two in-memory H2 databases, a primary and a replica migrated separately. Nothing
+ * replicates between them, so a row that exists in only one of them shows where a read went.
+ * Reads are only routed on request threads, so each test runs with a request bound.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "app.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas.read-your-writes-window=PT1M"
+})
+@ActiveProfiles("test")
+@Import(ReplicaRoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final String INSERT_USER = "insert into users (id, username, email, password, full_name, phone, role, "
+            + "is_active, created_at, updated_at) values (?, ?, ?, 'x', 'Replica Only', '1', 'USER', true, now(), now())";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica.update(INSERT_USER, 1_000_000L, "replica-only", "replica-only@example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        entityManagerFactory.getCache().evictAll();
+        replica.update("delete from users");
+        primary.update("delete from users");
+    }
+
+    @Test
+    void readOnlyTransactions_ReadFromReplicaAndWritesGoToPrimary() {
+        assertTrue(findInReadOnlyTransaction("replica-only").isPresent());
+        assertTrue(inTransaction(false, () -> userRepository.findByUsername("replica-only")).isEmpty());
+
+        inTransaction(false, () -> userRepository.save(new User("writer", "writer@example.com", "password", "Writer", "2")));
+        assertEquals(1, primary.queryForObject("select count(*) from users where username = 'writer'", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from users where username = 'writer'", Integer.class));
+        assertTrue(findInReadOnlyTransaction("writer").isEmpty(), "the replica has not seen the write");
+        assertEquals(1, replicaRoutingDataSource.getHealthyReplicaCount());
+    }
+
+    @Test
+    void readYourWrites_KeepsAWriterOnThePrimaryWithinTheWindow() {
+        authenticateAs(42L);
+        assertTrue(findInReadOnlyTransaction("replica-only").isPresent());
+
+        inTransaction(false, () -> userRepository.save(new User("writer", "writer@example.com", "password", "Writer", "2")));
+        assertTrue(findInReadOnlyTransaction("writer").isPresent(), "reads after the user's own write go to the primary");
+
+        authenticateAs(43L);
+        assertTrue(findInReadOnlyTransaction("writer").isEmpty());
+        SecurityContextHolder.clearContext();
+        assertTrue(findInReadOnlyTransaction("writer").isEmpty());
+    }
+
+    @Test
+    void backgroundReads_StayOnThePrimary() {
+        RequestContextHolder.resetRequestAttributes();
+        assertTrue(findInReadOnlyTransaction("replica-only").isEmpty(), "workers read back their own commits from the primary");
+
+        inTransaction(false, () -> userRepository.save(new User("writer", "writer@example.com", "password", "Writer", "2")));
+        assertTrue(findInReadOnlyTransaction("writer").isPresent());
+    }
+
+    @Test
+    void readOnlyTransactions_DoNotPopulateTheSecondLevelCache() {
+        assertTrue(inTransaction(true, () -> userRepository.findById(1_000_000L)).isPresent());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, 1_000_000L),
+                "a replica read could be stale, so it must not be cached");
+
+        Long writerId = inTransaction(false, () -> userRepository.save(
+                new User("writer", "writer@example.com", "password", "Writer", "2"))).getId();
+        entityManagerFactory.getCache().evictAll();
+        inTransaction(false, () -> userRepository.findById(writerId));
+        assertTrue(entityManagerFactory.getCache().contains(User.class, writerId));
+        assertTrue(inTransaction(true, () -> userRepository.findById(writerId)).isPresent(), "cached rows are still served");
+    }
+
+    @Test
+    void unreachableReplica_IsTakenOutOfRotation() {
+        DataSource primaryDataSource = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing", "sa", "");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, List.of(unreachable), 1, Duration.ZERO);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // The first read finds the replica down and falls back to the primary
+        Integer users = readOnly.execute(status -> jdbcTemplate.queryForObject("select count(*) from users", Integer.class));
+        assertEquals(0, users);
+        assertEquals(0, routing.getHealthyReplicaCount());
+        routing.checkReplicas();
+        assertEquals(0, routing.getHealthyReplicaCount());
+    }
+
+    private Optional<User> findInReadOnlyTransaction(String username) {
+        return inTransaction(true, () -> userRepository.findByUsername(username));
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static void authenticateAs(Long userId) {
+        UserDetailsImpl principal = new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@example.com",
+                "password", List.of(), true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,217 @@
+package com.localhelper.repository;
+
+import com.localhelper.config.SecondLevelCacheMetrics;
+import com.localhelper.dto.request.HelperRegistrationRequest;
+import com.localhelper.dto.response.HelperResponse;
+import com.localhelper.entity.EarningsEntry;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.search.AvailableHelperRanking;
+import com.localhelper.search.HelperGeoIndex;
+import com.localhelper.search.HelperSearchIndex;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.service.HelperService;
+import com.localhelper.util.EmailUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads through HelperService with the second-level cache on, checking that repeat lookups skip
+ * the database and that every kind of write is visible on the next read. Transactions are
+ * committed for real, so rows are removed after each test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({HelperService.class, SecondLevelCacheMetrics.class, SecondLevelCacheTest.MeterConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @MockBean
+    private HelperSearchIndex helperSearchIndex;
+
+    @MockBean
+    private HelperGeoIndex helperGeoIndex;
+
+    @MockBean
+    private AvailableHelperRanking availableHelperRanking;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean
+    private DomainEventOutbox domainEventOutbox;
+
+    @MockBean
+    private EmailUtil emailUtil;
+
+    @Autowired
+    private HelperService helperService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        userId = transactionTemplate.execute(status ->
+                userRepository.save(new User("cached-helper", "cached-helper@example.com", "password", "Cached Helper", "9999999997")).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            earningsEntryRepository.deleteAllInBatch();
+            paymentRepository.deleteAllInBatch();
+            serviceRequestRepository.deleteAllInBatch();
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void getHelperByUserId_RepeatLookupIsServedWithoutQueries() {
+        assertThrows(BusinessException.class, () -> helperService.getHelperByUserId(userId));
+        // The cached empty result must not survive the registration
+        Long helperId = register().getId();
+
+        assertEquals(helperId, helperService.getHelperByUserId(userId).getId());
+        statistics.clear();
+        HelperResponse cached = helperService.getHelperByUserId(userId);
+
+        assertEquals(helperId, cached.getId());
+        assertEquals("Cached Helper", cached.getUser().getFullName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                .tag("region", HelperRepository.HELPER_BY_USER_CACHE_REGION).gauge().value() > 0);
+    }
+
+    @Test
+    void getHelperById_RepeatLookupIsServedFromEntityRegions() {
+        Long helperId = register().getId();
+        helperService.getHelperById(helperId);
+        statistics.clear();
+
+        HelperResponse cached = helperService.getHelperById(helperId);
+
+        assertEquals("Cached Helper", cached.getUser().getFullName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Helper.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount());
+        assertEquals(1.0, meterRegistry.get("hibernate.cache.region.hit.ratio").tag("region", Helper.CACHE_REGION).gauge().value());
+    }
+
+    @Test
+    void mutators_AreVisibleOnTheNextCachedRead() {
+        Long helperId = register().getId();
+        helperService.getHelperById(helperId);
+
+        helperService.approveKyc(helperId);
+        helperService.approveHelper(helperId);
+        assertEquals(Helper.HelperStatus.APPROVED, helperService.getHelperByUserId(userId).getStatus());
+
+        helperService.updateAvailability(helperId, false);
+        assertFalse(helperService.getHelperById(helperId).getIsAvailable());
+
+        HelperRegistrationRequest profile = registrationRequest();
+        profile.setHourlyRate(new BigDecimal("650.00"));
+        helperService.updateHelperProfile(helperId, profile);
+        assertEquals(0, new BigDecimal("650.00").compareTo(helperService.getHelperByUserId(userId).getHourlyRate()));
+
+        // Earnings are added by a bulk UPDATE that bypasses the cached entity
+        Long paymentId = createPayment(helperId, new BigDecimal("300.00"));
+        transactionTemplate.executeWithoutResult(status -> helperService.recordEarnings(
+                paymentRepository.findById(paymentId).orElseThrow(), EarningsEntry.EntryType.PAYMENT_COMPLETED));
+        assertEquals(0, new BigDecimal("300.00").compareTo(helperService.getHelperById(helperId).getTotalEarnings()));
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(userId).orElseThrow().setFullName("Renamed Helper"));
+        assertEquals("Renamed Helper", helperService.getHelperById(helperId).getUser().getFullName());
+    }
+
+    private HelperResponse register() {
+        return helperService.registerHelper(userId, registrationRequest());
+    }
+
+    private HelperRegistrationRequest registrationRequest() {
+        return new HelperRegistrationRequest("Carpentry", "Furniture repair", new BigDecimal("400.00"), "5 years",
+                "AADHAAR", "DOC-3", "https://docs.example/3");
+    }
+
+    private Long createPayment(Long helperId, BigDecimal amount) {
+        return transactionTemplate.execute(status -> {
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(userRepository.findById(userId).orElseThrow());
+            request.setHelper(helperRepository.findById(helperId).orElseThrow());
+            request.setServiceType("Carpentry");
+            request.setDescription("Fix wardrobe door");
+            request.setLocation("Block C");
+            request.setScheduledDate(LocalDateTime.of(2024, 7, 1, 11, 0));
+            serviceRequestRepository.save(request);
+            return paymentRepository.save(new Payment(request, amount, Payment.PaymentMethod.UPI)).getId();
+        });
+    }
+
+    @TestConfiguration
+    static class MeterConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.Review;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=25",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ActiveProfiles("test")
+class SequenceIdTest {
+
+    private static final int ROWS = 60;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void persist_BatchesInsertsOfReviewsAndPayments() {
+        User customer = entityManager.persist(new User("customer", "customer@example.com", "password", "Customer", "9999999999"));
+        User helperUser = entityManager.persist(new User("helper", "helper@example.com", "password", "Helper", "9999999998"));
+        Helper helper = entityManager.persist(new Helper(helperUser, "Plumbing", new BigDecimal("250.00"),
+                "AADHAAR", "DOC-1", "https://docs.example/1"));
+        List<ServiceRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(customer);
+            request.setHelper(helper);
+            request.setServiceType("Plumbing");
+            request.setDescription("Leaking tap");
+            request.setLocation("Block A");
+            request.setScheduledDate(LocalDateTime.of(2024, 5, 1, 10, 0));
+            request.setStatus(ServiceRequest.RequestStatus.COMPLETED);
+            requests.add(entityManager.persist(request));
+        }
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+        List<Long> reviewIds = new ArrayList<>();
+        for (ServiceRequest request : requests) {
+            reviewIds.add(entityManager.persist(new Review(customer, helper, request, 5, "Great")).getId());
+            entityManager.persist(new Payment(request, new BigDecimal("500.00"), Payment.PaymentMethod.UPI));
+        }
+        entityManager.flush();
+
+        // With ids known before the insert, the 120 rows go out as 3 batches of up to 25 per table
+        assertEquals(2 * ROWS, statistics.getEntityInsertCount());
+        assertEquals(6, statistics.getPrepareStatementCount());
+        for (int i = 1; i < ROWS; i++) {
+            if (i % 50 != 0) {
+                assertEquals(reviewIds.get(i - 1) + 1, reviewIds.get(i));
+            }
+        }
+    }
+
+    @Test
+    void migration_StartsSequencesAfterExistingIdsOfIdentityColumns() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sequence-migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("7").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // The form Hibernate generated for the databases this migrates
+        assertEquals("YES", idColumn(jdbcTemplate, "users").get("is_identity"));
+        jdbcTemplate.update("insert into users (username, email, password, full_name, phone, role, is_active, created_at, updated_at) "
+                + "values ('first', 'first@example.com', 'x', 'First', '1', 'USER', true, now(), now())");
+        jdbcTemplate.update("insert into users (id, username, email, password, full_name, phone, role, is_active, created_at, updated_at) "
+                + "values (41, 'imported', 'imported@example.com', 'x', 'Imported', '2', 'USER', true, now(), now())");
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        assertEquals(42L, jdbcTemplate.queryForObject("select nextval('users_seq')", Long.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select nextval('reviews_seq')", Long.class));
+        assertEquals(92L, jdbcTemplate.queryForObject("select nextval('users_seq')", Long.class));
+        assertEquals("NO", idColumn(jdbcTemplate, "users").get("is_identity"));
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    void migration_DropsSerialDefaultsAndTheirSequences() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:serial-migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("7").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("alter table reviews alter column id drop identity");
+        jdbcTemplate.execute("create sequence reviews_id_seq start with 8");
+        jdbcTemplate.execute("alter table reviews alter column id set default nextval('reviews_id_seq')");
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        assertNull(idColumn(jdbcTemplate, "reviews").get("column_default"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from information_schema.sequences "
+                + "where sequence_name = 'reviews_id_seq'", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select nextval('reviews_seq')", Long.class));
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    private static Map<String, Object> idColumn(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForMap("select is_identity, column_default from information_schema.columns "
+                + "where table_schema = current_schema() and table_name = ? and column_name = 'id'", table);
+    }
+}
@@ -0,0 +1,196 @@
+package com.localhelper.repository;
+
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.exception.ConflictException;
+import com.localhelper.service.ServiceRequestService;
+import com.localhelper.util.EmailUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Races many helpers against one service request through the real service and database.
+ * Transactions commit, so the test removes its rows afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ServiceRequestService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceRequestTransitionRaceTest {
+
+    private static final int CONTENDERS = 200;
+
+    @MockBean
+    private DomainEventOutbox domainEventOutbox;
+
+    @MockBean
+    private EmailUtil emailUtil;
+
+    @Autowired
+    private ServiceRequestService serviceRequestService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelperRepository helperRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    private Long customerId;
+    private Long requestId;
+    private final List<Long> helperIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User customer = userRepository.save(new User("race-customer", "race-customer@example.com", "password", "Customer", "9999999999"));
+            customerId = customer.getId();
+            for (int i = 0; i < CONTENDERS; i++) {
+                User helperUser = userRepository.save(new User("race-helper" + i, "race-helper" + i + "@example.com", "password", "Helper " + i, "9999999998"));
+                Helper helper = new Helper(helperUser, "Plumbing", new BigDecimal("250.00"), "AADHAAR", "DOC-" + i, "https://docs.example/" + i);
+                helper.setStatus(Helper.HelperStatus.APPROVED);
+                helper.setIsAvailable(true);
+                helperIds.add(helperRepository.save(helper).getId());
+            }
+
+            ServiceRequest request = new ServiceRequest();
+            request.setUser(customer);
+            request.setServiceType("Plumbing");
+            request.setDescription("Leaking tap");
+            request.setLocation("Block A");
+            request.setScheduledDate(LocalDateTime.of(2024, 5, 1, 10, 0));
+            requestId = serviceRequestRepository.save(request).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            serviceRequestRepository.deleteAllInBatch();
+            helperRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void acceptServiceRequest_ExactlyOneOfManyConcurrentHelpersWins() throws Exception {
+        List<Callable<Long>> attempts = new ArrayList<>();
+        for (Long helperId : helperIds) {
+            attempts.add(() -> serviceRequestService.acceptServiceRequest(requestId, helperId).getHelper().getId());
+        }
+
+        List<Long> winners = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<Long> outcome : race(attempts)) {
+            try {
+                winners.add(outcome.get());
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+
+        assertEquals(1, winners.size(), "exactly one helper may accept the request");
+        assertEquals(CONTENDERS - 1, conflicts);
+        ServiceRequest accepted = serviceRequestRepository.findById(requestId).orElseThrow();
+        assertEquals(ServiceRequest.RequestStatus.ACCEPTED, accepted.getStatus());
+        assertEquals(winners.get(0), accepted.getHelper().getId());
+        assertEquals(1L, accepted.getVersion());
+        verify(domainEventOutbox, times(1)).recordServiceRequestEvent(eq(DomainEvent.EventType.SERVICE_REQUEST_ACCEPTED),
+                any(ServiceRequest.class), eq(ServiceRequest.RequestStatus.PENDING));
+    }
+
+    @Test
+    void cancelAndAccept_RacingOnPendingRequestLeaveTheWinnersState() throws Exception {
+        Long helperId = helperIds.get(0);
+        List<Callable<ServiceRequest.RequestStatus>> attempts = List.of(
+                () -> serviceRequestService.cancelServiceRequest(requestId, customerId).getStatus(),
+                () -> serviceRequestService.acceptServiceRequest(requestId, helperId).getStatus());
+
+        List<ServiceRequest.RequestStatus> outcomes = new ArrayList<>();
+        for (Future<ServiceRequest.RequestStatus> outcome : race(attempts)) {
+            try {
+                outcomes.add(outcome.get());
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+            }
+        }
+
+        ServiceRequest stored = serviceRequestRepository.findById(requestId).orElseThrow();
+        if (outcomes.size() == 1) {
+            assertEquals(outcomes.get(0), stored.getStatus(), "the losing write must not overwrite the winner");
+            assertEquals(1L, stored.getVersion());
+        } else {
+            // The cancel ran after the accept committed, which is a legal sequence
+            assertEquals(ServiceRequest.RequestStatus.CANCELLED, stored.getStatus());
+            assertEquals(2L, stored.getVersion());
+        }
+    }
+
+    @Test
+    void updateServiceRequest_StaleEntitySaveIsRejectedByVersion() {
+        ServiceRequest stale = serviceRequestRepository.findById(requestId).orElseThrow();
+        serviceRequestService.acceptServiceRequest(requestId, helperIds.get(0));
+
+        stale.setNotes("Edited from an old copy");
+        assertThrows(OptimisticLockingFailureException.class, () -> serviceRequestRepository.save(stale));
+        assertEquals(ServiceRequest.RequestStatus.ACCEPTED, serviceRequestRepository.findById(requestId).orElseThrow().getStatus());
+    }
+
+    private <T> List<Future<T>> race(List<Callable<T>> attempts) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(attempts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> outcomes = new ArrayList<>();
+        try {
+            for (Callable<T> attempt : attempts) {
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,206 @@
+package com.localhelper.unit;
+
+import com.localhelper.analytics.DashboardCounters;
+import com.localhelper.entity.Complaint;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.DomainEventMessage;
+import com.localhelper.repository.ComplaintRepository;
+import com.localhelper.repository.DomainEventRepository;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.PaymentRepository;
+import com.localhelper.repository.ReviewRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import com.localhelper.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCountersTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private HelperRepository helperRepository;
+    
+    @Mock
+    private ServiceRequestRepository serviceRequestRepository;
+    
+    @Mock
+    private PaymentRepository paymentRepository;
+    
+    @Mock
+    private ReviewRepository reviewRepository;
+    
+    @Mock
+    private ComplaintRepository complaintRepository;
+    
+    @Mock
+    private DomainEventRepository domainEventRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private DashboardCounters dashboardCounters;
+    
+    @BeforeEach
+    void setUp() {
+        when(userRepository.count()).thenReturn(10L);
+        when(helperRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[] {Helper.HelperStatus.PENDING, 2L},
+                new Object[] {Helper.HelperStatus.APPROVED, 3L}));
+        when(serviceRequestRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[] {ServiceRequest.RequestStatus.PENDING, 4L}));
+        when(paymentRepository.countGroupedByStatus()).thenReturn(Collections.emptyList());
+        when(reviewRepository.count()).thenReturn(0L);
+        when(complaintRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[] {Complaint.ComplaintStatus.OPEN, 1L}));
+        when(paymentRepository.calculateTotalRevenueBetween(any(), any())).thenReturn(new BigDecimal("100.00"));
+        when(domainEventRepository.findByStatusOrderById(DomainEvent.PublishStatus.PENDING)).thenReturn(Collections.emptyList());
+        
+        dashboardCounters.init();
+        dashboardCounters.reconcile();
+    }
+    
+    @Test
+    void snapshot_ServesReconciledCountsWithoutQuerying() {
+        Mockito.<Object>clearInvocations(userRepository, helperRepository, paymentRepository);
+        
+        Map<String, Object> snapshot = dashboardCounters.snapshot();
+        
+        assertEquals(10L, snapshot.get("totalUsers"));
+        assertEquals(5L, snapshot.get("totalHelpers"));
+        assertEquals(2L, snapshot.get("pendingHelpers"));
+        assertEquals(3L, snapshot.get("approvedHelpers"));
+        assertEquals(4L, snapshot.get("pendingRequests"));
+        assertEquals(0L, snapshot.get("completedPayments"));
+        assertEquals(1L, snapshot.get("openComplaints"));
+        assertEquals(new BigDecimal("100.00"), snapshot.get("monthlyRevenue"));
+        assertNotNull(snapshot.get("countersReconciledAt"));
+        verifyNoInteractions(userRepository, helperRepository, paymentRepository);
+    }
+    
+    @Test
+    void snapshot_ReconcilesFirstInAReadOnlyRepeatableReadTransaction() {
+        ReflectionTestUtils.setField(dashboardCounters, "reconciledAt", null);
+        clearInvocations(transactionManager, userRepository);
+        
+        dashboardCounters.snapshot();
+        
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(userRepository).count();
+    }
+    
+    @Test
+    void recordedChanges_AdjustCountersIncrementally() {
+        dashboardCounters.recordCreated(DashboardCounters.CountedEntity.PAYMENTS, Payment.PaymentStatus.PENDING);
+        dashboardCounters.recordStatusChange(Payment.PaymentStatus.PENDING, Payment.PaymentStatus.PROCESSING);
+        dashboardCounters.recordStatusChange(Payment.PaymentStatus.PROCESSING, Payment.PaymentStatus.COMPLETED);
+        dashboardCounters.recordRevenue(LocalDateTime.now(), new BigDecimal("50.00"));
+        dashboardCounters.recordStatusChange(Helper.HelperStatus.PENDING, Helper.HelperStatus.APPROVED);
+        
+        Map<String, Object> snapshot = dashboardCounters.snapshot();
+        
+        assertEquals(1L, snapshot.get("totalPayments"));
+        assertEquals(1L, snapshot.get("completedPayments"));
+        assertEquals(0L, dashboardCounters.count(Payment.PaymentStatus.PROCESSING));
+        assertEquals(1L, snapshot.get("pendingHelpers"));
+        assertEquals(4L, snapshot.get("approvedHelpers"));
+        assertEquals(new BigDecimal("150.00"), snapshot.get("monthlyRevenue"));
+    }
+    
+    @Test
+    void reconcile_ReplacesDriftedCounters() {
+        dashboardCounters.recordCreated(DashboardCounters.CountedEntity.USERS, null);
+        assertEquals(11L, dashboardCounters.total(DashboardCounters.CountedEntity.USERS));
+        
+        dashboardCounters.reconcile();
+        
+        assertEquals(10L, dashboardCounters.total(DashboardCounters.CountedEntity.USERS));
+    }
+    
+    @Test
+    void onDomainEvent_AppliesCreationsTransitionsAndRevenue() {
+        dashboardCounters.onDomainEvent(event(DomainEvent.EventType.PAYMENT_CREATED, null, "PENDING"));
+        dashboardCounters.onDomainEvent(event(DomainEvent.EventType.PAYMENT_COMPLETED, "PENDING", "COMPLETED"));
+        dashboardCounters.onDomainEvent(event(DomainEvent.EventType.COMPLAINT_DELETED, "OPEN", null));
+        
+        Map<String, Object> snapshot = dashboardCounters.snapshot();
+        
+        assertEquals(1L, snapshot.get("totalPayments"));
+        assertEquals(1L, snapshot.get("completedPayments"));
+        assertEquals(0L, dashboardCounters.count(Payment.PaymentStatus.PENDING));
+        assertEquals(0L, snapshot.get("openComplaints"));
+        assertEquals(new BigDecimal("150.00"), snapshot.get("monthlyRevenue"));
+        
+        dashboardCounters.onDomainEvent(event(DomainEvent.EventType.PAYMENT_REFUNDED, "COMPLETED", "REFUNDED"));
+        
+        assertEquals(0L, dashboardCounters.count(Payment.PaymentStatus.COMPLETED));
+        assertEquals(new BigDecimal("100.00"), dashboardCounters.snapshot().get("monthlyRevenue"));
+    }
+    
+    @Test
+    void reconcile_BacksOutChangesTheRelayHasNotDeliveredYet() {
+        // Committed and counted by the queries, but the events are still in the outbox
+        when(paymentRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[] {Payment.PaymentStatus.COMPLETED, 1L}));
+        when(paymentRepository.calculateTotalRevenueBetween(any(), any())).thenReturn(new BigDecimal("150.00"));
+        List<DomainEventMessage> pending = List.of(
+                event(DomainEvent.EventType.PAYMENT_CREATED, null, "PENDING"),
+                event(DomainEvent.EventType.PAYMENT_COMPLETED, "PENDING", "COMPLETED"));
+        when(domainEventRepository.findByStatusOrderById(DomainEvent.PublishStatus.PENDING)).thenReturn(List.of(
+                outboxEvent(DomainEvent.EventType.PAYMENT_CREATED, null, "PENDING"),
+                outboxEvent(DomainEvent.EventType.PAYMENT_COMPLETED, "PENDING", "COMPLETED")));
+        
+        dashboardCounters.reconcile();
+        
+        assertEquals(0L, dashboardCounters.total(DashboardCounters.CountedEntity.PAYMENTS));
+        assertEquals(0L, dashboardCounters.count(Payment.PaymentStatus.COMPLETED));
+        
+        pending.forEach(dashboardCounters::onDomainEvent);
+        
+        Map<String, Object> snapshot = dashboardCounters.snapshot();
+        assertEquals(1L, snapshot.get("totalPayments"));
+        assertEquals(1L, snapshot.get("completedPayments"));
+        assertEquals(0L, dashboardCounters.count(Payment.PaymentStatus.PENDING));
+        assertEquals(new BigDecimal("150.00"), snapshot.get("monthlyRevenue"));
+    }
+    
+    private DomainEventMessage event(DomainEvent.EventType type, String previousStatus, String status) {
+        return new DomainEventMessage(outboxEvent(type, previousStatus, status));
+    }
+    
+    private DomainEvent outboxEvent(DomainEvent.EventType type, String previousStatus, String status) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(DomainEventMessage.AMOUNT, "50.00");
+        data.put(DomainEventMessage.PAYMENT_CREATED_AT, LocalDateTime.now().toString());
+        data.put(DomainEventMessage.PREVIOUS_STATUS, previousStatus);
+        data.put(DomainEventMessage.STATUS, status);
+        return new DomainEvent(type, 1L, DomainEventMessage.toPayload(data));
+    }
+}
@@ -0,0 +1,215 @@
+package com.localhelper.unit;
+
+import com.localhelper.dispatch.DispatchEngine;
+import com.localhelper.dispatch.DispatchOffer;
+import com.localhelper.dispatch.OfferStreamRegistry;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.event.ServiceRequestChangedEvent;
+import com.localhelper.exception.ConflictException;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchEngineTest {
+
+    private static final long WAIT_MS = 2000;
+    private static final Set<Long> CONNECTED = Set.of(1L, 2L, 3L, 5L);
+
+    @Mock
+    private HelperRepository helperRepository;
+
+    @Mock
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Mock
+    private OfferStreamRegistry offerStreams;
+
+    @InjectMocks
+    private DispatchEngine dispatchEngine;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatchEngine, "fanOut", 2);
+        ReflectionTestUtils.setField(dispatchEngine, "offerTtlMs", 60_000L);
+        dispatchEngine.start();
+        dispatchEngine.rebuild();
+
+        when(offerStreams.isConnected(anyLong())).thenAnswer(invocation -> CONNECTED.contains(invocation.<Long>getArgument(0)));
+        when(offerStreams.send(anyLong(), anyString(), any())).thenReturn(true);
+
+        helper(1L, "Plumbing", "200.00", "4.90");
+        helper(2L, "Plumbing", "200.00", "4.00");
+        helper(3L, "Plumbing", "2000.00", "4.90");   // far over budget
+        helper(4L, "Plumbing", "100.00", "5.00");    // not connected
+        helper(5L, "Cleaning", "100.00", "5.00");    // other service type
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatchEngine.stop();
+    }
+
+    @Test
+    void newRequest_IsOfferedToBestRankedConnectedHelpersFirst() {
+        dispatchEngine.onServiceRequestChanged(created(10L));
+
+        ArgumentCaptor<Object> offer = ArgumentCaptor.forClass(Object.class);
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(1L), eq(DispatchEngine.OFFER_EVENT), offer.capture());
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(2L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, after(200).never()).send(eq(3L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, never()).send(eq(4L), anyString(), any());
+        verify(offerStreams, never()).send(eq(5L), anyString(), any());
+
+        DispatchOffer payload = (DispatchOffer) offer.getValue();
+        assertEquals(10L, payload.getRequestId());
+        assertEquals(0.942, payload.getScore(), 0.001);
+        assertEquals(1, dispatchEngine.openDispatches());
+    }
+
+    @Test
+    void expiredRound_CascadesToNextCandidate() {
+        ReflectionTestUtils.setField(dispatchEngine, "offerTtlMs", 100L);
+
+        dispatchEngine.onServiceRequestChanged(created(10L));
+
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(3L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(1L), eq(DispatchEngine.OFFER_EXPIRED_EVENT), any());
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(2L), eq(DispatchEngine.OFFER_EXPIRED_EVENT), any());
+    }
+
+    @Test
+    void decliningEveryOffer_CascadesWithoutWaitingForExpiry() {
+        dispatchEngine.onServiceRequestChanged(created(10L));
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(2L), eq(DispatchEngine.OFFER_EVENT), any());
+
+        dispatchEngine.decline(10L, 1L);
+        verify(offerStreams, after(200).never()).send(eq(3L), eq(DispatchEngine.OFFER_EVENT), any());
+        dispatchEngine.decline(10L, 2L);
+
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(3L), eq(DispatchEngine.OFFER_EVENT), any());
+        assertThrows(ConflictException.class, () -> dispatchEngine.decline(10L, 1L));
+    }
+
+    @Test
+    void acceptance_ClosesRemainingOffers() {
+        dispatchEngine.onServiceRequestChanged(created(10L));
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(2L), eq(DispatchEngine.OFFER_EVENT), any());
+
+        dispatchEngine.onServiceRequestChanged(changed(10L, 1L, ServiceRequest.RequestStatus.PENDING, ServiceRequest.RequestStatus.ACCEPTED));
+
+        verify(offerStreams).send(eq(2L), eq(DispatchEngine.OFFER_CLOSED_EVENT), any());
+        verify(offerStreams, never()).send(eq(1L), eq(DispatchEngine.OFFER_CLOSED_EVENT), any());
+        assertEquals(0, dispatchEngine.openDispatches());
+        assertThrows(ConflictException.class, () -> dispatchEngine.decline(10L, 2L));
+    }
+
+    @Test
+    void activeJobs_LowerAHelpersRank() {
+        ReflectionTestUtils.setField(dispatchEngine, "fanOut", 1);
+        for (long requestId = 1; requestId <= 3; requestId++) {
+            dispatchEngine.onServiceRequestChanged(changed(requestId, 1L, ServiceRequest.RequestStatus.PENDING, ServiceRequest.RequestStatus.ACCEPTED));
+        }
+
+        dispatchEngine.onServiceRequestChanged(created(10L));
+
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(2L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, never()).send(eq(1L), eq(DispatchEngine.OFFER_EVENT), any());
+    }
+
+    @Test
+    void unavailableHelper_IsDroppedFromTheIndex() {
+        Helper paused = helperEntity(1L, "Plumbing", "200.00", "4.90");
+        paused.setIsAvailable(false);
+        dispatchEngine.onHelperChanged(new HelperChangedEvent(paused));
+
+        dispatchEngine.onServiceRequestChanged(created(10L));
+
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(3L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, never()).send(eq(1L), anyString(), any());
+        assertEquals(4, dispatchEngine.candidateCount());
+    }
+
+    @Test
+    void rebuild_KeepsChangesCommittedWhileTheSnapshotLoads() {
+        when(helperRepository.findDispatchableHelpersAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            helper(1L, "Plumbing", "200.00", "4.90");
+            return Collections.emptyList();
+        });
+
+        dispatchEngine.rebuild();
+        dispatchEngine.onServiceRequestChanged(created(10L));
+
+        verify(offerStreams, timeout(WAIT_MS)).send(eq(1L), eq(DispatchEngine.OFFER_EVENT), any());
+        verify(offerStreams, never()).send(eq(2L), anyString(), any());
+        assertEquals(1, dispatchEngine.candidateCount());
+    }
+
+    private void helper(Long id, String serviceType, String hourlyRate, String rating) {
+        dispatchEngine.onHelperChanged(new HelperChangedEvent(helperEntity(id, serviceType, hourlyRate, rating)));
+    }
+
+    private Helper helperEntity(Long id, String serviceType, String hourlyRate, String rating) {
+        Helper helper = new Helper();
+        helper.setId(id);
+        helper.setServiceType(serviceType);
+        helper.setHourlyRate(new BigDecimal(hourlyRate));
+        helper.setRating(new BigDecimal(rating));
+        helper.setStatus(Helper.HelperStatus.APPROVED);
+        helper.setIsAvailable(true);
+        return helper;
+    }
+
+    private ServiceRequestChangedEvent created(Long requestId) {
+        return new ServiceRequestChangedEvent(serviceRequest(requestId, null, ServiceRequest.RequestStatus.PENDING), null);
+    }
+
+    private ServiceRequestChangedEvent changed(Long requestId, Long helperId,
+                                               ServiceRequest.RequestStatus from, ServiceRequest.RequestStatus to) {
+        return new ServiceRequestChangedEvent(serviceRequest(requestId, helperId, to), from);
+    }
+
+    private ServiceRequest serviceRequest(Long id, Long helperId, ServiceRequest.RequestStatus status) {
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setId(id);
+        if (helperId != null) {
+            Helper helper = new Helper();
+            helper.setId(helperId);
+            serviceRequest.setHelper(helper);
+        }
+        serviceRequest.setServiceType("plumbing ");
+        serviceRequest.setLocation("Block A");
+        serviceRequest.setScheduledDate(LocalDateTime.of(2024, 6, 1, 10, 0));
+        serviceRequest.setDurationHours(new BigDecimal("2"));
+        serviceRequest.setBudget(new BigDecimal("500.00"));
+        serviceRequest.setStatus(status);
+        return serviceRequest;
+    }
+}
@@ -0,0 +1,154 @@
+package com.localhelper.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.export.ExportFormat;
+import com.localhelper.export.FinanceExportService;
+import com.localhelper.repository.PaymentRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FinanceExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private FinanceExportService financeExportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(financeExportService, "clearInterval", 2);
+    }
+
+    @Test
+    void exportPayments_WritesCsvAndClearsSessionPeriodically() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(paymentRepository.streamByCreatedAtBetween(START, END)).thenReturn(
+                IntStream.rangeClosed(1, 5).mapToObj(this::payment).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = financeExportService.exportPayments(START, END, ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(5, rows);
+        assertEquals(6, lines.length);
+        assertTrue(lines[0].startsWith("id,serviceRequestId,amount,paymentMethod,status"));
+        assertTrue(lines[1].startsWith("1,101,150.00,UPI,COMPLETED,TXN-1,PAY-1,"));
+        assertTrue(lines[2].contains(",\"Declined, card \"\"expired\"\"\","));
+        assertTrue(closed.get());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void exportServiceRequests_WritesOneJsonObjectPerLine() throws Exception {
+        ServiceRequest assigned = serviceRequest(1L, 7L);
+        ServiceRequest unassigned = serviceRequest(2L, null);
+        when(serviceRequestRepository.streamByCreatedAtBetween(START, END)).thenReturn(Stream.of(assigned, unassigned));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = financeExportService.exportServiceRequests(START, END, ExportFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals(7L, first.get("helperId").asLong());
+        assertEquals("Plumbing", first.get("serviceType").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("helperId").isNull());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void exportPayments_RejectsInvertedRange() {
+        assertThrows(BusinessException.class,
+                () -> financeExportService.exportPayments(END, START, ExportFormat.CSV, new ByteArrayOutputStream()));
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void fromParameter_IsCaseInsensitiveAndRejectsUnknownFormats() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("ndjson"));
+        assertThrows(BusinessException.class, () -> ExportFormat.fromParameter("xlsx"));
+    }
+
+    private Payment payment(int id) {
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setId(100L + id);
+        Payment payment = new Payment(serviceRequest, new BigDecimal("150.00"), Payment.PaymentMethod.UPI);
+        payment.setId((long) id);
+        payment.setStatus(Payment.PaymentStatus.COMPLETED);
+        payment.setTransactionId("TXN-" + id);
+        payment.setPaymentReference("PAY-" + id);
+        if (id == 2) {
+            payment.setStatus(Payment.PaymentStatus.FAILED);
+            payment.setFailureReason("Declined, card \"expired\"");
+        }
+        payment.setCreatedAt(START.plusDays(id));
+        return payment;
+    }
+
+    private ServiceRequest serviceRequest(Long id, Long helperId) {
+        User user = new User();
+        user.setId(3L);
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setId(id);
+        serviceRequest.setUser(user);
+        if (helperId != null) {
+            Helper helper = new Helper();
+            helper.setId(helperId);
+            serviceRequest.setHelper(helper);
+        }
+        serviceRequest.setServiceType("Plumbing");
+        serviceRequest.setLocation("Block A");
+        serviceRequest.setScheduledDate(START.plusDays(3));
+        serviceRequest.setStatus(ServiceRequest.RequestStatus.PENDING);
+        serviceRequest.setCreatedAt(START.plusDays(1));
+        return serviceRequest;
+    }
+}
@@ -0,0 +1,166 @@
+package com.localhelper.unit;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.search.HelperGeoIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HelperGeoIndexTest {
+
+    // Around Connaught Place, New Delhi
+    private static final double LAT = 28.6315;
+    private static final double LON = 77.2167;
+
+    @Mock
+    private HelperRepository helperRepository;
+
+    @InjectMocks
+    private HelperGeoIndex helperGeoIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(helperRepository.findSearchableHelpersAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        helperGeoIndex.rebuild();
+    }
+
+    @Test
+    void findNearest_ReturnsHelpersWithinRadiusNearestFirst() {
+        index(1L, "Plumbing", LAT + 0.03, LON, true);   // ~3.3 km
+        index(2L, "Plumbing", LAT + 0.01, LON, true);   // ~1.1 km
+        index(3L, "Cleaning", LAT, LON + 0.02, true);   // ~2.0 km
+        index(4L, "Plumbing", LAT + 0.10, LON, true);   // ~11 km
+
+        List<HelperGeoIndex.GeoHit> hits = helperGeoIndex.findNearest(LAT, LON, 5, 10, null);
+
+        assertTrue(helperGeoIndex.isReady());
+        assertEquals(List.of(2L, 3L, 1L), ids(hits));
+        assertEquals(1.11, hits.get(0).getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void findNearest_FiltersByServiceTypeAndSkipsUnavailableHelpers() {
+        index(1L, "Plumbing", LAT + 0.01, LON, true);
+        index(2L, "Cleaning", LAT + 0.005, LON, true);
+        index(3L, "Plumbing", LAT + 0.002, LON, false);
+
+        assertEquals(List.of(1L), ids(helperGeoIndex.findNearest(LAT, LON, 5, 10, "plumb")));
+    }
+
+    @Test
+    void findNearest_MovesHelperWhenLocationChanges() {
+        index(1L, "Plumbing", LAT + 0.01, LON, true);
+        index(1L, "Plumbing", LAT + 0.5, LON, true);
+
+        assertTrue(helperGeoIndex.findNearest(LAT, LON, 5, 10, null).isEmpty());
+        assertEquals(1, helperGeoIndex.size());
+    }
+
+    @Test
+    void findNearest_MatchesBruteForceOnRandomPoints() {
+        Random random = new Random(42);
+        double[][] points = new double[2000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] {LAT + (random.nextDouble() - 0.5) * 0.4, LON + (random.nextDouble() - 0.5) * 0.4};
+            index((long) i + 1, "Cleaning", points[i][0], points[i][1], true);
+        }
+
+        List<Long> expected = IntStream.range(0, points.length).boxed()
+                .sorted(Comparator.comparingDouble(i -> HelperGeoIndex.distanceKm(LAT, LON, points[i][0], points[i][1])))
+                .limit(15)
+                .map(i -> (long) i + 1)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, ids(helperGeoIndex.findNearest(LAT, LON, 50, 15, null)));
+    }
+
+    @Test
+    void findNearest_ScansOnlyTheBoundingBoxNearThePoles() {
+        for (double pole : new double[] {89.9, -89.9}) {
+            Random random = new Random(7);
+            double[][] points = new double[500][];
+            for (int i = 0; i < points.length; i++) {
+                double latitude = Math.signum(pole) * (88.5 + random.nextDouble() * 1.5);
+                points[i] = new double[] {latitude, random.nextDouble() * 360 - 180};
+                index((long) i + 1, "Cleaning", points[i][0], points[i][1], true);
+            }
+
+            List<Long> expected = IntStream.range(0, points.length).boxed()
+                    .filter(i -> HelperGeoIndex.distanceKm(pole, 10, points[i][0], points[i][1]) <= 100)
+                    .sorted(Comparator.comparingDouble(i -> HelperGeoIndex.distanceKm(pole, 10, points[i][0], points[i][1])))
+                    .limit(20)
+                    .map(i -> (long) i + 1)
+                    .collect(Collectors.toList());
+
+            List<HelperGeoIndex.GeoHit> hits = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> helperGeoIndex.findNearest(pole, 10, 100, 20, null));
+            assertEquals(20, hits.size());
+            assertEquals(expected, ids(hits));
+        }
+    }
+
+    @Test
+    void findNearest_FindsHelpersAcrossTheAntimeridianAndThePole() {
+        index(1L, "Plumbing", 10.0, -179.99, true);
+        index(2L, "Plumbing", 89.95, -170.0, true);
+
+        assertEquals(List.of(1L), ids(helperGeoIndex.findNearest(10.0, 179.99, 5, 10, null)));
+        assertEquals(List.of(2L), ids(helperGeoIndex.findNearest(89.95, 10.0, 15, 10, null)));
+    }
+
+    @Test
+    void rebuild_ReplaysChangesCommittedWhileTheSnapshotLoads() {
+        HelperRepository.SearchableHelper loaded = mock(HelperRepository.SearchableHelper.class);
+        when(loaded.getId()).thenReturn(1L);
+        when(loaded.getServiceType()).thenReturn("Plumbing");
+        when(loaded.getLatitude()).thenReturn(LAT + 0.01);
+        when(loaded.getLongitude()).thenReturn(LON);
+        when(helperRepository.findSearchableHelpersAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index(1L, "Plumbing", LAT + 0.01, LON, false);
+            index(2L, "Plumbing", LAT + 0.02, LON, true);
+            return List.of(loaded);
+        });
+
+        helperGeoIndex.rebuild();
+
+        assertEquals(List.of(2L), ids(helperGeoIndex.findNearest(LAT, LON, 5, 10, null)));
+        assertEquals(1, helperGeoIndex.size());
+    }
+
+    private void index(Long id, String serviceType, double latitude, double longitude, boolean available) {
+        Helper helper = new Helper();
+        helper.setId(id);
+        helper.setServiceType(serviceType);
+        helper.setLatitude(latitude);
+        helper.setLongitude(longitude);
+        helper.setStatus(Helper.HelperStatus.APPROVED);
+        helper.setIsAvailable(available);
+        helperGeoIndex.onHelperChanged(new HelperChangedEvent(helper));
+    }
+
+    private List<Long> ids(List<HelperGeoIndex.GeoHit> hits) {
+        return hits.stream().map(HelperGeoIndex.GeoHit::getHelperId).collect(Collectors.toList());
+    }
+}
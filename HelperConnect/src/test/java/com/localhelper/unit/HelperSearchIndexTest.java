@@ -0,0 +1,130 @@
+package com.localhelper.unit;
+
+import com.localhelper.entity.Helper;
+import com.localhelper.event.HelperChangedEvent;
+import com.localhelper.repository.HelperRepository;
+import com.localhelper.search.HelperSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HelperSearchIndexTest {
+
+    @Mock
+    private HelperRepository helperRepository;
+
+    @InjectMocks
+    private HelperSearchIndex helperSearchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(helperRepository.findSearchableHelpersAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        helperSearchIndex.open();
+        helperSearchIndex.rebuild();
+
+        index(1L, "Plumbing", "Fixing leaks, pipes and bathroom fittings", Helper.HelperStatus.APPROVED, true);
+        index(2L, "Electrician", "Wiring, lighting and plumbing emergencies", Helper.HelperStatus.APPROVED, true);
+        index(3L, "Cleaning", "Deep cleaning of kitchens", Helper.HelperStatus.APPROVED, true);
+        index(4L, "Plumbing", "Not yet approved", Helper.HelperStatus.PENDING, false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        helperSearchIndex.close();
+    }
+
+    @Test
+    void search_RanksServiceTypeMatchAboveDescriptionMatch() {
+        HelperSearchIndex.SearchHits hits = helperSearchIndex.search("plumbing", 0, 10);
+
+        assertTrue(helperSearchIndex.isReady());
+        assertEquals(List.of(1L, 2L), hits.getHelperIds());
+        assertEquals(2, hits.getTotalHits());
+    }
+
+    @Test
+    void search_MatchesPrefixAndTypos() {
+        assertEquals(List.of(2L), helperSearchIndex.search("electr", 0, 10).getHelperIds());
+        assertEquals(List.of(3L), helperSearchIndex.search("cleanig", 0, 10).getHelperIds());
+    }
+
+    @Test
+    void search_DropsHelpersThatBecomeUnavailable() {
+        index(1L, "Plumbing", "Fixing leaks", Helper.HelperStatus.APPROVED, false);
+
+        HelperSearchIndex.SearchHits hits = helperSearchIndex.search("plumbing", 0, 10);
+
+        assertEquals(List.of(2L), hits.getHelperIds());
+    }
+
+    @Test
+    void search_PagesThroughRankedResults() {
+        HelperSearchIndex.SearchHits hits = helperSearchIndex.search("plumbing", 1, 1);
+
+        assertEquals(List.of(2L), hits.getHelperIds());
+        assertEquals(2, hits.getTotalHits());
+    }
+
+    @Test
+    void rebuild_ReplaysChangesCommittedWhileTheSnapshotLoads() {
+        HelperRepository.SearchableHelper plumber = searchable(1L, "Plumbing", "Fixing leaks");
+        HelperRepository.SearchableHelper carpenter = searchable(6L, "Carpentry", "Doors and shelves");
+        when(helperRepository.findSearchableHelpersAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index(1L, "Plumbing", "Fixing leaks", Helper.HelperStatus.APPROVED, false);
+            index(5L, "Plumbing", "Boilers and radiators", Helper.HelperStatus.APPROVED, true);
+            return List.of(plumber, carpenter);
+        });
+
+        helperSearchIndex.rebuild();
+
+        assertEquals(List.of(5L), helperSearchIndex.search("plumbing", 0, 10).getHelperIds());
+        assertEquals(List.of(6L), helperSearchIndex.search("carpentry", 0, 10).getHelperIds());
+    }
+
+    @Test
+    void rebuild_KeepsServingThePreviousIndexWhenLoadingFails() {
+        when(helperRepository.findSearchableHelpersAfter(anyLong(), any(Pageable.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        helperSearchIndex.rebuild();
+
+        assertTrue(helperSearchIndex.isReady());
+        assertEquals(List.of(1L, 2L), helperSearchIndex.search("plumbing", 0, 10).getHelperIds());
+    }
+
+    private HelperRepository.SearchableHelper searchable(Long id, String serviceType, String description) {
+        HelperRepository.SearchableHelper helper = mock(HelperRepository.SearchableHelper.class);
+        when(helper.getId()).thenReturn(id);
+        when(helper.getServiceType()).thenReturn(serviceType);
+        when(helper.getDescription()).thenReturn(description);
+        return helper;
+    }
+
+    private void index(Long id, String serviceType, String description, Helper.HelperStatus status, boolean available) {
+        Helper helper = new Helper();
+        helper.setId(id);
+        helper.setServiceType(serviceType);
+        helper.setDescription(description);
+        helper.setStatus(status);
+        helper.setIsAvailable(available);
+        helperSearchIndex.onHelperChanged(new HelperChangedEvent(helper));
+    }
+}
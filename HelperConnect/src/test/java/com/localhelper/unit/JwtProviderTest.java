@@ -0,0 +1,66 @@
+package com.localhelper.unit;
+
+import com.localhelper.security.JwtClaims;
+import com.localhelper.security.JwtProvider;
+import com.localhelper.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtProviderTest {
+
+    private static final String SECRET = "localHelperSecretKeyForJWTSigningMustBeLongEnoughForSecurity";
+
+    @Test
+    void verify_ReturnsSubjectRoleAndExpiryFromSingleParse() {
+        JwtProvider provider = provider(60_000, false);
+        UserDetailsImpl principal = new UserDetailsImpl(7L, "helper", "helper@example.com", "secret",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_HELPER")), true);
+
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(principal, null));
+        Optional<JwtClaims> claims = provider.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals(7L, claims.get().getUserId());
+        assertEquals("ROLE_HELPER", claims.get().getRole());
+        assertTrue(claims.get().getExpiration().getTime() > System.currentTimeMillis());
+        assertEquals(7L, provider.getUserIdFromJWT(token));
+    }
+
+    @Test
+    void verify_RejectsTamperedAndExpiredTokens() {
+        JwtProvider provider = provider(60_000, false);
+        String token = provider.generateTokenFromUserId(1L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertFalse(provider.validateToken(tampered));
+        assertFalse(provider.validateToken(provider(-1_000, false).generateTokenFromUserId(1L)));
+        assertFalse(provider.validateToken("not-a-token"));
+    }
+
+    @Test
+    void verify_ServesRepeatTokensFromVerifiedCache() {
+        JwtProvider provider = provider(60_000, true);
+        String token = provider.generateTokenFromUserId(3L);
+
+        JwtClaims first = provider.verify(token).orElseThrow();
+        JwtClaims second = provider.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    private JwtProvider provider(int expirationMs, boolean verifiedCacheEnabled) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "verifiedCacheEnabled", verifiedCacheEnabled);
+        provider.init();
+        return provider;
+    }
+}
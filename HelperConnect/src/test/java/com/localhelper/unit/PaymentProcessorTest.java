@@ -0,0 +1,73 @@
+package com.localhelper.unit;
+
+import com.localhelper.entity.Payment;
+import com.localhelper.event.PaymentSubmittedEvent;
+import com.localhelper.payment.GatewayResult;
+import com.localhelper.payment.PaymentGateway;
+import com.localhelper.payment.PaymentProcessor;
+import com.localhelper.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+    
+    @Mock
+    private PaymentService paymentService;
+    
+    @Mock
+    private PaymentGateway paymentGateway;
+    
+    @Mock
+    private TaskExecutor paymentExecutor;
+    
+    @InjectMocks
+    private PaymentProcessor paymentProcessor;
+    
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(paymentExecutor).execute(any());
+        Payment payment = new Payment();
+        payment.setPaymentReference("PAY-1");
+        payment.setAmount(new BigDecimal("500.00"));
+        payment.setPaymentMethod(Payment.PaymentMethod.UPI);
+        when(paymentService.getPaymentForProcessing(1L)).thenReturn(payment);
+    }
+    
+    @Test
+    void process_LeavesApprovedChargeInProcessingWhenCompletionFails() {
+        GatewayResult approved = GatewayResult.approved("TXN-1", "Payment successful");
+        when(paymentGateway.charge(any(), any(), any())).thenReturn(approved);
+        when(paymentService.completePayment(1L, approved)).thenThrow(new QueryTimeoutException("lock timeout"));
+        
+        paymentProcessor.onPaymentSubmitted(new PaymentSubmittedEvent(1L));
+        
+        verify(paymentService).completePayment(1L, approved);
+        verify(paymentService, never()).completePayment(eq(1L), argThat(result -> !result.isSuccess()));
+    }
+    
+    @Test
+    void process_DeclinesPaymentWhenTheChargeFails() {
+        when(paymentGateway.charge(any(), any(), any())).thenThrow(new IllegalStateException("gateway unreachable"));
+        
+        paymentProcessor.onPaymentSubmitted(new PaymentSubmittedEvent(1L));
+        
+        verify(paymentService).completePayment(eq(1L), argThat(result -> !result.isSuccess()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.localhelper.unit;
+
+import com.localhelper.dto.response.PaymentResponse;
+import com.localhelper.entity.DomainEvent;
+import com.localhelper.entity.Helper;
+import com.localhelper.entity.Payment;
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.DomainEventOutbox;
+import com.localhelper.event.PaymentSubmittedEvent;
+import com.localhelper.exception.BusinessException;
+import com.localhelper.payment.GatewayResult;
+import com.localhelper.repository.PaymentRepository;
+import com.localhelper.repository.ServiceRequestRepository;
+import com.localhelper.service.PaymentService;
+import com.localhelper.util.EmailUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+    
+    @Mock
+    private PaymentRepository paymentRepository;
+    
+    @Mock
+    private ServiceRequestRepository serviceRequestRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
+    
+    @Mock
+    private EmailUtil emailUtil;
+    
+    @InjectMocks
+    private PaymentService paymentService;
+    
+    private Payment payment;
+    
+    @BeforeEach
+    void setUp() {
+        Helper helper = new Helper();
+        helper.setId(5L);
+        
+        User user = new User();
+        user.setId(3L);
+        user.setEmail("customer@example.com");
+        
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setId(10L);
+        serviceRequest.setUser(user);
+        serviceRequest.setHelper(helper);
+        
+        payment = new Payment();
+        payment.setId(1L);
+        payment.setServiceRequest(serviceRequest);
+        payment.setAmount(new BigDecimal("250.00"));
+        payment.setPaymentMethod(Payment.PaymentMethod.UPI);
+        payment.setPaymentReference("PAY-TEST");
+    }
+    
+    @Test
+    void processPayment_MarksProcessingAndSubmitsWithoutCharging() {
+        // Given
+        payment.setStatus(Payment.PaymentStatus.PENDING);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.transitionStatus(1L, Payment.PaymentStatus.PENDING, Payment.PaymentStatus.PROCESSING))
+                .thenAnswer(invocation -> {
+                    payment.setStatus(Payment.PaymentStatus.PROCESSING);
+                    return 1;
+                });
+        
+        // When
+        PaymentResponse response = paymentService.processPayment(1L);
+        
+        // Then
+        assertEquals(Payment.PaymentStatus.PROCESSING, response.getStatus());
+        ArgumentCaptor<PaymentSubmittedEvent> event = ArgumentCaptor.forClass(PaymentSubmittedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getPaymentId());
+        verify(domainEventOutbox).recordPaymentEvent(DomainEvent.EventType.PAYMENT_SUBMITTED, payment, Payment.PaymentStatus.PENDING);
+        verifyNoInteractions(emailUtil);
+    }
+    
+    @Test
+    void processPayment_RejectsPaymentClaimedConcurrently() {
+        // Given
+        payment.setStatus(Payment.PaymentStatus.PENDING);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.transitionStatus(1L, Payment.PaymentStatus.PENDING, Payment.PaymentStatus.PROCESSING))
+                .thenReturn(0);
+        
+        // When & Then
+        assertThrows(BusinessException.class, () -> paymentService.processPayment(1L));
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(domainEventOutbox);
+    }
+    
+    @Test
+    void completePayment_RecordsApprovalAndCompletionEvent() {
+        // Given
+        payment.setStatus(Payment.PaymentStatus.PROCESSING);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        
+        // When
+        PaymentResponse response = paymentService.completePayment(1L, GatewayResult.approved("TXN-1", "Payment successful"));
+        
+        // Then
+        assertEquals(Payment.PaymentStatus.COMPLETED, response.getStatus());
+        assertEquals("TXN-1", response.getTransactionId());
+        // Earnings are credited by the event's subscriber, not on this call
+        verify(domainEventOutbox).recordPaymentEvent(DomainEvent.EventType.PAYMENT_COMPLETED, payment, Payment.PaymentStatus.PROCESSING);
+        verify(emailUtil).sendPaymentConfirmationEmail("customer@example.com", "250.00");
+    }
+    
+    @Test
+    void completePayment_IgnoresResultForPaymentNoLongerProcessing() {
+        // Given
+        payment.setStatus(Payment.PaymentStatus.COMPLETED);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        
+        // When
+        paymentService.completePayment(1L, GatewayResult.approved("TXN-2", "Payment successful"));
+        
+        // Then
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(domainEventOutbox, emailUtil);
+    }
+}
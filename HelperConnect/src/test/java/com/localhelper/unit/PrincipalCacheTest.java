@@ -0,0 +1,61 @@
+package com.localhelper.unit;
+
+import com.localhelper.security.CustomUserDetailsService;
+import com.localhelper.security.PrincipalCache;
+import com.localhelper.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @InjectMocks
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache.init();
+    }
+
+    @Test
+    void getPrincipal_LoadsOnceAndServesRepeatsFromCache() {
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal(1L, true));
+
+        UserDetailsImpl first = principalCache.getPrincipal(1L);
+        UserDetailsImpl second = principalCache.getPrincipal(1L);
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserById(1L);
+    }
+
+    @Test
+    void evict_ForcesReloadOfChangedPrincipal() {
+        when(userDetailsService.loadUserById(1L))
+                .thenReturn(principal(1L, true))
+                .thenReturn(principal(1L, false));
+
+        assertTrue(principalCache.getPrincipal(1L).isEnabled());
+        principalCache.evict(1L);
+
+        assertFalse(principalCache.getPrincipal(1L).isEnabled());
+        verify(userDetailsService, times(2)).loadUserById(1L);
+    }
+
+    private UserDetailsImpl principal(Long id, boolean enabled) {
+        return new UserDetailsImpl(id, "user" + id, "user" + id + "@example.com", "secret",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), enabled);
+    }
+}
@@ -0,0 +1,136 @@
+package com.localhelper.unit;
+
+import com.localhelper.entity.ServiceRequest;
+import com.localhelper.entity.User;
+import com.localhelper.event.ServiceRequestChangedEvent;
+import com.localhelper.stream.ServiceRequestStatusStreams;
+import com.localhelper.stream.ServiceRequestStatusUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceRequestStatusStreamsTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+    private static final Pattern EVENT_NAME = Pattern.compile("event:([\\w-]+)");
+
+    private ServiceRequestStatusStreams statusStreams;
+
+    @BeforeEach
+    void setUp() {
+        statusStreams = new ServiceRequestStatusStreams() {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMs) {
+                return new RecordingEmitter();
+            }
+        };
+        ReflectionTestUtils.setField(statusStreams, "replaySize", 3);
+    }
+
+    @Test
+    void statusChange_IsPushedOnlyToTheRequestOwner() {
+        RecordingEmitter owner = subscribe(7L, null);
+        RecordingEmitter other = subscribe(8L, null);
+
+        publish(7L, 100L, ServiceRequest.RequestStatus.PENDING, ServiceRequest.RequestStatus.ACCEPTED);
+        publish(7L, 100L, ServiceRequest.RequestStatus.ACCEPTED, ServiceRequest.RequestStatus.IN_PROGRESS);
+
+        assertEquals(List.of("status", "status"), owner.names());
+        assertTrue(owner.ids().get(0) < owner.ids().get(1));
+        ServiceRequestStatusUpdate update = (ServiceRequestStatusUpdate) owner.payloads().get(1);
+        assertEquals(100L, update.getRequestId());
+        assertEquals(ServiceRequest.RequestStatus.ACCEPTED, update.getPreviousStatus());
+        assertEquals(ServiceRequest.RequestStatus.IN_PROGRESS, update.getStatus());
+        assertTrue(other.events.isEmpty());
+        assertEquals(2, statusStreams.connectedKeys());
+    }
+
+    @Test
+    void reconnectWithLastEventId_ReplaysOnlyMissedUpdates() {
+        RecordingEmitter first = subscribe(7L, null);
+        publish(7L, 100L, ServiceRequest.RequestStatus.PENDING, ServiceRequest.RequestStatus.ACCEPTED);
+        publish(7L, 100L, ServiceRequest.RequestStatus.ACCEPTED, ServiceRequest.RequestStatus.IN_PROGRESS);
+        publish(7L, 100L, ServiceRequest.RequestStatus.IN_PROGRESS, ServiceRequest.RequestStatus.COMPLETED);
+        List<Long> ids = first.ids();
+
+        RecordingEmitter resumed = subscribe(7L, String.valueOf(ids.get(0)));
+
+        assertEquals(ids.subList(1, 3), resumed.ids());
+        assertEquals(List.of("status", "status"), resumed.names());
+    }
+
+    @Test
+    void lastEventIdOutsideReplayWindow_AsksClientToResync() {
+        RecordingEmitter first = subscribe(7L, null);
+        for (int i = 0; i < 5; i++) {
+            publish(7L, 100L + i, ServiceRequest.RequestStatus.PENDING, ServiceRequest.RequestStatus.CANCELLED);
+        }
+        List<Long> ids = first.ids();
+
+        RecordingEmitter evicted = subscribe(7L, String.valueOf(ids.get(0)));
+        RecordingEmitter unknown = subscribe(7L, "not-an-id");
+        RecordingEmitter upToDate = subscribe(7L, String.valueOf(ids.get(4)));
+
+        assertEquals(List.of("resync", "status", "status", "status"), evicted.names());
+        assertEquals(ids.subList(2, 5), evicted.ids());
+        assertEquals("resync", unknown.names().get(0));
+        assertTrue(upToDate.events.isEmpty());
+    }
+
+    private RecordingEmitter subscribe(Long userId, String lastEventId) {
+        return (RecordingEmitter) statusStreams.subscribe(userId, lastEventId);
+    }
+
+    private void publish(Long userId, Long requestId, ServiceRequest.RequestStatus from, ServiceRequest.RequestStatus to) {
+        User user = new User();
+        user.setId(userId);
+        ServiceRequest serviceRequest = new ServiceRequest();
+        serviceRequest.setId(requestId);
+        serviceRequest.setUser(user);
+        serviceRequest.setServiceType("Plumbing");
+        serviceRequest.setStatus(to);
+        statusStreams.onServiceRequestChanged(new ServiceRequestChangedEvent(serviceRequest, from));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build());
+        }
+
+        List<String> names() {
+            return events.stream().map(event -> match(EVENT_NAME, event)).collect(Collectors.toList());
+        }
+
+        List<Long> ids() {
+            return events.stream().map(event -> match(EVENT_ID, event)).filter(id -> id != null)
+                    .map(Long::valueOf).collect(Collectors.toList());
+        }
+
+        List<Object> payloads() {
+            return events.stream().flatMap(Set::stream).map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String)).collect(Collectors.toList());
+        }
+
+        private static String match(Pattern pattern, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            String text = event.stream().map(part -> part.getData() instanceof String s ? s : "")
+                    .collect(Collectors.joining());
+            Matcher matcher = pattern.matcher(text);
+            return matcher.find() ? matcher.group(1) : null;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.localhelper.unit;
 
+import com.localhelper.analytics.DashboardCounters;
 import com.localhelper.dto.request.UserRegistrationRequest;
 import com.localhelper.dto.response.UserResponse;
 import com.localhelper.entity.User;
 import com.localhelper.exception.BusinessException;
 import com.localhelper.repository.UserRepository;
+import com.localhelper.security.PrincipalCache;
 import com.localhelper.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +32,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     
+    @Mock
+    private PrincipalCache principalCache;
+    
+    @Mock
+    private DashboardCounters dashboardCounters;
+    
     @InjectMocks
     private UserService userService;
     
@@ -150,6 +158,7 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(1L);
         verify(userRepository).save(user);
+        verify(principalCache).evict(1L);
         assertTrue(user.getIsActive());
     }
     
@@ -165,6 +174,7 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(1L);
         verify(userRepository).save(user);
+        verify(principalCache).evict(1L);
         assertFalse(user.getIsActive());
     }
 }
\ No newline at end of file